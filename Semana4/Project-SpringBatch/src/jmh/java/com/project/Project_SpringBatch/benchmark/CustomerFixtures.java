@@ -0,0 +1,75 @@
+package com.project.Project_SpringBatch.benchmark;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos de prueba compartidos por los benchmarks
+ * Mezcla nombres simples, compuestos y con acentos como los del origen real
+ */
+public final class CustomerFixtures {
+
+    public static final int SIZE = 1024;
+
+    private static final String[] NAMES = {"alice", "BOB", "josé maría", "  carlos  ", "ana lucía", "o'neil"};
+    private static final String[] LAST_NAMES = {"smith", "JOHNSON", "de la cruz", "díaz", "van der berg", "núñez"};
+    private static final String[] COUNTRIES = {"usa", "canada", "MEXICO", "united kingdom", "españa", "costa rica"};
+
+    private CustomerFixtures() {
+    }
+
+    /**
+     * Customers leídos desde MySQL con IDs 1..SIZE
+     * @return arreglo de customers
+     */
+    public static Customer[] customers() {
+        Customer[] customers = new Customer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            Customer customer = new Customer();
+            customer.setId((long) i + 1);
+            customer.setName(NAMES[i % NAMES.length]);
+            customer.setLastName(LAST_NAMES[i % LAST_NAMES.length]);
+            customer.setEmail("Customer" + i + "@Example.com ");
+            customer.setCountry(COUNTRIES[i % COUNTRIES.length]);
+            customer.setRegisteredAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+            customers[i] = customer;
+        }
+        return customers;
+    }
+
+    /**
+     * Documentos ya transformados, listos para el writer
+     * @return arreglo de CustomerDocuments
+     */
+    public static CustomerDocument[] documents() {
+        Customer[] customers = customers();
+        CustomerDocument[] documents = new CustomerDocument[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            CustomerDocument document = new CustomerDocument();
+            document.setOriginalMysqlId(customers[i].getId());
+            document.setName(customers[i].getName().trim());
+            document.setLastName(customers[i].getLastName());
+            document.setEmail(customers[i].getEmail().trim().toLowerCase());
+            document.setCountry(customers[i].getCountry());
+            document.setRegisteredAt(customers[i].getRegisteredAt());
+            documents[i] = document;
+        }
+        return documents;
+    }
+
+    /**
+     * Líneas CSV con el formato de customers_seed.csv
+     * @return arreglo de líneas
+     */
+    public static String[] csvLines() {
+        Customer[] customers = customers();
+        String[] lines = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            lines[i] = customers[i].getName().trim() + ", " + customers[i].getLastName() + ", "
+                    + customers[i].getEmail().trim() + "," + customers[i].getCountry() + ",2024-01-15 10:15:30";
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.Project_SpringBatch.benchmark;
+
+import com.project.Project_SpringBatch.Repository.CustomerDocumentRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Set;
+
+/**
+ * Repositories en memoria para los benchmarks
+ * Evitan MongoDB para medir solo el código de la transformación
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    /**
+     * CustomerDocumentRepository que responde existsByEmail/existsByOriginalMysqlId desde memoria
+     * Cualquier otro método lanza UnsupportedOperationException
+     * @param migratedEmails emails que se consideran ya migrados
+     * @param migratedIds IDs de MySQL que se consideran ya migrados
+     * @return proxy del repository
+     */
+    public static CustomerDocumentRepository customerDocumentRepository(Set<String> migratedEmails, Set<Long> migratedIds) {
+        return (CustomerDocumentRepository) Proxy.newProxyInstance(
+                CustomerDocumentRepository.class.getClassLoader(),
+                new Class<?>[]{CustomerDocumentRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "existsByEmail" -> migratedEmails.contains((String) args[0]);
+                    case "existsByOriginalMysqlId" -> migratedIds.contains((Long) args[0]);
+                    case "toString" -> "InMemoryCustomerDocumentRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.Project_SpringBatch.processor;
+
+import com.project.Project_SpringBatch.benchmark.CustomerFixtures;
+import com.project.Project_SpringBatch.benchmark.InMemoryRepositories;
+import com.project.Project_SpringBatch.domain.Customer;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.logging.HotPathLogGovernor;
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la transformación Customer -> CustomerDocument
+ * El repository responde desde memoria, por lo que solo se mide el processor
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class CustomerItemProcessorBenchmark {
+
+    private CustomerItemProcessor processor;
+    private Customer[] customers;
+    private String[] names;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        processor = new CustomerItemProcessor(
+                InMemoryRepositories.customerDocumentRepository(Set.of(), Set.of()),
+                new CustomerMembershipIndex(null), //Índice inactivo: el processor consulta el repository
+                new CustomerNameNormalizer(4096),
+                new CountryDictionary("countries.csv"),
+                new HotPathLogGovernor());
+        customers = CustomerFixtures.customers();
+        names = new String[customers.length];
+        for (int i = 0; i < customers.length; i++) {
+            names[i] = customers[i].getName() + " " + customers[i].getLastName();
+        }
+    }
+
+    @Benchmark
+    public CustomerDocument process() throws Exception {
+        return processor.process(customers[next()]);
+    }
+
+    @Benchmark
+    public String capitalizeFirstLetter() {
+        return processor.capitalizeFirstLetter(names[next()]);
+    }
+
+    /**
+     * Referencia: algoritmo original con split por regex, sin memo
+     */
+    @Benchmark
+    public String capitalizeLegacy() {
+        return CustomerNameNormalizer.capitalizeLegacy(names[next()]);
+    }
+
+    private int next() {
+        index = (index + 1) & (CustomerFixtures.SIZE - 1);
+        return index;
+    }
+}
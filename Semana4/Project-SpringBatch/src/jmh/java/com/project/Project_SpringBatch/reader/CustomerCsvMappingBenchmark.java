@@ -0,0 +1,75 @@
+package com.project.Project_SpringBatch.reader;
+
+import com.project.Project_SpringBatch.benchmark.CustomerFixtures;
+import com.project.Project_SpringBatch.domain.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del mapeo de líneas CSV a Customer
+ * - tokenize / tokenizeAndMap: combinación genérica DelimitedLineTokenizer + BeanWrapperFieldSetMapper
+ *   (registered_at no se mapea porque BeanWrapperFieldSetMapper no convierte el texto a LocalDateTime)
+ * - customerLineMapper: CustomerCsvLineMapper, que usa BatchConfig.reader() y mapea todas las columnas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class CustomerCsvMappingBenchmark {
+
+    private DelimitedLineTokenizer tokenizer;
+    private BeanWrapperFieldSetMapper<Customer> fieldSetMapper;
+    private CustomerCsvLineMapper customerLineMapper;
+    private String[] lines;
+    private int index;
+
+    @Setup
+    public void setUp() throws Exception {
+        tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames("name", "lastName", "email", "country");
+        tokenizer.setIncludedFields(0, 1, 2, 3);
+
+        fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(Customer.class);
+        fieldSetMapper.afterPropertiesSet();
+
+        customerLineMapper = new CustomerCsvLineMapper();
+
+        lines = CustomerFixtures.csvLines();
+    }
+
+    @Benchmark
+    public FieldSet tokenize() {
+        return tokenizer.tokenize(nextLine());
+    }
+
+    @Benchmark
+    public Customer tokenizeAndMap() throws Exception {
+        return fieldSetMapper.mapFieldSet(tokenizer.tokenize(nextLine()));
+    }
+
+    @Benchmark
+    public Customer customerLineMapper() throws Exception {
+        return customerLineMapper.mapLine(nextLine(), index);
+    }
+
+    private String nextLine() {
+        index = (index + 1) & (CustomerFixtures.SIZE - 1);
+        return lines[index];
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.Project_SpringBatch.writer;
+
+import com.project.Project_SpringBatch.benchmark.CustomerFixtures;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.logging.HotPathLogGovernor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la validación previa a la inserción del writer
+ * Solo se usa isValidForInsertion, por lo que las dependencias de MongoDB no se inicializan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class CustomerItemWriterBenchmark {
+
+    private CustomerItemWriter writer;
+    private CustomerDocument[] documents;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        writer = new CustomerItemWriter(null, null, null, null, null, new HotPathLogGovernor());
+        documents = CustomerFixtures.documents();
+    }
+
+    @Benchmark
+    public boolean isValidForInsertion() {
+        index = (index + 1) & (CustomerFixtures.SIZE - 1);
+        return writer.isValidForInsertion(documents[index]);
+    }
+}
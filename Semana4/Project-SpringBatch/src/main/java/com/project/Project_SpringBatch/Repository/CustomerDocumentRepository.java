@@ -32,6 +32,13 @@ public interface CustomerDocumentRepository extends MongoRepository<CustomerDocu
      */
     List<CustomerDocument> findByCountry(String country);
 
+    /**
+     * Busca customers por código ISO-3166 del país (campo indexado)
+     * @param countryCode código alfa-2, por ejemplo "US"
+     * @return Lista de customer documents del país especificado
+     */
+    List<CustomerDocument> findByCountryCode(String countryCode);
+
     /**
      * Verifica si ya existe un customer con el email dado
      * @param email Email a verificar
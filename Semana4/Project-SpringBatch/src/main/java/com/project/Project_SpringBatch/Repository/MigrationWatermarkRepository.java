@@ -0,0 +1,12 @@
+package com.project.Project_SpringBatch.Repository;
+
+import com.project.Project_SpringBatch.domain.MigrationWatermark;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository para las marcas de agua de la migración incremental en MongoDB
+ */
+@Repository
+public interface MigrationWatermarkRepository extends MongoRepository<MigrationWatermark, String> {
+}
@@ -0,0 +1,102 @@
+package com.project.Project_SpringBatch.chunk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+
+/**
+ * Política de completitud de chunk que ajusta su tamaño según la latencia de escritura
+ *
+ * Parte de un tamaño inicial y después de cada chunk compara la latencia medida en el writer
+ * con el objetivo configurado:
+ * - Latencia por debajo del 80% del objetivo (y, si se configuró, throughput por debajo
+ *   del objetivo de registros por segundo): el chunk crece
+ * - Latencia por encima del 120% del objetivo o error en el chunk: el chunk se reduce
+ * El tamaño siempre queda dentro de [minSize, maxSize] y se publica en el
+ * ExecutionContext del step con la clave 'chunk.size'.
+ */
+@Slf4j
+public class AdaptiveChunkSizePolicy extends SimpleCompletionPolicy implements ChunkListener {
+
+    public static final String CHUNK_SIZE_KEY = "chunk.size";
+
+    private static final double GROWTH_FACTOR = 1.5;
+    private static final double SHRINK_FACTOR = 0.67;
+
+    private final WriteLatencyTracker writeLatencyTracker;
+    private final int minSize;
+    private final int maxSize;
+    private final double targetLatencyMillis;
+    private final double targetRecordsPerSecond;
+
+    /**
+     * @param writeLatencyTracker origen de las mediciones de escritura
+     * @param initialSize tamaño del primer chunk
+     * @param minSize tamaño mínimo
+     * @param maxSize tamaño máximo
+     * @param targetLatencyMillis latencia de escritura objetivo por chunk
+     * @param targetRecordsPerSecond throughput objetivo (0 para ignorarlo)
+     */
+    public AdaptiveChunkSizePolicy(WriteLatencyTracker writeLatencyTracker, int initialSize, int minSize,
+                                   int maxSize, double targetLatencyMillis, double targetRecordsPerSecond) {
+        super(Math.min(Math.max(initialSize, minSize), maxSize));
+        this.writeLatencyTracker = writeLatencyTracker;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.targetRecordsPerSecond = targetRecordsPerSecond;
+    }
+
+    /**
+     * Publica el tamaño que va a usar el chunk que comienza
+     * @param context contexto del chunk
+     */
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        writeLatencyTracker.consume(); //Descartar mediciones de otro chunk en este hilo
+        context.getStepContext().getStepExecution().getExecutionContext()
+                .putInt(CHUNK_SIZE_KEY, getChunkSize());
+    }
+
+    /**
+     * Ajusta el tamaño del siguiente chunk con la medición del writer
+     * @param context contexto del chunk
+     */
+    @Override
+    public void afterChunk(ChunkContext context) {
+        WriteLatencyTracker.WriteSample sample = writeLatencyTracker.consume();
+        if (sample == null || sample.items() == 0) {
+            return; //Chunk sin escrituras (todo filtrado): no hay medición útil
+        }
+
+        int currentSize = getChunkSize();
+        double latency = sample.latencyMillis();
+        boolean belowThroughputTarget = targetRecordsPerSecond <= 0
+                || sample.recordsPerSecond() < targetRecordsPerSecond;
+
+        int nextSize = currentSize;
+        if (latency > targetLatencyMillis * 1.2) {
+            nextSize = (int) (currentSize * SHRINK_FACTOR);
+        } else if (latency < targetLatencyMillis * 0.8 && belowThroughputTarget) {
+            nextSize = (int) Math.ceil(currentSize * GROWTH_FACTOR);
+        }
+        nextSize = Math.min(Math.max(nextSize, minSize), maxSize);
+
+        if (nextSize != currentSize) {
+            log.debug("Chunk ajustado de {} a {} (latencia {} ms, {} registros/s)",
+                    currentSize, nextSize, String.format("%.1f", latency), String.format("%.0f", sample.recordsPerSecond()));
+            setChunkSize(nextSize);
+        }
+    }
+
+    /**
+     * Tras un error se reduce el chunk a la mitad para limitar el trabajo que se repite
+     * @param context contexto del chunk
+     */
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        writeLatencyTracker.consume();
+        setChunkSize(Math.max(minSize, getChunkSize() / 2));
+    }
+}
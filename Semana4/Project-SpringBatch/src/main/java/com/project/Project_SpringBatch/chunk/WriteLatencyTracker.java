@@ -0,0 +1,57 @@
+package com.project.Project_SpringBatch.chunk;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro de la latencia de escritura del último chunk
+ *
+ * Los writers registran cuántos documentos escribieron y cuánto tardaron; la política
+ * de chunk adaptativo lo consume al terminar el chunk. Como writer y política se ejecutan
+ * en el mismo hilo del step, la medición se guarda por hilo y las particiones no se mezclan.
+ */
+@Component
+public class WriteLatencyTracker {
+
+    private final ThreadLocal<WriteSample> lastSample = new ThreadLocal<>();
+
+    /**
+     * Registra una escritura realizada en el hilo actual
+     * Si el mismo chunk escribe varias veces, las mediciones se acumulan
+     * @param items documentos escritos
+     * @param elapsedNanos duración de la escritura en nanosegundos
+     */
+    public void record(int items, long elapsedNanos) {
+        WriteSample sample = lastSample.get();
+        if (sample == null) {
+            lastSample.set(new WriteSample(items, elapsedNanos));
+        } else {
+            lastSample.set(new WriteSample(sample.items() + items, sample.elapsedNanos() + elapsedNanos));
+        }
+    }
+
+    /**
+     * Devuelve y limpia la medición acumulada en el hilo actual
+     * @return medición del último chunk, o null si no hubo escrituras
+     */
+    public WriteSample consume() {
+        WriteSample sample = lastSample.get();
+        lastSample.remove();
+        return sample;
+    }
+
+    /**
+     * Medición de una escritura
+     * @param items documentos escritos
+     * @param elapsedNanos duración en nanosegundos
+     */
+    public record WriteSample(int items, long elapsedNanos) {
+
+        public double latencyMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+
+        public double recordsPerSecond() {
+            return elapsedNanos > 0 ? items * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+    }
+}
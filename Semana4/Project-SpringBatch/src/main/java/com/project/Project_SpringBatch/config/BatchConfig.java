@@ -1,28 +1,70 @@
 package com.project.Project_SpringBatch.config;
 
 
+import com.project.Project_SpringBatch.chunk.AdaptiveChunkSizePolicy;
+import com.project.Project_SpringBatch.chunk.WriteLatencyTracker;
 import com.project.Project_SpringBatch.domain.Customer;
 import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.listener.CustomerMembershipIndexListener;
+import com.project.Project_SpringBatch.listener.MigrationMetricsListener;
+import com.project.Project_SpringBatch.listener.MigrationProgressListener;
+import com.project.Project_SpringBatch.listener.MigrationWatermarkListener;
+import com.project.Project_SpringBatch.logging.HotPathLogGovernor;
+import com.project.Project_SpringBatch.mongo.CustomerStagingCollection;
+import com.project.Project_SpringBatch.partition.CsvByteRangePartitioner;
+import com.project.Project_SpringBatch.partition.CsvShardPartitioner;
+import com.project.Project_SpringBatch.partition.CustomerIdRangePartitioner;
 import com.project.Project_SpringBatch.processor.CustomerItemProcessor;
+import com.project.Project_SpringBatch.reconciliation.CustomerReconciliationTasklet;
+import com.project.Project_SpringBatch.reader.CsvShardItemReader;
+import com.project.Project_SpringBatch.reader.CustomerCsvLineMapper;
 import com.project.Project_SpringBatch.reader.CustomerItemReader;
+import com.project.Project_SpringBatch.reader.MappedCsvCustomerItemReader;
+import com.project.Project_SpringBatch.spill.CustomerSpillItemReader;
+import com.project.Project_SpringBatch.spill.CustomerSpillItemWriter;
+import com.project.Project_SpringBatch.spill.CustomerSpillPartitioner;
+import com.project.Project_SpringBatch.writer.CustomerBulkUpsertItemWriter;
+import com.project.Project_SpringBatch.writer.CustomerFaultTolerantItemWriter;
 import com.project.Project_SpringBatch.writer.CustomerItemWriter;
+import com.project.Project_SpringBatch.writer.CustomerReactiveItemWriter;
+import com.project.Project_SpringBatch.writer.CustomerStagingItemWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.nio.file.Path;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+
 /**
  * Configuración principal del Job de Spring Batch para la migración de customers
  * Define el Job, Step, Reader, Processor y Writer para el proceso de migración.
@@ -38,31 +80,129 @@ public class BatchConfig {
     private final CustomerItemReader customerItemReader;
     private final CustomerItemProcessor customerItemProcessor;
     private final CustomerItemWriter customerItemWriter;
+    private final CustomerBulkUpsertItemWriter customerBulkUpsertItemWriter;
+    private final CustomerReactiveItemWriter customerReactiveItemWriter;
+    private final CustomerFaultTolerantItemWriter customerFaultTolerantItemWriter;
+    private final CustomerStagingItemWriter customerStagingItemWriter;
+    private final CustomerStagingCollection customerStagingCollection;
+    private final CustomerReconciliationTasklet customerReconciliationTasklet;
+    private final CustomerIdRangePartitioner customerIdRangePartitioner;
+    private final CustomerMembershipIndexListener customerMembershipIndexListener;
+    private final WriteLatencyTracker writeLatencyTracker;
+    private final MigrationWatermarkListener migrationWatermarkListener;
+    private final MigrationMetricsListener migrationMetricsListener;
+    private final MigrationProgressListener migrationProgressListener;
+    private final HotPathLogGovernor hotPathLogGovernor;
+
+    /**
+     * Writer a utilizar: 'standard' (verificación por item), 'bulk-upsert' (un bulk por chunk)
+     * 'reactive' (varios bulk concurrentes por chunk con el driver reactivo) o 'fault-tolerant'
+     * (bulk con reintentos, bisección de lotes fallidos y colección dead-letter)
+     */
+    @Value("${batch.writer.mode:standard}")
+    private String writerMode;
+
+    /**
+     * Origen de datos del step principal:
+     * 'csv' (archivo seed), 'cursor', 'streaming' o 'keyset' (MySQL)
+     */
+    @Value("${batch.reader.mode:csv}")
+    private String readerMode;
+
+    /**
+     * Máximo de particiones concurrentes; el pool de MySQL se dimensiona con este valor
+     */
+    @Value("${batch.partition.max-grid-size:8}")
+    private int maxGridSize;
+
+    /**
+     * Máximo de archivos (shards) que se leen a la vez cuando la petición no lo indica
+     */
+    @Value("${batch.csv.shards.max-concurrency:4}")
+    private int csvShardMaxConcurrency;
+
+    /**
+     * Extracción a spill: compresión de los bloques y tamaño del chunk (un bloque por chunk)
+     */
+    @Value("${batch.spill.compress:true}")
+    private boolean spillCompress;
+
+    @Value("${batch.spill.extract-chunk-size:5000}")
+    private int spillExtractChunkSize;
+
+    /**
+     * Particiones de la carga desde spill cuando la petición no lo indica
+     */
+    @Value("${batch.spill.load.grid-size:4}")
+    private int spillLoadGridSize;
 
     /**
      * Tamaño del chunk (número de elementos procesados en cada transacción)
+     * Se usa cuando el chunk adaptativo está desactivado
      */
     private static final int CHUNK_SIZE = 10;
 
     /**
-     * Bean que define el Reader para leer customers desde MySQL
-     * @return ItemReader configurado para leer desde MySQL
+     * Chunk adaptativo: el tamaño varía entre min-size y max-size según la latencia de escritura
+     */
+    @Value("${batch.chunk.adaptive.enabled:false}")
+    private boolean adaptiveChunkEnabled;
+
+    @Value("${batch.chunk.adaptive.initial-size:100}")
+    private int initialChunkSize;
+
+    @Value("${batch.chunk.adaptive.min-size:10}")
+    private int minChunkSize;
+
+    @Value("${batch.chunk.adaptive.max-size:5000}")
+    private int maxChunkSize;
+
+    @Value("${batch.chunk.adaptive.target-write-latency-ms:200}")
+    private double targetWriteLatencyMillis;
+
+    @Value("${batch.chunk.adaptive.target-records-per-second:0}")
+    private double targetRecordsPerSecond;
+
+    /**
+     * Bean que define el Reader para leer customers desde el archivo seed
+     * Las líneas se mapean con CustomerCsvLineMapper según la cabecera del archivo
+     * @return ItemReader configurado para leer el CSV
      */
 
 
     @Bean
     public FlatFileItemReader<Customer> reader() {
+        CustomerCsvLineMapper lineMapper = new CustomerCsvLineMapper();
         return new FlatFileItemReaderBuilder<Customer>()
                 .name("customerItemReader")
                 .resource(new ClassPathResource("customers_seed.csv"))
-                .delimited()
-                .names("name, lastName, email, country, registered_at")
-                .fieldSetMapper(new BeanWrapperFieldSetMapper<>() {{
-                    setTargetType(Customer.class);
-                }})
+                .linesToSkip(1)
+                .skippedLinesCallback(lineMapper::setHeader)
+                .lineMapper(lineMapper)
                 .build();
     }
 
+    /**
+     * Selecciona el reader del step principal según batch.reader.mode
+     * Los readers de MySQL tienen scope de step, por lo que se obtiene su proxy
+     * @return ItemReader configurado para el modo seleccionado
+     */
+    private ItemReader<Customer> sourceReader(){
+        log.info("Configurando ItemReader en modo '{}'", readerMode);
+        switch (readerMode) {
+            case "csv":
+                return reader();
+            case "cursor":
+                return customerItemReader.customerReader();
+            case "streaming":
+                return customerItemReader.streamingCustomerReader();
+            case "keyset":
+                return customerItemReader.keysetCustomerReader();
+            default:
+                throw new IllegalStateException("Unknown batch.reader.mode: " + readerMode);
+        }
+    }
+
     /**
      * Bean que define el Processor para transformar Customer a CustomerDocument
      * @return ItemProcessor configurado para la transformación
@@ -79,10 +219,149 @@ public class BatchConfig {
      */
     @Bean
     public ItemWriter<CustomerDocument> writer(){
-        log.info("Configurando ItemWriter para MongoDB");
-        return customerItemWriter;
+        log.info("Configurando ItemWriter para MongoDB en modo '{}'", writerMode);
+        switch (writerMode) {
+            case "standard":
+                return customerItemWriter;
+            case "bulk-upsert":
+                return customerBulkUpsertItemWriter;
+            case "reactive":
+                return customerReactiveItemWriter;
+            case "fault-tolerant":
+                return customerFaultTolerantItemWriter;
+            default:
+                throw new IllegalStateException("Unknown batch.writer.mode: " + writerMode);
+        }
+    }
+
+
+    /**
+     * Executor acotado del pipeline asíncrono, con scope de step para que se cierre al terminar
+     * Si la cola se llena, el hilo del step procesa el item (CallerRunsPolicy), lo que
+     * frena la lectura en lugar de acumular items en memoria
+     * @param concurrency items procesados a la vez (job parameter async.concurrency)
+     * @return ThreadPoolTaskExecutor dimensionado según la concurrencia
+     */
+    @Bean
+    @StepScope
+    public ThreadPoolTaskExecutor asyncProcessorTaskExecutor(
+            @Value("#{jobParameters['async.concurrency']}") Long concurrency){
+        int threads = concurrency != null && concurrency > 0 ? concurrency.intValue() : 4;
+
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(threads);
+        taskExecutor.setMaxPoolSize(threads);
+        taskExecutor.setQueueCapacity(threads * 2);
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        taskExecutor.setThreadNamePrefix("customer-async-");
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+
+        log.info("Executor del pipeline asíncrono configurado con {} hilos", threads);
+        return taskExecutor;
+    }
+
+    /**
+     * Processor asíncrono: envía cada item al executor y devuelve un Future
+     * @return AsyncItemProcessor que delega en el processor de customers
+     */
+    @Bean
+    @StepScope
+    public AsyncItemProcessor<Customer, CustomerDocument> asyncCustomerProcessor(){
+        AsyncItemProcessor<Customer, CustomerDocument> asyncItemProcessor = new AsyncItemProcessor<>();
+        asyncItemProcessor.setDelegate(processor());
+        asyncItemProcessor.setTaskExecutor(asyncProcessorTaskExecutor(null)); //Proxy con scope de step
+        return asyncItemProcessor;
+    }
+
+    /**
+     * Writer asíncrono: espera los Future del chunk en orden y escribe el resultado
+     * dentro de la misma transacción del chunk. Los items filtrados (null) se descartan
+     * @return AsyncItemWriter que delega en el writer configurado
+     */
+    @Bean
+    public AsyncItemWriter<CustomerDocument> asyncCustomerWriter(){
+        AsyncItemWriter<CustomerDocument> asyncItemWriter = new AsyncItemWriter<>();
+        asyncItemWriter.setDelegate(writer());
+        return asyncItemWriter;
+    }
+
+    /**
+     * Step de migración con pipeline asíncrono
+     * El reader sigue siendo secuencial; processor y writer trabajan sobre Futures
+     * @return Step configurado con AsyncItemProcessor y AsyncItemWriter
+     */
+    @Bean
+    public Step customerAsyncPipelineMigrationStep(){
+        log.info("Configurando Step de migración con pipeline asíncrono");
+        return this.<Customer, Future<CustomerDocument>>chunkStep(new StepBuilder("customerAsyncPipelineMigrationStep", jobRepository))
+                .reader(sourceReader())
+                .processor(asyncCustomerProcessor())
+                .writer(asyncCustomerWriter())
+                .listener(customerMembershipIndexListener)
+                .listener((StepExecutionListener) migrationProgressListener)
+                .listener((ChunkListener) migrationProgressListener)
+                .allowStartIfComplete(true)
+                .build();
     }
 
+    /**
+     * Variante del job de migración con processor y writer asíncronos
+     * La concurrencia se define con el job parameter async.concurrency
+     * @return Job de migración con pipeline asíncrono
+     */
+    @Bean
+    public Job customerAsyncPipelineMigrationJob(){
+        log.info("Configurando Job de migración con pipeline asíncrono");
+        return new JobBuilder("customerAsyncPipelineMigrationJob", jobRepository)
+                .listener(migrationProgressListener)
+                .start(customerAsyncPipelineMigrationStep())
+                .build();
+    }
+
+    /**
+     * Política de chunk adaptativo con scope de step: cada ejecución (o partición)
+     * parte del tamaño inicial y ajusta su propio tamaño
+     * @return AdaptiveChunkSizePolicy configurada con los límites de batch.chunk.*
+     */
+    @Bean
+    @StepScope
+    public AdaptiveChunkSizePolicy adaptiveChunkSizePolicy(){
+        return new AdaptiveChunkSizePolicy(writeLatencyTracker, initialChunkSize, minChunkSize, maxChunkSize,
+                targetWriteLatencyMillis, targetRecordsPerSecond);
+    }
+
+    /**
+     * Crea el builder de un step orientado a chunks
+     * Con batch.chunk.adaptive.enabled el tamaño lo decide AdaptiveChunkSizePolicy;
+     * si no, se usa el tamaño fijo CHUNK_SIZE
+     * @param stepBuilder builder del step
+     * @return SimpleStepBuilder con la política de chunk configurada
+     */
+    private <I, O> SimpleStepBuilder<I, O> chunkStep(StepBuilder stepBuilder){
+        if (adaptiveChunkEnabled) {
+            AdaptiveChunkSizePolicy policy = adaptiveChunkSizePolicy(); //Proxy con scope de step
+            return stepBuilder.<I, O>chunk(policy, transactionManager)
+                    .listener((ChunkListener) policy);
+        }
+        return stepBuilder.<I, O>chunk(CHUNK_SIZE, transactionManager);
+    }
+
+    /**
+     * Crea el builder de un step Customer -> CustomerDocument instrumentado con las métricas por etapa
+     * y el progreso por SSE; los logs por item se resumen en una línea por chunk
+     * @param stepBuilder builder del step
+     * @return SimpleStepBuilder con la política de chunk y los listeners de métricas, progreso y logs
+     */
+    private SimpleStepBuilder<Customer, CustomerDocument> customerChunkStep(StepBuilder stepBuilder){
+        return this.<Customer, CustomerDocument>chunkStep(stepBuilder)
+                .listener((ChunkListener) migrationMetricsListener)
+                .listener((ItemReadListener<Customer>) migrationMetricsListener)
+                .listener((ItemProcessListener<Customer, CustomerDocument>) migrationMetricsListener)
+                .listener((ItemWriteListener<CustomerDocument>) migrationMetricsListener)
+                .listener((StepExecutionListener) migrationProgressListener)
+                .listener((ChunkListener) migrationProgressListener)
+                .listener(hotPathLogGovernor);
+    }
 
     /**
      * Bean que define el Step el principal del Job
@@ -93,11 +372,11 @@ public class BatchConfig {
     @Bean
     public Step customerMigrationStep(){
         log.info("Configurando Step de migración de customers");
-        return new StepBuilder("customerMigrationStep", jobRepository)
-                .<Customer, CustomerDocument>chunk(CHUNK_SIZE, transactionManager)
-                .reader(reader()) //Lee los customers desde MySQL
+        return customerChunkStep(new StepBuilder("customerMigrationStep", jobRepository))
+                .reader(sourceReader()) //Lee los customers del origen configurado
                 .processor(processor())//Transforma Customer a CustomerDocument
                 .writer(writer())//Escribe CustomerDocument en MongoDB
+                .listener(customerMembershipIndexListener) //Precarga IDs y emails ya migrados
                 .allowStartIfComplete(true) //Permite reiniciar el step si ya se completo
                 .build();
     }
@@ -106,8 +385,608 @@ public class BatchConfig {
     public Job customerMigrationJob (){
         log.info("Configurando Job de migración de customers");
         return new JobBuilder("customerMigrationJob", jobRepository)
+                .listener(migrationProgressListener)
                 .start(customerMigrationStep()) //Define el step inicial
                 .build();
     }
 
+    /**
+     * Step reanudable de la migración
+     * Usa el reader por keyset, que guarda en el ExecutionContext el último id confirmado.
+     * No permite volver a ejecutarse si ya se completó: al relanzar una instancia fallida
+     * Spring Batch restaura el contexto y el reader continúa justo después del último chunk confirmado
+     * @return Step reanudable
+     */
+    @Bean
+    public Step customerResumableMigrationStep(){
+        log.info("Configurando Step reanudable de migración de customers");
+        return customerChunkStep(new StepBuilder("customerResumableMigrationStep", jobRepository))
+                .reader(customerItemReader.keysetCustomerReader()) //Proxy con scope de step
+                .processor(processor())
+                .writer(writer())
+                .listener(customerMembershipIndexListener)
+                .build();
+    }
+
+    /**
+     * Job de migración reanudable
+     * La identidad de la instancia la define el parámetro migration.runId
+     * @return Job reanudable tras un fallo
+     */
+    @Bean
+    public Job customerResumableMigrationJob(){
+        log.info("Configurando Job reanudable de migración de customers");
+        return new JobBuilder("customerResumableMigrationJob", jobRepository)
+                .listener(migrationProgressListener)
+                .start(customerResumableMigrationStep())
+                .build();
+    }
+
+    /**
+     * Step de la migración incremental
+     * Lee solo las filas posteriores a la marca de agua y la actualiza al completar
+     * @return Step configurado con el reader incremental
+     */
+    @Bean
+    public Step customerIncrementalMigrationStep(){
+        log.info("Configurando Step de migración incremental de customers");
+        return customerChunkStep(new StepBuilder("customerIncrementalMigrationStep", jobRepository))
+                .reader(customerItemReader.incrementalCustomerReader(null)) //Proxy con scope de step
+                .processor(processor())
+                .writer(writer())
+                .listener(customerMembershipIndexListener)
+                .listener((StepExecutionListener) migrationWatermarkListener) //Proxy con scope de step
+                .listener((ItemReadListener<Customer>) migrationWatermarkListener)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    /**
+     * Job de migración incremental (delta) por marca de agua
+     * @return Job de migración incremental
+     */
+    @Bean
+    public Job customerIncrementalMigrationJob(){
+        log.info("Configurando Job de migración incremental de customers");
+        return new JobBuilder("customerIncrementalMigrationJob", jobRepository)
+                .listener(migrationProgressListener)
+                .start(customerIncrementalMigrationStep())
+                .build();
+    }
+
+    /**
+     * Step worker de la migración particionada
+     * Cada ejecución lee solo el rango de IDs asignado en su ExecutionContext
+     * @return Step configurado con el reader particionado, processor y writer
+     */
+    @Bean
+    public Step customerMigrationWorkerStep(){
+        log.info("Configurando Step worker de migración particionada");
+        return customerChunkStep(new StepBuilder("customerMigrationWorkerStep", jobRepository))
+                .reader(customerItemReader.partitionedCustomerReader(null, null)) //Proxy con scope de step
+                .processor(processor())
+                .writer(writer())
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    /**
+     * PartitionHandler con scope de step para leer los parámetros del job
+     * - partition.count: número de rangos de ID en que se divide la tabla
+     * - partition.gridSize: número de particiones que se ejecutan a la vez
+     * @param partitionCount número de particiones (por defecto igual a gridSize)
+     * @param gridSize particiones concurrentes (por defecto batch.partition.max-grid-size)
+     * @return TaskExecutorPartitionHandler configurado
+     */
+    @Bean
+    @StepScope
+    public TaskExecutorPartitionHandler customerPartitionHandler(
+            @Value("#{jobParameters['partition.count']}") Long partitionCount,
+            @Value("#{jobParameters['partition.gridSize']}") Long gridSize){
+
+        int concurrency = gridSize != null ? gridSize.intValue() : maxGridSize;
+        if (concurrency < 1 || concurrency > maxGridSize) {
+            log.warn("partition.gridSize={} fuera de rango, se ajusta a [1, {}] para no agotar el pool de MySQL",
+                    concurrency, maxGridSize);
+            concurrency = Math.min(Math.max(concurrency, 1), maxGridSize);
+        }
+        int partitions = partitionCount != null ? Math.max(1, partitionCount.intValue()) : concurrency;
+
+        TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
+        partitionHandler.setStep(customerMigrationWorkerStep());
+        partitionHandler.setTaskExecutor(throttled(customerPartitionTaskExecutor(), concurrency));
+        partitionHandler.setGridSize(partitions);
+
+        log.info("PartitionHandler configurado: {} particiones, {} concurrentes", partitions, concurrency);
+        return partitionHandler;
+    }
+
+    /**
+     * Pool compartido por todas las migraciones particionadas desde MySQL
+     * Tiene batch.partition.max-grid-size hilos, por lo que ni varios jobs a la vez superan las
+     * conexiones reservadas en el pool de MySQL; las particiones restantes esperan en la cola.
+     * Spring lo cierra al parar la aplicación
+     * @return ThreadPoolTaskExecutor acotado
+     */
+    @Bean
+    public ThreadPoolTaskExecutor customerPartitionTaskExecutor(){
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(maxGridSize);
+        taskExecutor.setMaxPoolSize(maxGridSize);
+        taskExecutor.setThreadNamePrefix("customer-partition-");
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        return taskExecutor;
+    }
+
+    /**
+     * Limita las tareas de un step que se ejecutan a la vez en un executor compartido
+     * Cada tarea espera un permiso antes de enviarse y lo libera al terminar
+     * @param taskExecutor executor compartido
+     * @param concurrency tareas simultáneas del step
+     * @return TaskExecutor que delega con el límite indicado
+     */
+    private static TaskExecutor throttled(TaskExecutor taskExecutor, int concurrency) {
+        Semaphore permits = new Semaphore(concurrency);
+        return task -> {
+            permits.acquireUninterruptibly();
+            try {
+                taskExecutor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Step manager que divide la tabla customers en rangos de ID y reparte
+     * cada rango a una ejecución de customerMigrationWorkerStep
+     * @return Step particionado
+     */
+    @Bean
+    public Step customerMigrationManagerStep(){
+        log.info("Configurando Step manager de migración particionada");
+        return new StepBuilder("customerMigrationManagerStep", jobRepository)
+                .partitioner("customerMigrationWorkerStep", customerIdRangePartitioner)
+                .partitionHandler(customerPartitionHandler(null, null)) //Proxy con scope de step
+                .listener(customerMembershipIndexListener) //Índice compartido por todas las particiones
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    /**
+     * Variante particionada del job de migración, pensada para tablas grandes
+     * Los rangos de ID se procesan en paralelo según partition.count y partition.gridSize
+     * @return Job de migración particionada
+     */
+    @Bean
+    public Job customerPartitionedMigrationJob(){
+        log.info("Configurando Job de migración particionada de customers");
+        return new JobBuilder("customerPartitionedMigrationJob", jobRepository)
+                .listener(migrationProgressListener)
+                .start(customerMigrationManagerStep())
+                .build();
+    }
+
+    /**
+     * Partitioner con scope de step que divide el archivo indicado en csv.file en rangos de bytes
+     * @param file ruta del archivo CSV en el sistema de archivos
+     * @return CsvByteRangePartitioner del archivo
+     */
+    @Bean
+    @StepScope
+    public CsvByteRangePartitioner csvByteRangePartitioner(
+            @Value("#{jobParameters['csv.file']}") String file){
+        return new CsvByteRangePartitioner(Path.of(file));
+    }
+
+    /**
+     * Reader con scope de step que lee solo el rango de bytes de su partición
+     * Los límites y la cabecera llegan en el ExecutionContext generado por CsvByteRangePartitioner
+     * @param file ruta del archivo CSV
+     * @param startOffset inicio del rango de la partición
+     * @param endOffset fin (exclusivo) del rango de la partición
+     * @param columns cabecera del archivo
+     * @return MappedCsvCustomerItemReader limitado al rango de la partición
+     */
+    @Bean
+    @StepScope
+    public MappedCsvCustomerItemReader mappedCsvCustomerReader(
+            @Value("#{jobParameters['csv.file']}") String file,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset,
+            @Value("#{stepExecutionContext['columns']}") String columns){
+        return new MappedCsvCustomerItemReader(Path.of(file), startOffset, endOffset, columns);
+    }
+
+    /**
+     * Step worker de la migración desde CSV: parsea un rango de bytes del archivo
+     * Sin allowStartIfComplete: al reiniciar el job solo se repiten las particiones
+     * fallidas, y cada una continúa desde el offset guardado en su último chunk
+     * @return Step configurado con el reader mapeado en memoria, processor y writer
+     */
+    @Bean
+    public Step customerCsvWorkerStep(){
+        log.info("Configurando Step worker de migración desde CSV mapeado en memoria");
+        return customerChunkStep(new StepBuilder("customerCsvWorkerStep", jobRepository))
+                .reader(mappedCsvCustomerReader(null, null, null, null)) //Proxy con scope de step
+                .processor(processor())
+                .writer(writer())
+                .build();
+    }
+
+    /**
+     * PartitionHandler de la migración desde CSV
+     * partition.gridSize define tanto el número de rangos como los que se parsean a la vez
+     * @param gridSize número de rangos (por defecto, procesadores disponibles)
+     * @return TaskExecutorPartitionHandler configurado
+     */
+    @Bean
+    @StepScope
+    public TaskExecutorPartitionHandler csvPartitionHandler(
+            @Value("#{jobParameters['partition.gridSize']}") Long gridSize){
+        int partitions = gridSize != null && gridSize > 0
+                ? gridSize.intValue()
+                : Runtime.getRuntime().availableProcessors();
+
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("customer-csv-partition-");
+        taskExecutor.setConcurrencyLimit(partitions);
+
+        TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
+        partitionHandler.setStep(customerCsvWorkerStep());
+        partitionHandler.setTaskExecutor(taskExecutor);
+        partitionHandler.setGridSize(partitions);
+
+        log.info("PartitionHandler CSV configurado: {} rangos de bytes", partitions);
+        return partitionHandler;
+    }
+
+    /**
+     * Step manager que divide el archivo CSV en rangos de bytes alineados a registro
+     * y reparte cada rango a una ejecución de customerCsvWorkerStep
+     * @return Step particionado
+     */
+    @Bean
+    public Step customerCsvManagerStep(){
+        log.info("Configurando Step manager de migración desde CSV");
+        return new StepBuilder("customerCsvManagerStep", jobRepository)
+                .partitioner("customerCsvWorkerStep", csvByteRangePartitioner(null))
+                .partitionHandler(csvPartitionHandler(null)) //Proxy con scope de step
+                .listener(customerMembershipIndexListener)
+                .build();
+    }
+
+    /**
+     * Job de migración desde un export CSV de gran tamaño (csv.file)
+     * El archivo se mapea en memoria y sus rangos de bytes se parsean en paralelo
+     * @return Job de migración desde CSV
+     */
+    @Bean
+    public Job customerCsvPartitionedMigrationJob(){
+        log.info("Configurando Job de migración desde CSV particionado");
+        return new JobBuilder("customerCsvPartitionedMigrationJob", jobRepository)
+                .listener(migrationProgressListener)
+                .start(customerCsvManagerStep())
+                .build();
+    }
+
+    /**
+     * Partitioner con scope de step que crea una partición por archivo del origen csv.source
+     * @param source directorio o glob de los shards
+     * @return CsvShardPartitioner del origen
+     */
+    @Bean
+    @StepScope
+    public CsvShardPartitioner csvShardPartitioner(
+            @Value("#{jobParameters['csv.source']}") String source){
+        return new CsvShardPartitioner(source);
+    }
+
+    /**
+     * Reader con scope de step que lee el archivo asignado a su partición
+     * @param fileName ruta del shard
+     * @param fileSize tamaño del shard en disco
+     * @return CsvShardItemReader del archivo
+     */
+    @Bean
+    @StepScope
+    public CsvShardItemReader csvShardItemReader(
+            @Value("#{stepExecutionContext['fileName']}") String fileName,
+            @Value("#{stepExecutionContext['fileSize']}") Long fileSize){
+        log.info("Configurando CsvShardItemReader para {} ({} bytes)", fileName, fileSize);
+        return new CsvShardItemReader(Path.of(fileName), fileSize);
+    }
+
+    /**
+     * Step worker de la migración por shards: lee un archivo completo
+     * Sin allowStartIfComplete para que al reiniciar solo se repitan los archivos fallidos
+     * @return Step configurado con el reader del shard, processor y writer
+     */
+    @Bean
+    public Step customerCsvShardWorkerStep(){
+        log.info("Configurando Step worker de migración por shards CSV");
+        return customerChunkStep(new StepBuilder("customerCsvShardWorkerStep", jobRepository))
+                .reader(csvShardItemReader(null, null)) //Proxy con scope de step
+                .processor(processor())
+                .writer(writer())
+                .build();
+    }
+
+    /**
+     * PartitionHandler de la migración por shards
+     * partition.gridSize limita los archivos leídos a la vez (por defecto batch.csv.shards.max-concurrency)
+     * @param gridSize archivos concurrentes
+     * @return TaskExecutorPartitionHandler configurado
+     */
+    @Bean
+    @StepScope
+    public TaskExecutorPartitionHandler csvShardPartitionHandler(
+            @Value("#{jobParameters['partition.gridSize']}") Long gridSize){
+        int concurrency = gridSize != null && gridSize > 0 ? gridSize.intValue() : csvShardMaxConcurrency;
+
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("customer-csv-shard-");
+        taskExecutor.setConcurrencyLimit(concurrency);
+
+        TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
+        partitionHandler.setStep(customerCsvShardWorkerStep());
+        partitionHandler.setTaskExecutor(taskExecutor);
+
+        log.info("PartitionHandler de shards CSV configurado: {} archivos concurrentes", concurrency);
+        return partitionHandler;
+    }
+
+    /**
+     * Step manager que reparte cada archivo del origen a una ejecución de customerCsvShardWorkerStep
+     * @return Step particionado
+     */
+    @Bean
+    public Step customerCsvShardManagerStep(){
+        log.info("Configurando Step manager de migración por shards CSV");
+        return new StepBuilder("customerCsvShardManagerStep", jobRepository)
+                .partitioner("customerCsvShardWorkerStep", csvShardPartitioner(null))
+                .partitionHandler(csvShardPartitionHandler(null)) //Proxy con scope de step
+                .listener(customerMembershipIndexListener)
+                .build();
+    }
+
+    /**
+     * Job de migración desde un export dividido en varios archivos CSV (planos o .gz)
+     * @return Job de migración por shards
+     */
+    @Bean
+    public Job customerCsvShardMigrationJob(){
+        log.info("Configurando Job de migración por shards CSV");
+        return new JobBuilder("customerCsvShardMigrationJob", jobRepository)
+                .listener(migrationProgressListener)
+                .start(customerCsvShardManagerStep())
+                .build();
+    }
+
+    /**
+     * Writer con scope de step de la fase de extracción
+     * @param file archivo de spill (job parameter spill.file)
+     * @return CustomerSpillItemWriter del archivo
+     */
+    @Bean
+    @StepScope
+    public CustomerSpillItemWriter customerSpillWriter(
+            @Value("#{jobParameters['spill.file']}") String file){
+        return new CustomerSpillItemWriter(Path.of(file), spillCompress);
+    }
+
+    /**
+     * Fase 1: lee customers de MySQL por keyset y los vuelca al archivo de spill
+     * No hay processor ni escritura en MongoDB, por lo que la conexión de origen
+     * solo se mantiene abierta lo que tarda MySQL en entregar las filas
+     * @return Step de extracción
+     */
+    @Bean
+    public Step customerSpillExtractStep(){
+        log.info("Configurando Step de extracción a spill (chunks de {}, compresión: {})",
+                spillExtractChunkSize, spillCompress);
+        return new StepBuilder("customerSpillExtractStep", jobRepository)
+                .<Customer, Customer>chunk(spillExtractChunkSize, transactionManager)
+                .reader(customerItemReader.keysetCustomerReader()) //Proxy con scope de step
+                .writer(customerSpillWriter(null)) //Proxy con scope de step
+                .listener((StepExecutionListener) migrationProgressListener)
+                .listener((ChunkListener) migrationProgressListener)
+                .build();
+    }
+
+    /**
+     * Job de la fase 1 (MySQL -> spill); se reinicia de forma independiente a la carga
+     * @return Job de extracción
+     */
+    @Bean
+    public Job customerSpillExtractJob(){
+        log.info("Configurando Job de extracción a spill");
+        return new JobBuilder("customerSpillExtractJob", jobRepository)
+                .listener(migrationProgressListener)
+                .start(customerSpillExtractStep())
+                .build();
+    }
+
+    /**
+     * Partitioner con scope de step que reparte los bloques del spill
+     * @param file archivo de spill
+     * @return CustomerSpillPartitioner del archivo
+     */
+    @Bean
+    @StepScope
+    public CustomerSpillPartitioner customerSpillPartitioner(
+            @Value("#{jobParameters['spill.file']}") String file){
+        return new CustomerSpillPartitioner(Path.of(file));
+    }
+
+    /**
+     * Reader con scope de step que lee el rango de bloques de su partición
+     * @param file archivo de spill
+     * @param startOffset primer bloque de la partición
+     * @param endOffset fin (exclusivo) de la partición
+     * @return CustomerSpillItemReader del rango
+     */
+    @Bean
+    @StepScope
+    public CustomerSpillItemReader customerSpillReader(
+            @Value("#{jobParameters['spill.file']}") String file,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset){
+        return new CustomerSpillItemReader(Path.of(file), startOffset, endOffset);
+    }
+
+    /**
+     * Step worker de la fase 2: carga en MongoDB un rango de bloques del spill
+     * @return Step configurado con el reader del spill, processor y writer
+     */
+    @Bean
+    public Step customerSpillLoadWorkerStep(){
+        log.info("Configurando Step worker de carga desde spill");
+        return customerChunkStep(new StepBuilder("customerSpillLoadWorkerStep", jobRepository))
+                .reader(customerSpillReader(null, null, null)) //Proxy con scope de step
+                .processor(processor())
+                .writer(writer())
+                .build();
+    }
+
+    /**
+     * PartitionHandler de la fase 2, independiente del pool de MySQL
+     * @param gridSize particiones de la carga (por defecto batch.spill.load.grid-size)
+     * @return TaskExecutorPartitionHandler configurado
+     */
+    @Bean
+    @StepScope
+    public TaskExecutorPartitionHandler customerSpillLoadPartitionHandler(
+            @Value("#{jobParameters['partition.gridSize']}") Long gridSize){
+        int partitions = gridSize != null && gridSize > 0 ? gridSize.intValue() : spillLoadGridSize;
+
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("customer-spill-load-");
+        taskExecutor.setConcurrencyLimit(partitions);
+
+        TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
+        partitionHandler.setStep(customerSpillLoadWorkerStep());
+        partitionHandler.setTaskExecutor(taskExecutor);
+        partitionHandler.setGridSize(partitions);
+
+        log.info("PartitionHandler de carga desde spill configurado: {} particiones", partitions);
+        return partitionHandler;
+    }
+
+    /**
+     * Step manager de la fase 2
+     * @return Step particionado
+     */
+    @Bean
+    public Step customerSpillLoadManagerStep(){
+        log.info("Configurando Step manager de carga desde spill");
+        return new StepBuilder("customerSpillLoadManagerStep", jobRepository)
+                .partitioner("customerSpillLoadWorkerStep", customerSpillPartitioner(null))
+                .partitionHandler(customerSpillLoadPartitionHandler(null)) //Proxy con scope de step
+                .listener(customerMembershipIndexListener)
+                .build();
+    }
+
+    /**
+     * Job de la fase 2 (spill -> MongoDB); se reinicia de forma independiente a la extracción
+     * @return Job de carga
+     */
+    @Bean
+    public Job customerSpillLoadJob(){
+        log.info("Configurando Job de carga desde spill");
+        return new JobBuilder("customerSpillLoadJob", jobRepository)
+                .listener(migrationProgressListener)
+                .start(customerSpillLoadManagerStep())
+                .build();
+    }
+
+    /**
+     * Carga completa, paso 1: crea la colección de staging vacía
+     * Al reiniciar una ejecución fallida no se repite, por lo que no se pierde lo ya cargado
+     * @return Step de preparación
+     */
+    @Bean
+    public Step customerStagingPrepareStep(){
+        return new StepBuilder("customerStagingPrepareStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    customerStagingCollection.prepare();
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    /**
+     * Carga completa, paso 2: lee MySQL por keyset e inserta en staging sin índices secundarios
+     * No usa el índice de membresía ni la verificación de email: la colección viva se va a sustituir
+     * @return Step de carga en staging
+     */
+    @Bean
+    public Step customerStagingLoadStep(){
+        log.info("Configurando Step de carga completa en staging");
+        return customerChunkStep(new StepBuilder("customerStagingLoadStep", jobRepository))
+                .reader(customerItemReader.keysetCustomerReader()) //Proxy con scope de step
+                .processor(customerItemProcessor.withoutEmailPrecheck())
+                .writer(customerStagingItemWriter)
+                .build();
+    }
+
+    /**
+     * Carga completa, paso 3: deduplica, construye los índices y renombra staging sobre customers
+     * @return Step de sustitución
+     */
+    @Bean
+    public Step customerStagingSwapStep(){
+        return new StepBuilder("customerStagingSwapStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    long removed = customerStagingCollection.swap();
+                    chunkContext.getStepContext().getStepExecution().getExecutionContext()
+                            .putLong("staging.duplicatesRemoved", removed);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    /**
+     * Job de carga completa: staging sin índices, índices al final y sustitución atómica
+     * @return Job de carga completa
+     */
+    @Bean
+    public Job customerStagingLoadJob(){
+        log.info("Configurando Job de carga completa con colección de staging");
+        return new JobBuilder("customerStagingLoadJob", jobRepository)
+                .listener(migrationProgressListener)
+                .start(customerStagingPrepareStep())
+                .next(customerStagingLoadStep())
+                .next(customerStagingSwapStep())
+                .build();
+    }
+
+    /**
+     * Step de verificación: compara MySQL y MongoDB por rangos de IDs
+     * @return Step con CustomerReconciliationTasklet
+     */
+    @Bean
+    public Step customerReconciliationStep(){
+        return new StepBuilder("customerReconciliationStep", jobRepository)
+                .tasklet(customerReconciliationTasklet, transactionManager)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    /**
+     * Job de verificación de la migración; termina con exit code DIFFERENCES_FOUND si hay diferencias
+     * @return Job de reconciliación
+     */
+    @Bean
+    public Job customerReconciliationJob(){
+        log.info("Configurando Job de reconciliación MySQL - MongoDB");
+        return new JobBuilder("customerReconciliationJob", jobRepository)
+                .start(customerReconciliationStep())
+                .build();
+    }
+
 }
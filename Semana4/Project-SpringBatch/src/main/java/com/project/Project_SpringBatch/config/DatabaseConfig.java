@@ -1,9 +1,13 @@
 package com.project.Project_SpringBatch.config;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -46,6 +50,10 @@ public class DatabaseConfig extends AbstractMongoClientConfiguration {
     @Value("${spring.datasource.driver-class-name}")
     private String mysqlDriverClassName;
 
+    // Máximo de particiones concurrentes de la migración particionada
+    @Value("${batch.partition.max-grid-size:8}")
+    private int maxGridSize;
+
     // Configuraciones de MongoDB desde application.properties
     @Value("${spring.data.mongodb.uri}")
     private String mongoUri;
@@ -53,6 +61,10 @@ public class DatabaseConfig extends AbstractMongoClientConfiguration {
     @Value("${spring.data.mongodb.database}")
     private String mongoDatabaseName;
 
+    // Perfil del cliente MongoDB: 'online' o 'bulk-load' (ver MongoClientProfile)
+    @Value("${batch.mongo.profile:online}")
+    private String mongoProfileName;
+
     /**
      * Configura el DataSource principal para MySQL
      * Este será usado por Spring Batch y los repositorios JPA
@@ -66,14 +78,22 @@ public class DatabaseConfig extends AbstractMongoClientConfiguration {
         log.debug("MySQL Username: {}", mysqlUsername);
 
         try {
-            DataSource dataSource = DataSourceBuilder.create()
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
                     .url(mysqlUrl)
                     .username(mysqlUsername)
                     .password(mysqlPassword)
                     .driverClassName(mysqlDriverClassName)
                     .build();
 
-            log.info("DataSource de MySQL configurado exitosamente");
+            //Cada partición usa una conexión para la transacción del chunk (y las actualizaciones
+            //del JobRepository); se reservan 2 más para el step manager y la API. Los cursores
+            //de los readers usan cursorFetchDataSource
+            int poolSize = maxGridSize + 2;
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setPoolName("mysql-batch-pool");
+
+            log.info("DataSource de MySQL configurado exitosamente (pool de {} conexiones)", poolSize);
             return dataSource;
 
         } catch (Exception e) {
@@ -83,7 +103,32 @@ public class DatabaseConfig extends AbstractMongoClientConfiguration {
     }
 
     /**
-     * Configura el cliente MongoDB
+     * DataSource de MySQL solo para los cursores de lectura (reader en streaming y reader por rango)
+     * Añade useCursorFetch=true a la URL para que Connector/J respete el fetch size y traiga las filas
+     * por bloques; el resto de consultas (JobRepository, readers paginados) sigue en el DataSource
+     * principal con el comportamiento por defecto del driver
+     * @return DataSource con un cursor por partición más el del step sin particionar
+     */
+    @Bean
+    public DataSource cursorFetchDataSource() {
+        String url = mysqlUrl + (mysqlUrl.contains("?") ? "&" : "?") + "useCursorFetch=true";
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(mysqlUsername)
+                .password(mysqlPassword)
+                .driverClassName(mysqlDriverClassName)
+                .build();
+        dataSource.setMaximumPoolSize(maxGridSize + 1);
+        dataSource.setMinimumIdle(0);
+        dataSource.setPoolName("mysql-cursor-pool");
+
+        log.info("DataSource de cursores MySQL configurado (pool de {} conexiones)", maxGridSize + 1);
+        return dataSource;
+    }
+
+    /**
+     * Configura el cliente MongoDB con la URI y el perfil de batch.mongo.profile
      * @return MongoClient configurado
      */
     @Bean
@@ -93,8 +138,11 @@ public class DatabaseConfig extends AbstractMongoClientConfiguration {
         log.debug("MongoDB URI: {}", mongoUri);
 
         try {
-            MongoClient mongoClient = MongoClients.create(mongoUri);
-            log.info("MongoClient configurado exitosamente");
+            MongoClientSettings.Builder builder = MongoClientSettings.builder()
+                    .applyConnectionString(new ConnectionString(mongoUri));
+            configureClientSettings(builder);
+            MongoClient mongoClient = MongoClients.create(builder.build());
+            log.info("MongoClient configurado exitosamente con el perfil '{}'", mongoClientProfile().getProfileName());
             return mongoClient;
 
         } catch (Exception e) {
@@ -122,6 +170,7 @@ public class DatabaseConfig extends AbstractMongoClientConfiguration {
 
         try {
             MongoTemplate mongoTemplate = new MongoTemplate(mongoClient(), getDatabaseName());
+            mongoTemplate.setWriteConcern(mongoClientProfile().getWriteConcern());
             log.info("MongoTemplate configurado exitosamente para base de datos: {}", getDatabaseName());
             return mongoTemplate;
 
@@ -132,13 +181,33 @@ public class DatabaseConfig extends AbstractMongoClientConfiguration {
     }
 
     /**
-     * Configuración adicional para optimizar las conexiones MongoDB
-     * @return configuración personalizada para MongoDB
+     * Aplica el mismo perfil al cliente reactivo que crea Spring Boot (usado por ReactiveMongoTemplate)
+     * @return customizer con el perfil de batch.mongo.profile
      */
-    @Override
-    protected void configureClientSettings(com.mongodb.MongoClientSettings.Builder builder) {
-        log.debug("Aplicando configuraciones personalizadas para MongoDB");
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientProfileCustomizer() {
+        return this::configureClientSettings;
+    }
 
+    /**
+     * Perfil de cliente seleccionado con batch.mongo.profile
+     * @return perfil de cliente MongoDB
+     */
+    @Bean
+    public MongoClientProfile mongoClientProfile() {
+        return MongoClientProfile.fromName(mongoProfileName);
+    }
 
+    /**
+     * Aplica el perfil de cliente: pool, compresión de red, write concern y timeouts de socket
+     * @param builder configuración del cliente MongoDB
+     */
+    @Override
+    protected void configureClientSettings(MongoClientSettings.Builder builder) {
+        MongoClientProfile profile = mongoClientProfile();
+        log.debug("Aplicando el perfil '{}' de MongoDB: pool {}-{}, compresión {}, write concern {}",
+                profile.getProfileName(), profile.getMinPoolSize(), profile.getMaxPoolSize(),
+                profile.getCompressors(), profile.getWriteConcern());
+        profile.apply(builder);
     }
 }
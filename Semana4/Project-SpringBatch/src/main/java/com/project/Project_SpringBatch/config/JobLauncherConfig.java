@@ -0,0 +1,99 @@
+package com.project.Project_SpringBatch.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuración del lanzador asíncrono de jobs
+ * Los jobs se ejecutan en un executor propio, aislado del pool de hilos HTTP de Tomcat:
+ * - Java 21+: un hilo virtual por job
+ * - Java 17: pool acotado de hilos de plataforma
+ */
+@Configuration
+@Slf4j
+public class JobLauncherConfig {
+
+    @Value("${batch.launcher.platform-pool-size:4}")
+    private int platformPoolSize;
+
+    @Value("${batch.launcher.queue-capacity:10}")
+    private int queueCapacity;
+
+    private ExecutorService jobExecutorService;
+
+    /**
+     * JobLauncher que devuelve la JobExecution en cuanto se crea, sin esperar al job
+     * @param jobRepository repositorio de metadatos de Spring Batch
+     * @return TaskExecutorJobLauncher asíncrono
+     * @throws Exception si la configuración del launcher es inválida
+     */
+    @Bean
+    public TaskExecutorJobLauncher asyncJobLauncher(JobRepository jobRepository) throws Exception {
+        jobExecutorService = createJobExecutorService();
+
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(new TaskExecutorAdapter(jobExecutorService));
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
+    }
+
+    /**
+     * Crea el executor de jobs: hilos virtuales si la JVM los soporta, pool acotado si no
+     * Se usa reflexión porque el proyecto compila con Java 17
+     * @return ExecutorService para ejecutar jobs
+     */
+    private ExecutorService createJobExecutorService() {
+        if (Runtime.version().feature() >= 21) {
+            try {
+                ExecutorService virtualExecutor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                log.info("Lanzador asíncrono de jobs configurado con hilos virtuales");
+                return virtualExecutor;
+
+            } catch (ReflectiveOperationException e) {
+                log.warn("No se pudieron crear hilos virtuales, se usa un pool de plataforma: {}", e.getMessage());
+            }
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor platformExecutor = new ThreadPoolExecutor(
+                platformPoolSize, platformPoolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(false);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Lanzador asíncrono de jobs configurado con un pool de {} hilos (cola de {})",
+                platformPoolSize, queueCapacity);
+        return platformExecutor;
+    }
+
+    /**
+     * Cierra el executor de jobs al detener la aplicación
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (jobExecutorService != null) {
+            log.info("Cerrando executor de jobs asíncronos");
+            jobExecutorService.shutdown();
+        }
+    }
+}
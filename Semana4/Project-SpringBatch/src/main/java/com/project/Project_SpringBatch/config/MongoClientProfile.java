@@ -0,0 +1,86 @@
+package com.project.Project_SpringBatch.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.WriteConcern;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perfiles de cliente MongoDB seleccionables con batch.mongo.profile
+ *
+ * - bulk-load: para una migración dedicada. Pool amplio con conexiones precalentadas, compresión
+ *   de red snappy (zlib si el servidor no admite snappy), acuse de un solo nodo sin esperar al
+ *   journal y timeouts de socket largos para bulk writes grandes. Un fallo del servidor puede perder
+ *   las últimas escrituras confirmadas, pero los writers son idempotentes y el job puede relanzarse.
+ * - online: valores prudentes para compartir el cluster con tráfico de la aplicación. Acuse de
+ *   mayoría con journal, sin compresión y timeout de conexión corto. No fija timeout de lectura
+ *   (se mantiene el de la URI): el swap de staging y los $group de la reconciliación pueden tardar
+ *   más que cualquier valor razonable para peticiones online.
+ */
+@Getter
+public enum MongoClientProfile {
+
+    BULK_LOAD("bulk-load", 8, 64,
+            List.of(MongoCompressor.createSnappyCompressor(), MongoCompressor.createZlibCompressor()),
+            WriteConcern.W1.withJournal(false), 10, 300),
+
+    ONLINE("online", 0, 100,
+            List.of(),
+            WriteConcern.MAJORITY.withJournal(true), 5, 0);
+
+    private final String profileName;
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private final List<MongoCompressor> compressors;
+    private final WriteConcern writeConcern;
+    private final int connectTimeoutSeconds;
+    /**
+     * 0 para no modificar el timeout de lectura de la URI
+     */
+    private final int readTimeoutSeconds;
+
+    MongoClientProfile(String profileName, int minPoolSize, int maxPoolSize, List<MongoCompressor> compressors,
+                       WriteConcern writeConcern, int connectTimeoutSeconds, int readTimeoutSeconds) {
+        this.profileName = profileName;
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.compressors = compressors;
+        this.writeConcern = writeConcern;
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+        this.readTimeoutSeconds = readTimeoutSeconds;
+    }
+
+    /**
+     * Aplica el perfil sobre la configuración del cliente
+     * Se llama después de applyConnectionString, por lo que el perfil prevalece sobre la URI
+     * @param builder configuración del cliente MongoDB
+     */
+    public void apply(MongoClientSettings.Builder builder) {
+        builder.applyToConnectionPoolSettings(pool -> pool
+                        .minSize(minPoolSize)
+                        .maxSize(maxPoolSize))
+                .applyToSocketSettings(socket -> {
+                    socket.connectTimeout(connectTimeoutSeconds, TimeUnit.SECONDS);
+                    if (readTimeoutSeconds > 0) {
+                        socket.readTimeout(readTimeoutSeconds, TimeUnit.SECONDS);
+                    }
+                })
+                .compressorList(compressors)
+                .writeConcern(writeConcern);
+    }
+
+    /**
+     * @param name nombre del perfil ('bulk-load' u 'online')
+     * @return perfil correspondiente
+     */
+    public static MongoClientProfile fromName(String name) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.profileName.equalsIgnoreCase(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown batch.mongo.profile: " + name));
+    }
+}
@@ -11,14 +11,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * REST Controller para gestionar los procesos de Spring Batch
@@ -109,6 +114,670 @@ public class BatchController {
         }
     }
 
+    /**
+     * Endpoint para iniciar la migración sin bloquear el hilo HTTP
+     * El job corre en el executor de jobs y la respuesta devuelve el jobExecutionId de inmediato
+     * @return ResponseEntity 202 con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/async")
+    @Operation(
+            summary = "Iniciar migración de customers en segundo plano",
+            description = "Lanza la migración en un executor dedicado y devuelve el jobExecutionId inmediatamente"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Migración aceptada y en ejecución",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startCustomerMigrationAsync() {
+        log.info("=== REQUEST: Iniciando migración de customers en segundo plano ===");
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar migración en segundo plano cuando ya hay una en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.startCustomerMigrationJobAsync();
+            log.info("Migración aceptada. JobExecutionId: {}", jobExecution.getId());
+
+            return acceptedResponse(jobExecution,
+                    "Customer migration job accepted, poll /status/" + jobExecution.getId() + " for progress");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar migración en segundo plano: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start customer migration", e,
+                    "Check server logs and the job executor capacity");
+        }
+    }
+
+    /**
+     * Endpoint para iniciar la migración particionada por rangos de ID
+     * @param partitions número de rangos de ID en que se divide la tabla customers
+     * @param gridSize número de particiones que se ejecutan a la vez
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/partitioned")
+    @Operation(
+            summary = "Iniciar migración particionada de customers",
+            description = "Divide la tabla customers en rangos de ID y los migra en paralelo hacia MongoDB"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Migración iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startPartitionedCustomerMigration(
+            @Parameter(description = "Número de rangos de ID", example = "16")
+            @RequestParam(defaultValue = "8") long partitions,
+            @Parameter(description = "Particiones ejecutadas en paralelo", example = "4")
+            @RequestParam(defaultValue = "4") long gridSize) {
+        log.info("=== REQUEST: Iniciando migración particionada de customers ===");
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar migración particionada cuando ya hay una en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.runPartitionedCustomerMigrationJob(partitions, gridSize);
+            log.info("Migración particionada iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "Partitioned customer migration job started successfully");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar migración particionada de customers: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start partitioned customer migration", e,
+                    "Check server logs, database connectivity and partition parameters");
+        }
+    }
+
+    /**
+     * Endpoint para iniciar la migración desde un export CSV de gran tamaño
+     * @param file ruta del archivo CSV en el servidor
+     * @param gridSize número de rangos de bytes que se parsean en paralelo
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/csv")
+    @Operation(
+            summary = "Iniciar migración de customers desde CSV",
+            description = "Mapea en memoria un archivo CSV del servidor y migra sus rangos de bytes en paralelo hacia MongoDB"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Migración iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "El archivo no existe o no se puede leer",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startCsvCustomerMigration(
+            @Parameter(description = "Ruta del archivo CSV en el servidor", example = "/data/customers.csv")
+            @RequestParam String file,
+            @Parameter(description = "Rangos de bytes parseados en paralelo", example = "8")
+            @RequestParam(defaultValue = "4") long gridSize) {
+        log.info("=== REQUEST: Iniciando migración de customers desde CSV {} ===", file);
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar migración desde CSV cuando ya hay una en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.runCsvPartitionedCustomerMigrationJob(file, gridSize);
+            log.info("Migración desde CSV iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "CSV customer migration job started successfully");
+
+        } catch (IllegalArgumentException e) {
+            log.warn("No se puede iniciar la migración desde CSV: {}", e.getMessage());
+            return invalidRequestResponse(e, "Check that the file exists on the server and is readable");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar migración desde CSV: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start CSV customer migration", e,
+                    "Check server logs, the CSV header and partition parameters");
+        }
+    }
+
+    /**
+     * Endpoint para iniciar la migración desde un export dividido en varios archivos CSV
+     * @param source directorio o glob de los archivos (.csv o .csv.gz) en el servidor
+     * @param concurrency número de archivos que se leen a la vez (por defecto batch.csv.shards.max-concurrency)
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/csv-shards")
+    @Operation(
+            summary = "Iniciar migración de customers desde varios archivos CSV",
+            description = "Crea una partición por archivo (planos o comprimidos con gzip) y los migra en paralelo hacia MongoDB"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Migración iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "El origen no contiene archivos CSV",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startCsvShardCustomerMigration(
+            @Parameter(description = "Directorio o glob de los archivos en el servidor", example = "/data/exports/customers_*.csv.gz")
+            @RequestParam String source,
+            @Parameter(description = "Archivos leídos en paralelo (por defecto batch.csv.shards.max-concurrency)", example = "4")
+            @RequestParam(required = false) Long concurrency) {
+        log.info("=== REQUEST: Iniciando migración de customers desde shards CSV {} ===", source);
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar migración por shards cuando ya hay una en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.runCsvShardMigrationJob(source, concurrency);
+            log.info("Migración por shards iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "CSV shard customer migration job started successfully");
+
+        } catch (IllegalArgumentException e) {
+            log.warn("No se puede iniciar la migración por shards: {}", e.getMessage());
+            return invalidRequestResponse(e, "Check the directory or glob, e.g. /data/exports/customers_*.csv.gz");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar migración por shards: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start CSV shard customer migration", e,
+                    "Check server logs and the CSV headers of the shards");
+        }
+    }
+
+    /**
+     * Endpoint para iniciar la fase 1 del modo en dos fases (MySQL -> spill local)
+     * @param file archivo de spill dentro de batch.spill.dir (opcional)
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/spill/extract")
+    @Operation(
+            summary = "Extraer customers a un archivo de spill",
+            description = "Lee customers de MySQL tan rápido como permite el origen y los guarda en un archivo binario local, sin escribir en MongoDB"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Extracción iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "El archivo de spill queda fuera de batch.spill.dir",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startSpillExtract(
+            @Parameter(description = "Archivo de spill dentro de batch.spill.dir (por defecto batch.spill.file)", example = "customers.spill")
+            @RequestParam(required = false) String file) {
+        log.info("=== REQUEST: Iniciando extracción de customers a spill ===");
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar extracción a spill cuando ya hay una migración en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.runSpillExtractJob(file);
+            log.info("Extracción a spill iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "Spill extract job started successfully");
+
+        } catch (IllegalArgumentException e) {
+            log.warn("No se puede iniciar la extracción a spill: {}", e.getMessage());
+            return invalidRequestResponse(e, "Use a file name inside batch.spill.dir, e.g. customers.spill");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar extracción a spill: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start spill extract", e,
+                    "Check server logs, database connectivity and free disk space");
+        }
+    }
+
+    /**
+     * Endpoint para iniciar la fase 2 del modo en dos fases (spill local -> MongoDB)
+     * @param file archivo de spill dentro de batch.spill.dir (opcional)
+     * @param gridSize particiones que cargan el spill en paralelo (por defecto batch.spill.load.grid-size)
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/spill/load")
+    @Operation(
+            summary = "Cargar en MongoDB un archivo de spill",
+            description = "Reparte los bloques de un spill ya extraído en particiones que se cargan en paralelo hacia MongoDB"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Carga iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "El archivo de spill no existe o queda fuera de batch.spill.dir",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startSpillLoad(
+            @Parameter(description = "Archivo de spill dentro de batch.spill.dir (por defecto batch.spill.file)", example = "customers.spill")
+            @RequestParam(required = false) String file,
+            @Parameter(description = "Particiones cargadas en paralelo (por defecto batch.spill.load.grid-size)", example = "4")
+            @RequestParam(required = false) Long gridSize) {
+        log.info("=== REQUEST: Iniciando carga de customers desde spill ===");
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar carga desde spill cuando ya hay una migración en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.runSpillLoadJob(file, gridSize);
+            log.info("Carga desde spill iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "Spill load job started successfully");
+
+        } catch (IllegalArgumentException e) {
+            log.warn("No se puede iniciar la carga desde spill: {}", e.getMessage());
+            return invalidRequestResponse(e, "Run /migrate/customers/spill/extract first or check the file name inside batch.spill.dir");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar carga desde spill: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start spill load", e,
+                    "Check server logs and MongoDB connectivity");
+        }
+    }
+
+    /**
+     * Endpoint para iniciar la carga completa en staging
+     * Al terminar, la colección de staging sustituye a la de customers
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/staging")
+    @Operation(
+            summary = "Carga completa con colección de staging",
+            description = "Carga todos los customers de MySQL en una colección nueva sin índices secundarios, construye los índices al final y la renombra sobre la colección de customers"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Carga iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startStagingLoad() {
+        log.info("=== REQUEST: Iniciando carga completa de customers en staging ===");
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar carga en staging cuando ya hay una migración en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.runStagingLoadJob();
+            log.info("Carga en staging iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "Staging load job started successfully");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar carga en staging: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start staging load", e,
+                    "Check server logs, database connectivity and that the customers collection is not sharded");
+        }
+    }
+
+    /**
+     * Endpoint para verificar una migración comparando MySQL y MongoDB por rangos de IDs
+     * El job corre en segundo plano; el resultado se consulta en /status/{jobExecutionId}
+     * (exit code DIFFERENCES_FOUND y descripción del step con el informe)
+     * @param ranges rangos del primer nivel
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/verify/customers")
+    @Operation(
+            summary = "Verificar la migración",
+            description = "Compara por rangos de IDs el número de filas y una huella CRC32 de los campos normalizados en MySQL y MongoDB; solo los rangos con diferencias se subdividen hasta identificar los IDs afectados"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Verificación iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startReconciliation(
+            @Parameter(description = "Rangos del primer nivel (0 usa batch.reconciliation.ranges)", example = "256")
+            @RequestParam(defaultValue = "0") long ranges) {
+        log.info("=== REQUEST: Iniciando verificación de la migración ===");
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar la verificación cuando hay una migración en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.startReconciliationJobAsync(ranges);
+            log.info("Verificación iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "Reconciliation job started successfully");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar la verificación: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start reconciliation", e,
+                    "Check server logs and that server-side JavaScript is enabled in MongoDB");
+        }
+    }
+
+    /**
+     * Endpoint para iniciar la migración con processor y writer asíncronos
+     * Los items de cada chunk se procesan en paralelo manteniendo el orden y la transacción del chunk
+     * @param concurrency número máximo de items procesados a la vez
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/pipeline")
+    @Operation(
+            summary = "Iniciar migración con pipeline asíncrono",
+            description = "Procesa los items de cada chunk de forma concurrente en un executor acotado"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Migración iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startAsyncPipelineCustomerMigration(
+            @Parameter(description = "Items procesados en paralelo", example = "8")
+            @RequestParam(defaultValue = "8") long concurrency) {
+        log.info("=== REQUEST: Iniciando migración de customers con pipeline asíncrono ===");
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar migración con pipeline asíncrono cuando ya hay una en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.runAsyncPipelineCustomerMigrationJob(concurrency);
+            log.info("Migración con pipeline asíncrono iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "Async pipeline customer migration job started successfully");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar migración con pipeline asíncrono: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start async pipeline customer migration", e,
+                    "Check server logs, database connectivity and concurrency parameter");
+        }
+    }
+
+    /**
+     * Endpoint para iniciar la migración incremental
+     * Solo migra los customers posteriores a la marca de agua de la última ejecución completada
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/incremental")
+    @Operation(
+            summary = "Iniciar migración incremental",
+            description = "Migra solo los customers con id mayor a la última marca de agua guardada"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Migración iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startIncrementalCustomerMigration() {
+        log.info("=== REQUEST: Iniciando migración incremental de customers ===");
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar migración incremental cuando ya hay una en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.runIncrementalCustomerMigrationJob();
+            log.info("Migración incremental iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "Incremental customer migration job started successfully");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar migración incremental: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start incremental customer migration", e,
+                    "Check server logs, database connectivity and the stored watermark");
+        }
+    }
+
+    /**
+     * Endpoint para iniciar la migración reanudable
+     * Si la ejecución falla, puede reanudarse con /restart/{jobExecutionId} o relanzando con el mismo runId
+     * @param runId identificador estable de la migración (opcional)
+     * @return ResponseEntity con información del job iniciado
+     */
+    @PostMapping("/migrate/customers/resumable")
+    @Operation(
+            summary = "Iniciar migración reanudable",
+            description = "Migra los customers por keyset guardando el último id confirmado para reanudar tras un fallo"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Migración iniciada exitosamente",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> startResumableCustomerMigration(
+            @Parameter(description = "Identificador estable de la migración", example = "migracion-2024-05")
+            @RequestParam(required = false) String runId) {
+        log.info("=== REQUEST: Iniciando migración reanudable de customers ===");
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de iniciar migración reanudable cuando ya hay una en proceso");
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.runResumableCustomerMigrationJob(runId);
+            log.info("Migración reanudable iniciada exitosamente. JobExecutionId: {}", jobExecution.getId());
+
+            return startedResponse(jobExecution, "Resumable customer migration job started successfully");
+
+        } catch (Exception e) {
+            log.error("Error al iniciar migración reanudable: {}", e.getMessage(), e);
+            return startFailedResponse("Failed to start resumable customer migration", e,
+                    "Check server logs, database connectivity and whether the runId already completed");
+        }
+    }
+
+    /**
+     * Endpoint para reiniciar una ejecución fallida
+     * Relanza la misma instancia del job, que continúa tras el último chunk confirmado
+     * El reinicio corre en el executor de jobs y la respuesta devuelve el nuevo jobExecutionId de inmediato
+     * @param jobExecutionId ID de la ejecución fallida o detenida
+     * @return ResponseEntity 202 con información de la nueva ejecución
+     */
+    @PostMapping("/restart/{jobExecutionId}")
+    @Operation(
+            summary = "Reiniciar ejecución fallida",
+            description = "Reanuda una ejecución FAILED o STOPPED desde el último commit guardado"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Reinicio aceptado y en ejecución",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.MigrationStartResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Job execution no encontrado",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "La ejecución no se puede reiniciar o ya hay una migración en proceso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> restartJobExecution(
+            @Parameter(description = "ID de la ejecución del job", example = "12345")
+            @PathVariable Long jobExecutionId) {
+        log.info("=== REQUEST: Reiniciando job execution ID: {} ===", jobExecutionId);
+
+        try {
+            if (batchService.isMigrationJobRunning()) {
+                log.warn("Intento de reiniciar el job execution {} cuando ya hay una migración en proceso", jobExecutionId);
+                return alreadyRunningResponse();
+            }
+
+            JobExecution jobExecution = batchService.restartJobExecution(jobExecutionId);
+            log.info("Reinicio del job execution {} aceptado. Nueva JobExecutionId: {}", jobExecutionId, jobExecution.getId());
+
+            return acceptedResponse(jobExecution,
+                    "Job execution restart accepted, poll /status/" + jobExecution.getId() + " for progress");
+
+        } catch (IllegalArgumentException e) {
+            log.warn("No se puede reiniciar el job execution {}: {}", jobExecutionId, e.getMessage());
+            return notFoundResponse(jobExecutionId);
+
+        } catch (IllegalStateException e) {
+            log.warn("No se puede reiniciar el job execution {}: {}", jobExecutionId, e.getMessage());
+            return restartRejectedResponse(HttpStatus.CONFLICT, "BATCH_006", e,
+                    "Only FAILED or STOPPED executions without a running restart can be restarted");
+
+        } catch (Exception e) {
+            log.error("Error al reiniciar job execution {}: {}", jobExecutionId, e.getMessage(), e);
+            return startFailedResponse("Failed to restart job execution", e,
+                    "Check server logs and database connectivity");
+        }
+    }
+
     /**
      * Endpoint para obtener el estado de una ejecución específica del job
      * @param jobExecutionId ID de la ejecución del job
@@ -143,18 +812,24 @@ public class BatchController {
         log.info("=== REQUEST: Obteniendo estado del job execution ID: {} ===", jobExecutionId);
 
         try {
-            Map<String, Object> statusInfo = batchService.getJobExecutionStatus(jobExecutionId);
+            Optional<JobExecution> found = batchService.findJobExecution(jobExecutionId);
+            if (found.isEmpty()) {
+                log.warn("Job execution {} no encontrado", jobExecutionId);
+                return notFoundResponse(jobExecutionId);
+            }
+
+            JobExecution jobExecution = found.get();
+            Map<String, Object> statusInfo = batchService.getDetailedJobExecutionInfo(jobExecution);
 
-            // En un escenario real, aquí construirías la respuesta desde la JobExecution real
             BatchResponseDto.JobStatusResponse response = BatchResponseDto.JobStatusResponse.builder()
                     .jobExecutionId(jobExecutionId)
-                    .status("COMPLETED") // Placeholder - usar statusInfo real
-                    .exitCode("COMPLETED")
-                    .completed(true)
-                    .startTime(LocalDateTime.now().minusMinutes(5))
-                    .endTime(LocalDateTime.now())
-                    .durationSeconds(300L)
-                    .statistics(createSampleStatistics())
+                    .status(jobExecution.getStatus().toString())
+                    .exitCode(jobExecution.getExitStatus().getExitCode())
+                    .completed(jobExecution.getStatus() == BatchStatus.COMPLETED)
+                    .startTime(jobExecution.getStartTime())
+                    .endTime(jobExecution.getEndTime())
+                    .durationSeconds(calculateDuration(jobExecution).getSeconds())
+                    .statistics(createStatistics(jobExecution))
                     .stepsInfo(statusInfo)
                     .build();
 
@@ -177,6 +852,43 @@ public class BatchController {
         }
     }
 
+    /**
+     * Endpoint SSE con el progreso de una ejecución
+     * Emite eventos "progress" tras los chunks (agrupados según batch.progress.min-interval-ms)
+     * y un evento "completed" al terminar el job
+     * @param jobExecutionId ID de la ejecución del job
+     * @return ResponseEntity con el SseEmitter de la ejecución
+     */
+    @GetMapping("/progress/{jobExecutionId}")
+    @Operation(
+            summary = "Progreso en tiempo real",
+            description = "Stream Server-Sent Events con leídos, escritos, filtrados, throughput y ETA de la migración"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream de eventos de progreso",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ProgressEvent.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Job execution no encontrado",
+                    content = @Content(schema = @Schema(implementation = BatchResponseDto.ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<?> streamJobProgress(
+            @Parameter(description = "ID de la ejecución del job", example = "12345")
+            @PathVariable Long jobExecutionId) {
+        log.info("=== REQUEST: Suscripción al progreso del job execution ID: {} ===", jobExecutionId);
+
+        Optional<SseEmitter> emitter = batchService.subscribeToProgress(jobExecutionId);
+        if (emitter.isEmpty()) {
+            log.warn("Job execution {} no encontrado", jobExecutionId);
+            return notFoundResponse(jobExecutionId);
+        }
+        return ResponseEntity.ok(emitter.get());
+    }
+
     /**
      * Endpoint para verificar si hay algún job de migración en ejecución
      * @return ResponseEntity indicando si hay jobs en ejecución
@@ -243,16 +955,22 @@ public class BatchController {
         log.info("=== REQUEST: Obteniendo resumen ejecutivo para job ID: {} ===", jobExecutionId);
 
         try {
-            // En un escenario real, obtendrías la JobExecution real
+            Optional<JobExecution> found = batchService.findJobExecution(jobExecutionId);
+            if (found.isEmpty()) {
+                log.warn("Job execution {} no encontrado", jobExecutionId);
+                return notFoundResponse(jobExecutionId);
+            }
+
+            JobExecution jobExecution = found.get();
             BatchResponseDto.ExecutiveSummary summary = BatchResponseDto.ExecutiveSummary.builder()
                     .migrationName("Customer Migration (MySQL → MongoDB)")
                     .executionId(jobExecutionId)
-                    .finalStatus("COMPLETED")
-                    .durationMinutes(5.5)
-                    .finalStatistics(createSampleStatistics())
-                    .processStartTime(LocalDateTime.now().minusMinutes(6))
-                    .processEndTime(LocalDateTime.now().minusMinutes(1))
-                    .recommendations("Migration completed successfully. Consider running data validation checks.")
+                    .finalStatus(jobExecution.getStatus().toString())
+                    .durationMinutes(calculateDuration(jobExecution).toMillis() / 60000.0)
+                    .finalStatistics(createStatistics(jobExecution))
+                    .processStartTime(jobExecution.getStartTime())
+                    .processEndTime(jobExecution.getEndTime())
+                    .recommendations(createRecommendations(jobExecution.getStatus()))
                     .build();
 
             log.info("Resumen ejecutivo generado para job ID: {}", jobExecutionId);
@@ -274,6 +992,133 @@ public class BatchController {
         }
     }
 
+    /**
+     * Respuesta 409 cuando ya hay una migración en proceso
+     * @return ResponseEntity con el error BATCH_001
+     */
+    private ResponseEntity<BatchResponseDto.ErrorResponse> alreadyRunningResponse() {
+        BatchResponseDto.ErrorResponse errorResponse = BatchResponseDto.ErrorResponse.builder()
+                .errorCode("BATCH_001")
+                .message("Migration job is already running")
+                .details("Cannot start a new migration while another one is in progress")
+                .timestamp(LocalDateTime.now())
+                .suggestions("Wait for the current migration to complete or check its status")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Respuesta 404 cuando la ejecución no existe en el JobRepository
+     * @param jobExecutionId ID de la ejecución buscada
+     * @return ResponseEntity con el error BATCH_005
+     */
+    private ResponseEntity<BatchResponseDto.ErrorResponse> notFoundResponse(Long jobExecutionId) {
+        BatchResponseDto.ErrorResponse errorResponse = BatchResponseDto.ErrorResponse.builder()
+                .errorCode("BATCH_005")
+                .message("Job execution not found")
+                .details("No job execution with ID " + jobExecutionId)
+                .timestamp(LocalDateTime.now())
+                .suggestions("Verify the job execution ID and try again")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Respuesta de error cuando una ejecución no se puede reiniciar
+     * @param status código HTTP de la respuesta
+     * @param errorCode código de error de la API
+     * @param e excepción producida
+     * @param suggestions sugerencias para resolver el error
+     * @return ResponseEntity con el error indicado
+     */
+    private ResponseEntity<BatchResponseDto.ErrorResponse> restartRejectedResponse(HttpStatus status, String errorCode,
+                                                                                    Exception e, String suggestions) {
+        BatchResponseDto.ErrorResponse errorResponse = BatchResponseDto.ErrorResponse.builder()
+                .errorCode(errorCode)
+                .message("Job execution cannot be restarted")
+                .details(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .suggestions(suggestions)
+                .build();
+
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+    /**
+     * Respuesta 400 para parámetros de la petición no válidos
+     * @param e excepción con el motivo
+     * @param suggestions sugerencias para el cliente
+     * @return ResponseEntity con el error BATCH_007
+     */
+    private ResponseEntity<BatchResponseDto.ErrorResponse> invalidRequestResponse(Exception e, String suggestions) {
+        BatchResponseDto.ErrorResponse errorResponse = BatchResponseDto.ErrorResponse.builder()
+                .errorCode("BATCH_007")
+                .message("Invalid migration request")
+                .details(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .suggestions(suggestions)
+                .build();
+
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    /**
+     * Respuesta 200 con los datos del job iniciado
+     * @param jobExecution ejecución del job
+     * @param message mensaje descriptivo
+     * @return ResponseEntity con MigrationStartResponse
+     */
+    private ResponseEntity<BatchResponseDto.MigrationStartResponse> startedResponse(JobExecution jobExecution, String message) {
+        return ResponseEntity.ok(migrationStartResponse(jobExecution, message));
+    }
+
+    /**
+     * Respuesta 202 para los jobs lanzados en segundo plano
+     * @param jobExecution ejecución del job
+     * @param message mensaje descriptivo
+     * @return ResponseEntity con MigrationStartResponse
+     */
+    private ResponseEntity<BatchResponseDto.MigrationStartResponse> acceptedResponse(JobExecution jobExecution, String message) {
+        return ResponseEntity.accepted().body(migrationStartResponse(jobExecution, message));
+    }
+
+    /**
+     * Construye los datos del job iniciado
+     * @param jobExecution ejecución del job
+     * @param message mensaje descriptivo
+     * @return MigrationStartResponse
+     */
+    private BatchResponseDto.MigrationStartResponse migrationStartResponse(JobExecution jobExecution, String message) {
+        return BatchResponseDto.MigrationStartResponse.builder()
+                .jobExecutionId(jobExecution.getId())
+                .jobName(jobExecution.getJobInstance().getJobName())
+                .status(jobExecution.getStatus().toString())
+                .message(message)
+                .jobParameters(extractJobParameters(jobExecution))
+                .build();
+    }
+
+    /**
+     * Respuesta 500 cuando no se pudo iniciar un job
+     * @param message mensaje de error
+     * @param e excepción producida
+     * @param suggestions sugerencias para resolver el error
+     * @return ResponseEntity con el error BATCH_002
+     */
+    private ResponseEntity<BatchResponseDto.ErrorResponse> startFailedResponse(String message, Exception e, String suggestions) {
+        BatchResponseDto.ErrorResponse errorResponse = BatchResponseDto.ErrorResponse.builder()
+                .errorCode("BATCH_002")
+                .message(message)
+                .details(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .suggestions(suggestions)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
     /**
      * Extrae los parámetros del job como un Map
      * @param jobExecution ejecución del job
@@ -287,19 +1132,64 @@ public class BatchController {
     }
 
     /**
-     * Crea estadísticas de ejemplo para demostración
-     * En un escenario real, estas vendrían de la JobExecution real
-     * @return ProcessingStatistics con datos de ejemplo
+     * Calcula las estadísticas de procesamiento a partir de los steps de la ejecución
+     * Los steps worker de una partición (nombre "step:partitionN") se omiten porque
+     * el step manager ya agrega sus contadores
+     * @param jobExecution ejecución del job
+     * @return ProcessingStatistics con los contadores reales
      */
-    private BatchResponseDto.ProcessingStatistics createSampleStatistics() {
+    private BatchResponseDto.ProcessingStatistics createStatistics(JobExecution jobExecution) {
+        int read = 0;
+        int written = 0;
+        int skipped = 0;
+        int commits = 0;
+        int rollbacks = 0;
+
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            if (stepExecution.getStepName().contains(":")) {
+                continue;
+            }
+            read += (int) stepExecution.getReadCount();
+            written += (int) stepExecution.getWriteCount();
+            skipped += (int) stepExecution.getSkipCount();
+            commits += (int) stepExecution.getCommitCount();
+            rollbacks += (int) stepExecution.getRollbackCount();
+        }
+
         return BatchResponseDto.ProcessingStatistics.builder()
-                .customersRead(1000)
-                .customersWritten(950)
-                .customersSkipped(50)
-                .errorsEncountered(5)
-                .successRate(95.0)
-                .commitCount(100)
-                .rollbackCount(2)
+                .customersRead(read)
+                .customersWritten(written)
+                .customersSkipped(skipped)
+                .errorsEncountered(rollbacks)
+                .successRate(read > 0 ? (double) written / read * 100 : 0)
+                .commitCount(commits)
+                .rollbackCount(rollbacks)
                 .build();
     }
+
+    /**
+     * Duración de la ejecución; si sigue en curso se mide hasta ahora
+     * @param jobExecution ejecución del job
+     * @return Duration de la ejecución (cero si no ha comenzado)
+     */
+    private Duration calculateDuration(JobExecution jobExecution) {
+        if (jobExecution.getStartTime() == null) {
+            return Duration.ZERO;
+        }
+        LocalDateTime end = jobExecution.getEndTime() != null ? jobExecution.getEndTime() : LocalDateTime.now();
+        return Duration.between(jobExecution.getStartTime(), end);
+    }
+
+    /**
+     * Recomendación post-migración según el estado final
+     * @param status estado de la ejecución
+     * @return texto con la recomendación
+     */
+    private String createRecommendations(BatchStatus status) {
+        return switch (status) {
+            case COMPLETED -> "Migration completed successfully. Consider running data validation checks.";
+            case FAILED, STOPPED -> "Migration did not complete. Review the logs and restart the execution to resume.";
+            default -> "Migration is still in progress. Check the status again later.";
+        };
+    }
 }
\ No newline at end of file
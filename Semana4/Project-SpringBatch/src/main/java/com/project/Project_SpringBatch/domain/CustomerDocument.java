@@ -6,6 +6,7 @@ package com.project.Project_SpringBatch.domain;
 import jakarta.persistence.Id;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -37,6 +38,10 @@ public class CustomerDocument {
     @Field("country")
     private String country;
 
+    @Indexed(name = "ix_country_code")
+    @Field("country_code")
+    private String countryCode; //Código ISO-3166 alfa-2 (null si el país no está en el diccionario)
+
     @Field("registered_at")
     private LocalDateTime registeredAt;
 
@@ -79,6 +84,10 @@ public class CustomerDocument {
         this.country = country;
     }
 
+    public String getCountryCode() { return countryCode; }
+
+    public void setCountryCode(String countryCode) { this.countryCode = countryCode; }
+
     public LocalDateTime getRegisteredAt() {
         return registeredAt;
     }
@@ -0,0 +1,39 @@
+package com.project.Project_SpringBatch.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * Documento MongoDB con la marca de agua (high-watermark) de la migración incremental
+ * Guarda el último id migrado para que la siguiente ejecución lea solo las filas nuevas de MySQL
+ * El id autoincremental es la marca completa: registered_at no sirve como marca porque una fila
+ * insertada con una fecha anterior a la última migrada quedaría fuera de la siguiente ejecución
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "migration_watermarks")
+public class MigrationWatermark {
+
+    /**
+     * Nombre de la migración a la que pertenece la marca (una por flujo de datos)
+     */
+    @Id
+    private String migrationName;
+
+    @Field("last_migrated_id")
+    private Long lastMigratedId;
+
+
+    @Field("last_job_execution_id")
+    private Long lastJobExecutionId;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+}
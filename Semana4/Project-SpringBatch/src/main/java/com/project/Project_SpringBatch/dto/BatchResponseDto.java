@@ -168,6 +168,51 @@ public class BatchResponseDto {
         private LocalDateTime timestamp;
     }
 
+    /**
+     * DTO para los eventos SSE de progreso de la migración
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Evento de progreso de la migración")
+    public static class ProgressEvent {
+
+        @Schema(description = "ID de la ejecución del job", example = "12345")
+        private Long jobExecutionId;
+
+        @Schema(description = "Estado actual del job", example = "STARTED")
+        private String status;
+
+        @Schema(description = "Filas del origen a migrar (null si no se conoce)", example = "1000000")
+        private Long totalRows;
+
+        @Schema(description = "Customers leídos", example = "250000")
+        private Long readCount;
+
+        @Schema(description = "Customers escritos en MongoDB", example = "249000")
+        private Long writeCount;
+
+        @Schema(description = "Customers filtrados por el processor", example = "1000")
+        private Long filterCount;
+
+        @Schema(description = "Registros por segundo desde el evento anterior", example = "5200.0")
+        private Double recordsPerSecond;
+
+        @Schema(description = "Media móvil de registros por segundo", example = "5000.0")
+        private Double averageRecordsPerSecond;
+
+        @Schema(description = "Segundos estimados hasta terminar (null si no se conoce)", example = "150")
+        private Long etaSeconds;
+
+        @Schema(description = "Segundos transcurridos desde el inicio", example = "50")
+        private Long elapsedSeconds;
+
+        @Schema(description = "Fecha y hora del evento", example = "2024-01-15T10:30:00")
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime timestamp;
+    }
+
     /**
      * DTO para el resumen ejecutivo de la migración
      */
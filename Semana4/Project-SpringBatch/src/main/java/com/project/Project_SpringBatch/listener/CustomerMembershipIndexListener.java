@@ -0,0 +1,62 @@
+package com.project.Project_SpringBatch.listener;
+
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener que construye el índice de membresía antes del step y lo libera al terminar
+ * El índice se guarda por JobExecution: en la migración particionada se registra en el step
+ * manager y todas las particiones lo comparten; otros jobs simultáneos tienen el suyo
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerMembershipIndexListener implements StepExecutionListener {
+
+    private final CustomerMembershipIndex customerMembershipIndex;
+
+    @Value("${batch.membership-index.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * Carga el índice desde MongoDB y publica su tamaño en el contexto del step
+     * @param stepExecution ejecución del step que va a comenzar
+     */
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (!enabled) {
+            log.debug("Índice de membresía desactivado por configuración");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long jobExecutionId = stepExecution.getJobExecutionId();
+        boolean active = customerMembershipIndex.load(jobExecutionId);
+
+        stepExecution.getExecutionContext().putString("membership.active", String.valueOf(active));
+        stepExecution.getExecutionContext().putLong("membership.ids", customerMembershipIndex.getIdCount(jobExecutionId));
+        stepExecution.getExecutionContext().putLong("membership.bytes", customerMembershipIndex.getEstimatedBytes(jobExecutionId));
+
+        log.info("Índice de membresía preparado en {} ms para el step {}",
+                System.currentTimeMillis() - start, stepExecution.getStepName());
+    }
+
+    /**
+     * Libera la memoria del índice al terminar el step
+     * @param stepExecution ejecución del step finalizado
+     * @return null para no modificar el ExitStatus
+     */
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (enabled) {
+            customerMembershipIndex.release(stepExecution.getJobExecutionId());
+        }
+        return null;
+    }
+}
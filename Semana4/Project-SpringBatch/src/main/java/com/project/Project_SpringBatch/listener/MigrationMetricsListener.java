@@ -0,0 +1,120 @@
+package com.project.Project_SpringBatch.listener;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.metrics.MigrationMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener que mide cada etapa del chunk y la publica en MigrationMetrics
+ *
+ * Los tiempos de lectura y procesamiento se acumulan item a item durante el chunk y se
+ * registran una vez al terminarlo. El estado se guarda por hilo, por lo que el mismo
+ * listener sirve para los steps particionados sin mezclar las mediciones.
+ */
+@Component
+@RequiredArgsConstructor
+public class MigrationMetricsListener implements ChunkListener, ItemReadListener<Customer>,
+        ItemProcessListener<Customer, CustomerDocument>, ItemWriteListener<CustomerDocument> {
+
+    private final MigrationMetrics migrationMetrics;
+
+    private final ThreadLocal<StageTimes> stageTimes = ThreadLocal.withInitial(StageTimes::new);
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        stageTimes.get().reset();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        StageTimes times = stageTimes.get();
+        migrationMetrics.recordRead(times.readItems, times.readNanos);
+        migrationMetrics.recordProcess(times.processNanos);
+        times.reset();
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        stageTimes.get().reset();
+    }
+
+    @Override
+    public void beforeRead() {
+        stageTimes.get().readStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterRead(Customer item) {
+        StageTimes times = stageTimes.get();
+        times.readNanos += System.nanoTime() - times.readStart;
+        times.readItems++;
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        StageTimes times = stageTimes.get();
+        times.readNanos += System.nanoTime() - times.readStart;
+    }
+
+    @Override
+    public void beforeProcess(Customer item) {
+        stageTimes.get().processStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterProcess(Customer item, CustomerDocument result) {
+        StageTimes times = stageTimes.get();
+        times.processNanos += System.nanoTime() - times.processStart;
+        if (result == null) {
+            migrationMetrics.incrementFiltered();
+        }
+    }
+
+    @Override
+    public void onProcessError(Customer item, Exception e) {
+        StageTimes times = stageTimes.get();
+        times.processNanos += System.nanoTime() - times.processStart;
+    }
+
+    @Override
+    public void beforeWrite(Chunk<? extends CustomerDocument> items) {
+        migrationMetrics.updateChunkSize(items.size());
+        stageTimes.get().writeStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends CustomerDocument> items) {
+        migrationMetrics.recordWrite(items.size(), System.nanoTime() - stageTimes.get().writeStart);
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<? extends CustomerDocument> items) {
+        migrationMetrics.recordWrite(0, System.nanoTime() - stageTimes.get().writeStart);
+    }
+
+    /**
+     * Tiempos acumulados del chunk en curso en el hilo actual
+     */
+    private static class StageTimes {
+        private long readStart;
+        private long readNanos;
+        private int readItems;
+        private long processStart;
+        private long processNanos;
+        private long writeStart;
+
+        private void reset() {
+            readNanos = 0;
+            readItems = 0;
+            processNanos = 0;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.project.Project_SpringBatch.listener;
+
+import com.project.Project_SpringBatch.dto.BatchResponseDto;
+import com.project.Project_SpringBatch.progress.MigrationProgressPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Listener que calcula el progreso de la migración y lo publica por SSE
+ *
+ * Tras cada chunk suma al total del job lo leído/escrito/filtrado desde el chunk anterior
+ * del mismo step, por lo que los steps worker de una partición se agregan sin contar dos veces.
+ * Los eventos se agrupan: como mucho uno cada batch.progress.min-interval-ms por ejecución.
+ * El ETA se calcula con una media móvil exponencial del throughput sobre las filas del origen.
+ */
+@Component
+@Slf4j
+public class MigrationProgressListener implements JobExecutionListener, StepExecutionListener, ChunkListener {
+
+    private final MigrationProgressPublisher migrationProgressPublisher;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${batch.progress.min-interval-ms:500}")
+    private long minIntervalMillis = 500;
+
+    /**
+     * Peso del último intervalo en la media móvil del throughput (0-1)
+     */
+    @Value("${batch.progress.ema-alpha:0.3}")
+    private double emaAlpha = 0.3;
+
+    private final Map<Long, JobProgress> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, StepCounts> steps = new ConcurrentHashMap<>();
+
+    public MigrationProgressListener(MigrationProgressPublisher migrationProgressPublisher, DataSource dataSource) {
+        this.migrationProgressPublisher = migrationProgressPublisher;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        jobs.put(jobExecution.getId(), new JobProgress(countSourceRows(jobExecution)));
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        JobProgress progress = jobs.remove(jobExecution.getId());
+        if (progress != null) {
+            migrationProgressPublisher.complete(progress.toEvent(jobExecution, System.nanoTime()));
+        }
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        steps.put(stepExecution.getId(), new StepCounts());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        //Último delta del step, siempre se envía
+        update(stepExecution, true);
+        steps.remove(stepExecution.getId());
+        return null;
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        update(context.getStepContext().getStepExecution(), false);
+    }
+
+    /**
+     * Suma al job el avance del step desde la última actualización y publica si toca
+     */
+    private void update(StepExecution stepExecution, boolean force) {
+        JobProgress progress = jobs.get(stepExecution.getJobExecutionId());
+        StepCounts counts = steps.get(stepExecution.getId());
+        if (progress == null || counts == null) {
+            return;
+        }
+
+        BatchResponseDto.ProgressEvent event;
+        synchronized (progress) {
+            progress.read += stepExecution.getReadCount() - counts.read;
+            progress.written += stepExecution.getWriteCount() - counts.written;
+            progress.filtered += stepExecution.getFilterCount() - counts.filtered;
+            counts.read = stepExecution.getReadCount();
+            counts.written = stepExecution.getWriteCount();
+            counts.filtered = stepExecution.getFilterCount();
+
+            long now = System.nanoTime();
+            if (!force && now - progress.lastEmitNanos < minIntervalMillis * 1_000_000L) {
+                return;
+            }
+            if (!migrationProgressPublisher.hasSubscribers(stepExecution.getJobExecutionId())) {
+                return;
+            }
+            event = progress.toEvent(stepExecution.getJobExecution(), now);
+        }
+        migrationProgressPublisher.publish(event);
+    }
+
+    /**
+     * Filas del origen que procesará el job; en la migración incremental solo las posteriores a la marca
+     * @return número de filas, o -1 si no se pudo calcular (el ETA no se informa)
+     */
+    private long countSourceRows(JobExecution jobExecution) {
+        try {
+            Long lastId = jobExecution.getJobParameters().getLong("watermark.lastId");
+            Long count = lastId != null
+                    ? jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE id > ?", Long.class, lastId)
+                    : jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+            return count != null ? count : -1;
+        } catch (Exception e) {
+            log.warn("No se pudo contar las filas del origen para el ETA: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Contadores del step ya sumados al job
+     */
+    private static class StepCounts {
+        private long read;
+        private long written;
+        private long filtered;
+    }
+
+    /**
+     * Progreso agregado de una ejecución
+     */
+    private class JobProgress {
+        private final long totalRows;
+        private final long startNanos = System.nanoTime();
+        private long read;
+        private long written;
+        private long filtered;
+        private long lastEmitNanos = startNanos;
+        private long lastEmitRead;
+        private double averageRate = -1;
+
+        private JobProgress(long totalRows) {
+            this.totalRows = totalRows;
+        }
+
+        private BatchResponseDto.ProgressEvent toEvent(JobExecution jobExecution, long now) {
+            double seconds = Math.max(now - lastEmitNanos, 1) / 1_000_000_000.0;
+            double currentRate = (read - lastEmitRead) / seconds;
+            averageRate = averageRate < 0 ? currentRate : emaAlpha * currentRate + (1 - emaAlpha) * averageRate;
+            lastEmitNanos = now;
+            lastEmitRead = read;
+
+            Long etaSeconds = null;
+            if (totalRows >= 0 && averageRate > 0) {
+                etaSeconds = (long) Math.ceil(Math.max(totalRows - read, 0) / averageRate);
+            }
+
+            return BatchResponseDto.ProgressEvent.builder()
+                    .jobExecutionId(jobExecution.getId())
+                    .status(jobExecution.getStatus().toString())
+                    .totalRows(totalRows >= 0 ? totalRows : null)
+                    .readCount(read)
+                    .writeCount(written)
+                    .filterCount(filtered)
+                    .recordsPerSecond(currentRate)
+                    .averageRecordsPerSecond(averageRate)
+                    .etaSeconds(etaSeconds)
+                    .elapsedSeconds((now - startNanos) / 1_000_000_000L)
+                    .timestamp(LocalDateTime.now())
+                    .build();
+        }
+    }
+}
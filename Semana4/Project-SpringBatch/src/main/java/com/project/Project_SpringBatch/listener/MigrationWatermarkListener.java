@@ -0,0 +1,80 @@
+package com.project.Project_SpringBatch.listener;
+
+import com.project.Project_SpringBatch.Repository.MigrationWatermarkRepository;
+import com.project.Project_SpringBatch.domain.Customer;
+import com.project.Project_SpringBatch.domain.MigrationWatermark;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listener de la migración incremental
+ * Registra el mayor id leído y, solo si el step termina COMPLETED, lo guarda como nueva
+ * marca de agua. Si el step falla la marca no avanza y la siguiente ejecución vuelve a leer
+ * desde la marca anterior. El reader incremental filtra solo por id, que es la marca completa.
+ */
+@Component
+@StepScope
+@RequiredArgsConstructor
+@Slf4j
+public class MigrationWatermarkListener implements ItemReadListener<Customer>, StepExecutionListener {
+
+    public static final String MIGRATION_NAME = "customers-mysql-to-mongodb";
+
+    private final MigrationWatermarkRepository migrationWatermarkRepository;
+
+    private long maxId = 0;
+
+    /**
+     * Inicializa la marca con la de la ejecución anterior
+     * @param stepExecution ejecución del step que va a comenzar
+     */
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        Long lastId = stepExecution.getJobParameters().getLong("watermark.lastId");
+        maxId = lastId != null ? lastId : 0;
+    }
+
+    /**
+     * Actualiza el mayor id con cada customer leído
+     * @param customer customer leído desde MySQL
+     */
+    @Override
+    public void afterRead(Customer customer) {
+        if (customer.getId() != null && customer.getId() > maxId) {
+            maxId = customer.getId();
+        }
+    }
+
+    /**
+     * Guarda la nueva marca de agua si el step terminó correctamente
+     * @param stepExecution ejecución del step finalizado
+     * @return null para no modificar el ExitStatus
+     */
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        stepExecution.getExecutionContext().putLong("watermark.maxId", maxId);
+
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            log.warn("Step {} terminó en {}, la marca de agua no avanza",
+                    stepExecution.getStepName(), stepExecution.getStatus());
+            return null;
+        }
+
+        MigrationWatermark watermark = new MigrationWatermark(MIGRATION_NAME, maxId,
+                stepExecution.getJobExecutionId(), LocalDateTime.now());
+        migrationWatermarkRepository.save(watermark);
+
+        log.info("Marca de agua actualizada: último id {} ({} filas leídas)",
+                maxId, stepExecution.getReadCount());
+        return null;
+    }
+}
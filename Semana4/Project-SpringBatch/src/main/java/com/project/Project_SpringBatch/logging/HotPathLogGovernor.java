@@ -0,0 +1,104 @@
+package com.project.Project_SpringBatch.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Control de los logs del camino caliente (processor y writer)
+ *
+ * En lugar de una línea por registro:
+ * - Los eventos por item se muestrean: solo uno de cada batch.logging.item-sample-every se registra
+ * - Al terminar cada chunk se registra una línea con los totales (procesados y filtrados por motivo)
+ *
+ * Los contadores son por hilo, por lo que los steps particionados no se mezclan.
+ */
+@Component
+@Slf4j
+public class HotPathLogGovernor implements ChunkListener {
+
+    /**
+     * Motivos por los que el processor descarta un customer
+     */
+    public enum FilterReason {
+        NULL_CUSTOMER,
+        INVALID_EMAIL,
+        DUPLICATE_EMAIL
+    }
+
+    /**
+     * Se registra un evento por item de cada N (0 desactiva los eventos por item)
+     */
+    @Value("${batch.logging.item-sample-every:1000}")
+    private long itemSampleEvery = 1000;
+
+    private final ThreadLocal<ChunkLogStats> stats = ThreadLocal.withInitial(ChunkLogStats::new);
+
+    /**
+     * Indica si el evento del item actual debe registrarse
+     * Cada llamada avanza el contador del hilo
+     * @return true para uno de cada batch.logging.item-sample-every eventos
+     */
+    public boolean sampleItem() {
+        if (itemSampleEvery <= 0) {
+            return false;
+        }
+        return stats.get().sampled++ % itemSampleEvery == 0;
+    }
+
+    /**
+     * Cuenta un customer transformado correctamente
+     */
+    public void recordProcessed() {
+        stats.get().processed++;
+    }
+
+    /**
+     * Cuenta un customer descartado por el processor
+     * @param reason motivo del descarte
+     */
+    public void recordFiltered(FilterReason reason) {
+        stats.get().filtered[reason.ordinal()]++;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        stats.get().reset();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        ChunkLogStats chunkStats = stats.get();
+        if (log.isInfoEnabled()) {
+            log.info("Chunk {} procesado - transformados: {}, sin email: {}, email duplicado: {}, nulos: {}",
+                    context.getStepContext().getStepName(), chunkStats.processed,
+                    chunkStats.filtered[FilterReason.INVALID_EMAIL.ordinal()],
+                    chunkStats.filtered[FilterReason.DUPLICATE_EMAIL.ordinal()],
+                    chunkStats.filtered[FilterReason.NULL_CUSTOMER.ordinal()]);
+        }
+        chunkStats.reset();
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        stats.get().reset();
+    }
+
+    /**
+     * Contadores del chunk en curso en el hilo actual
+     */
+    private static class ChunkLogStats {
+        private long processed;
+        private final long[] filtered = new long[FilterReason.values().length];
+        private long sampled;
+
+        private void reset() {
+            processed = 0;
+            Arrays.fill(filtered, 0);
+        }
+    }
+}
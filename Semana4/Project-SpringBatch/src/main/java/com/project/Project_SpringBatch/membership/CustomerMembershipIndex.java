@@ -0,0 +1,287 @@
+package com.project.Project_SpringBatch.membership;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria de los customers ya migrados a MongoDB
+ *
+ * Se construye antes del step a partir de la colección destino:
+ * - Bitmap comprimido (Roaring) con los original_mysql_id: respuesta exacta sin ir a MongoDB
+ * - Filtro de Bloom con los emails normalizados: un negativo es definitivo,
+ *   solo un positivo requiere confirmar con MongoDB
+ *
+ * Cada ejecución de job tiene su propio índice, identificado por el id de la JobExecution:
+ * el processor y el writer usan el de la ejecución del step del hilo actual (StepSynchronizationManager),
+ * de modo que las particiones de un job comparten índice y dos jobs simultáneos no se liberan
+ * el índice el uno al otro. Fuera de un step el índice se considera inactivo.
+ *
+ * Si la memoria estimada supera batch.membership-index.max-bytes el índice se desactiva
+ * y el processor/writer vuelven a consultar MongoDB directamente.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerMembershipIndex {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${batch.membership-index.max-bytes:268435456}")
+    private long maxBytes = 256L * 1024 * 1024;
+
+    @Value("${batch.membership-index.email-fpp:0.01}")
+    private double emailFalsePositiveRate = 0.01;
+
+    /**
+     * Margen de emails nuevos previstos sobre los existentes al dimensionar el filtro de Bloom
+     */
+    @Value("${batch.membership-index.growth-factor:1.5}")
+    private double growthFactor = 1.5;
+
+    /**
+     * Índices cargados por id de JobExecution
+     */
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Carga el índice de una ejecución de job desde la colección de MongoDB
+     * Reemplaza cualquier contenido previo de esa ejecución
+     * @param jobExecutionId ejecución que usará el índice
+     * @return true si el índice quedó activo
+     */
+    public boolean load(long jobExecutionId) {
+        release(jobExecutionId);
+
+        long documentCount = mongoTemplate.estimatedCount(CustomerDocument.class);
+        long expectedEmails = Math.max(1_000L, (long) (documentCount * growthFactor));
+        long emailFilterBytes = estimateBloomFilterBytes(expectedEmails, emailFalsePositiveRate);
+
+        if (emailFilterBytes > maxBytes) {
+            log.warn("Índice de membresía desactivado: el filtro de Bloom necesitaría {} bytes (límite {})",
+                    emailFilterBytes, maxBytes);
+            return false;
+        }
+
+        Roaring64NavigableMap ids = new Roaring64NavigableMap();
+        BloomFilter<CharSequence> emails = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8), expectedEmails, emailFalsePositiveRate);
+
+        Query query = new Query();
+        query.fields().include("original_mysql_id").include("email").exclude("_id");
+
+        long loaded = 0;
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(CustomerDocument.class))) {
+
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                Number originalId = document.get("original_mysql_id", Number.class);
+                if (originalId != null) {
+                    ids.addLong(originalId.longValue());
+                }
+                String email = document.getString("email");
+                if (email != null) {
+                    emails.put(normalizeEmail(email));
+                }
+
+                //Revisar el tamaño del bitmap periódicamente para respetar el límite
+                if (++loaded % 100_000 == 0 && ids.getLongSizeInBytes() + emailFilterBytes > maxBytes) {
+                    log.warn("Índice de membresía desactivado tras {} documentos: supera el límite de {} bytes",
+                            loaded, maxBytes);
+                    return false;
+                }
+            }
+        }
+
+        ids.runOptimize();
+        if (ids.getLongSizeInBytes() + emailFilterBytes > maxBytes) {
+            log.warn("Índice de membresía desactivado: ocupa {} bytes (límite {})",
+                    ids.getLongSizeInBytes() + emailFilterBytes, maxBytes);
+            return false;
+        }
+
+        Snapshot snapshot = new Snapshot(ids, emails, emailFilterBytes);
+        snapshots.put(jobExecutionId, snapshot);
+
+        log.info("Índice de membresía cargado para la ejecución {}: {} ids, {} documentos leídos, {} bytes estimados",
+                jobExecutionId, ids.getLongCardinality(), loaded, snapshot.estimatedBytes());
+        return true;
+    }
+
+    /**
+     * Indica si el step actual tiene un índice cargado que puede usarse en lugar de MongoDB
+     * @return true si el índice está activo
+     */
+    public boolean isActive() {
+        return current() != null;
+    }
+
+    /**
+     * Verifica si un original_mysql_id ya fue migrado (respuesta exacta)
+     * Solo debe usarse cuando isActive() es true
+     * @param originalMysqlId ID original de MySQL
+     * @return true si el ID ya existe en MongoDB
+     */
+    public boolean containsId(long originalMysqlId) {
+        Snapshot snapshot = current();
+        return snapshot != null && snapshot.containsId(originalMysqlId);
+    }
+
+    /**
+     * Verifica si un email podría existir en MongoDB
+     * Un resultado false es definitivo; true requiere confirmar con MongoDB
+     * Solo debe usarse cuando isActive() es true
+     * @param email email (se normaliza igual que en el processor)
+     * @return false si el email seguro no existe
+     */
+    public boolean mightContainEmail(String email) {
+        Snapshot snapshot = current();
+        return snapshot == null || snapshot.emails.mightContain(normalizeEmail(email));
+    }
+
+    /**
+     * Registra un customer recién insertado para que el índice siga siendo exacto
+     * durante el resto de la ejecución
+     * @param customer documento insertado en MongoDB
+     */
+    public void register(CustomerDocument customer) {
+        Snapshot snapshot = current();
+        if (snapshot == null) {
+            return;
+        }
+        snapshot.register(customer.getOriginalMysqlId(),
+                customer.getEmail() != null ? normalizeEmail(customer.getEmail()) : null);
+    }
+
+    /**
+     * Memoria estimada del índice (bitmap + filtro de Bloom)
+     * @param jobExecutionId ejecución del índice
+     * @return bytes estimados, 0 si el índice no está activo
+     */
+    public long getEstimatedBytes(long jobExecutionId) {
+        Snapshot snapshot = snapshots.get(jobExecutionId);
+        return snapshot != null ? snapshot.estimatedBytes() : 0;
+    }
+
+    /**
+     * Número de IDs contenidos en el bitmap
+     * @param jobExecutionId ejecución del índice
+     * @return cardinalidad del bitmap, 0 si el índice no está activo
+     */
+    public long getIdCount(long jobExecutionId) {
+        Snapshot snapshot = snapshots.get(jobExecutionId);
+        return snapshot != null ? snapshot.idCount() : 0;
+    }
+
+    /**
+     * Libera la memoria del índice de una ejecución y lo desactiva
+     * @param jobExecutionId ejecución del índice
+     */
+    public void release(long jobExecutionId) {
+        snapshots.remove(jobExecutionId);
+    }
+
+    /**
+     * Índice de la ejecución de job del step que corre en este hilo
+     */
+    private Snapshot current() {
+        if (snapshots.isEmpty()) {
+            return null;
+        }
+        StepContext context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return null;
+        }
+        return snapshots.get(context.getStepExecution().getJobExecutionId());
+    }
+
+    /**
+     * Misma normalización que aplica CustomerItemProcessor al email
+     */
+    private String normalizeEmail(String email) {
+        return email.toLowerCase().trim();
+    }
+
+    /**
+     * Tamaño óptimo de un filtro de Bloom: m = -n * ln(p) / (ln 2)^2 bits
+     */
+    private long estimateBloomFilterBytes(long expectedInsertions, double falsePositiveRate) {
+        double bits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        return (long) Math.ceil(bits / 8);
+    }
+
+    /**
+     * Bitmap y filtro de Bloom de una ejecución; el lock protege el bitmap, que no es thread-safe
+     */
+    private static class Snapshot {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Roaring64NavigableMap ids;
+        private final BloomFilter<CharSequence> emails;
+        private final long emailFilterBytes;
+
+        private Snapshot(Roaring64NavigableMap ids, BloomFilter<CharSequence> emails, long emailFilterBytes) {
+            this.ids = ids;
+            this.emails = emails;
+            this.emailFilterBytes = emailFilterBytes;
+        }
+
+        private boolean containsId(long id) {
+            lock.readLock().lock();
+            try {
+                return ids.contains(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void register(Long id, String normalizedEmail) {
+            lock.writeLock().lock();
+            try {
+                if (id != null) {
+                    ids.addLong(id);
+                }
+                if (normalizedEmail != null) {
+                    emails.put(normalizedEmail);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private long idCount() {
+            lock.readLock().lock();
+            try {
+                return ids.getLongCardinality();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private long estimatedBytes() {
+            lock.readLock().lock();
+            try {
+                return ids.getLongSizeInBytes() + emailFilterBytes;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.project.Project_SpringBatch.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas Micrometer de la migración, expuestas en /actuator/prometheus
+ *
+ * - batch.migration.stage.duration{stage=read|process|write}: tiempo por chunk de cada etapa (histograma)
+ * - batch.migration.records{outcome=read|sent|written|filtered|duplicate|dead_letter}: contadores, rate() da registros/s
+ *   (sent: documentos entregados al writer; written: documentos que el writer insertó realmente)
+ * - batch.migration.chunk.size: tamaño del último chunk escrito
+ *
+ * Comparar los histogramas de las tres etapas indica si el cuello de botella es MySQL,
+ * el processor o MongoDB.
+ */
+@Component
+public class MigrationMetrics {
+
+    public static final String STAGE_READ = "read";
+    public static final String STAGE_PROCESS = "process";
+    public static final String STAGE_WRITE = "write";
+
+    private final Timer readTimer;
+    private final Timer processTimer;
+    private final Timer writeTimer;
+
+    private final Counter readCounter;
+    private final Counter sentCounter;
+    private final Counter writtenCounter;
+    private final Counter filteredCounter;
+    private final Counter duplicateCounter;
+    private final Counter deadLetterCounter;
+
+    private final AtomicInteger chunkSize = new AtomicInteger();
+
+    public MigrationMetrics(MeterRegistry meterRegistry) {
+        this.readTimer = stageTimer(meterRegistry, STAGE_READ);
+        this.processTimer = stageTimer(meterRegistry, STAGE_PROCESS);
+        this.writeTimer = stageTimer(meterRegistry, STAGE_WRITE);
+
+        this.readCounter = recordCounter(meterRegistry, "read");
+        this.sentCounter = recordCounter(meterRegistry, "sent");
+        this.writtenCounter = recordCounter(meterRegistry, "written");
+        this.filteredCounter = recordCounter(meterRegistry, "filtered");
+        this.duplicateCounter = recordCounter(meterRegistry, "duplicate");
+        this.deadLetterCounter = recordCounter(meterRegistry, "dead_letter");
+
+        Gauge.builder("batch.migration.chunk.size", chunkSize, AtomicInteger::get)
+                .description("Items del último chunk escrito")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra el tiempo acumulado de lectura de un chunk
+     * @param items customers leídos en el chunk
+     * @param elapsedNanos tiempo total de lectura en nanosegundos
+     */
+    public void recordRead(int items, long elapsedNanos) {
+        readTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        readCounter.increment(items);
+    }
+
+    /**
+     * Registra el tiempo acumulado de procesamiento de un chunk
+     * @param elapsedNanos tiempo total de procesamiento en nanosegundos
+     */
+    public void recordProcess(long elapsedNanos) {
+        processTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra la escritura de un chunk
+     * @param items documentos enviados al writer (incluye duplicados y rechazados)
+     * @param elapsedNanos duración de la escritura en nanosegundos
+     */
+    public void recordWrite(int items, long elapsedNanos) {
+        writeTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        sentCounter.increment(items);
+    }
+
+    /**
+     * Cuenta los documentos que el writer insertó realmente en MongoDB
+     * @param inserted documentos insertados
+     */
+    public void incrementWritten(int inserted) {
+        if (inserted > 0) {
+            writtenCounter.increment(inserted);
+        }
+    }
+
+    /**
+     * Cuenta un customer descartado por el processor
+     */
+    public void incrementFiltered() {
+        filteredCounter.increment();
+    }
+
+    /**
+     * Cuenta los customers omitidos por ya existir en MongoDB
+     * @param duplicates cantidad de duplicados
+     */
+    public void incrementDuplicates(int duplicates) {
+        if (duplicates > 0) {
+            duplicateCounter.increment(duplicates);
+        }
+    }
+
+    /**
+     * Cuenta los customers rechazados por el writer y enviados a la colección dead-letter
+     * @param rejected cantidad de rechazados
+     */
+    public void incrementDeadLetters(int rejected) {
+        if (rejected > 0) {
+            deadLetterCounter.increment(rejected);
+        }
+    }
+
+    /**
+     * Actualiza el gauge con el tamaño del chunk actual
+     * @param size items del chunk
+     */
+    public void updateChunkSize(int size) {
+        chunkSize.set(size);
+    }
+
+    private Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("batch.migration.stage.duration")
+                .description("Tiempo por chunk de cada etapa de la migración")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("batch.migration.records")
+                .description("Customers procesados por resultado")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
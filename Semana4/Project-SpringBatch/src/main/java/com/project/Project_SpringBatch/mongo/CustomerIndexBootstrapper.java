@@ -0,0 +1,52 @@
+package com.project.Project_SpringBatch.mongo;
+
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Garantiza al arrancar los índices de la colección de customers (ver CustomerIndexes)
+ *
+ * Los writers ya no crean índices en el primer chunk: las consultas de CustomerDocumentRepository
+ * y los upserts de los modos bulk dependen de que existan antes de lanzar cualquier job.
+ * Si no se pueden crear (por ejemplo, emails duplicados ya migrados) se registra el error y la
+ * aplicación sigue arrancando: la carga en staging (/migrate/customers/staging) deduplica y
+ * reconstruye los índices, por lo que no debe quedar bloqueada por la colección actual.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerIndexBootstrapper {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${batch.mongo.index-bootstrap.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * Crea los índices que falten en la colección de customers
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!enabled) {
+            log.info("Verificación de índices de MongoDB desactivada por configuración");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            CustomerIndexes.ensure(mongoTemplate.indexOps(CustomerDocument.class));
+        } catch (Exception e) {
+            log.error("No se pudieron crear los índices de customers; los modos bulk no son idempotentes "
+                    + "hasta corregir la colección o ejecutar la carga en staging: {}", e.getMessage(), e);
+            return;
+        }
+        log.info("Índices de {} verificados en {} ms", mongoTemplate.getCollectionName(CustomerDocument.class),
+                System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.Project_SpringBatch.mongo;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.List;
+
+/**
+ * Índices de la colección de customers
+ *
+ * - ux_original_mysql_id: findByOriginalMysqlId / existsByOriginalMysqlId y clave de los upserts
+ *   de los writers bulk-upsert y reactive
+ * - ux_email: existsByEmail; rechaza los emails duplicados en los modos bulk
+ * - ix_country_code: findByCountryCode
+ */
+public final class CustomerIndexes {
+
+    public static final String ORIGINAL_MYSQL_ID_INDEX = "ux_original_mysql_id";
+    public static final String EMAIL_INDEX = "ux_email";
+    public static final String COUNTRY_CODE_INDEX = "ix_country_code";
+
+    private CustomerIndexes() {
+    }
+
+    /**
+     * @return definiciones de los índices (instancias nuevas en cada llamada)
+     */
+    public static List<Index> definitions() {
+        return List.of(
+                new Index().on("original_mysql_id", Sort.Direction.ASC).unique().named(ORIGINAL_MYSQL_ID_INDEX),
+                new Index().on("email", Sort.Direction.ASC).unique().named(EMAIL_INDEX),
+                new Index().on("country_code", Sort.Direction.ASC).named(COUNTRY_CODE_INDEX));
+    }
+
+    /**
+     * Crea los índices que falten; los existentes con la misma definición no se modifican
+     * @param indexOperations operaciones de índice de la colección
+     */
+    public static void ensure(IndexOperations indexOperations) {
+        for (Index index : definitions()) {
+            indexOperations.ensureIndex(index);
+        }
+    }
+}
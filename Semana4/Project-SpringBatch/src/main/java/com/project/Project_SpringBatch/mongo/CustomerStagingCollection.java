@@ -0,0 +1,142 @@
+package com.project.Project_SpringBatch.mongo;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Colección de staging de la carga completa
+ *
+ * La carga escribe en una colección nueva que solo tiene el índice de _id; al terminar:
+ * - Se eliminan los duplicados de original_mysql_id y email (se conserva el primero insertado).
+ *   Pueden venir del origen o de un chunk reintentado, ya que en staging no hay índices únicos
+ * - Se construyen una sola vez los índices de CustomerIndexes
+ * - Se renombra sobre la colección de customers con dropTarget, lo que sustituye la colección
+ *   viva de forma atómica (no disponible en colecciones sharded)
+ *
+ * swap es idempotente: si el rename ya se hizo (p. ej. el step falló después y se reinicia),
+ * la colección de staging ya no existe y no queda nada por sustituir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStagingCollection {
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${batch.staging.collection:customers_staging}")
+    private String stagingCollection = "customers_staging";
+
+    /**
+     * @return nombre de la colección de staging
+     */
+    public String getName() {
+        return stagingCollection;
+    }
+
+    /**
+     * Crea la colección de staging vacía, descartando la de una carga anterior
+     */
+    public void prepare() {
+        mongoTemplate.dropCollection(stagingCollection);
+        mongoTemplate.createCollection(stagingCollection);
+        log.info("Colección de staging {} creada", stagingCollection);
+    }
+
+    /**
+     * Deduplica, indexa y sustituye la colección viva por la de staging
+     * @return documentos eliminados por duplicados (0 si la sustitución ya se había hecho)
+     * @throws IllegalStateException si la colección de staging está vacía, o si no existe
+     *         ni ella ni la colección viva
+     */
+    public long swap() {
+        String liveCollection = mongoTemplate.getCollectionName(CustomerDocument.class);
+        if (!mongoTemplate.collectionExists(stagingCollection)) {
+            if (!mongoTemplate.collectionExists(liveCollection)) {
+                throw new IllegalStateException("Neither staging collection " + stagingCollection
+                        + " nor " + liveCollection + " exists");
+            }
+            log.info("La colección de staging {} no existe; {} ya fue sustituida", stagingCollection, liveCollection);
+            return 0;
+        }
+
+        long loaded = mongoTemplate.count(new Query(), stagingCollection);
+        if (loaded == 0) {
+            throw new IllegalStateException("Staging collection " + stagingCollection
+                    + " is empty; refusing to replace " + liveCollection);
+        }
+
+        long start = System.currentTimeMillis();
+        long removed = removeDuplicates("original_mysql_id") + removeDuplicates("email");
+        log.info("Staging {}: {} documentos cargados, {} duplicados eliminados en {} ms",
+                stagingCollection, loaded, removed, System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        CustomerIndexes.ensure(mongoTemplate.indexOps(stagingCollection));
+        log.info("Índices de {} construidos en {} ms", stagingCollection, System.currentTimeMillis() - start);
+
+        mongoTemplate.getCollection(stagingCollection).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), liveCollection),
+                new RenameCollectionOptions().dropTarget(true));
+        log.info("Colección {} sustituida por {} ({} documentos)", liveCollection, stagingCollection, loaded - removed);
+        return removed;
+    }
+
+    /**
+     * Elimina los documentos que repiten un valor no nulo del campo, salvo el de menor _id
+     * @param field campo que debe ser único
+     * @return documentos eliminados
+     */
+    private long removeDuplicates(String field) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where(field).ne(null)),
+                        Aggregation.sort(Sort.Direction.ASC, "_id"),
+                        Aggregation.group(field).push("_id").as("ids").count().as("count"),
+                        Aggregation.match(Criteria.where("count").gt(1)))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        long removed = 0;
+        List<Object> pending = new ArrayList<>(DELETE_BATCH_SIZE);
+        try (Stream<Document> groups = mongoTemplate.aggregateStream(aggregation, stagingCollection, Document.class)) {
+            Iterator<Document> iterator = groups.iterator();
+            while (iterator.hasNext()) {
+                List<Object> ids = iterator.next().getList("ids", Object.class);
+                pending.addAll(ids.subList(1, ids.size()));
+                if (pending.size() >= DELETE_BATCH_SIZE) {
+                    removed += delete(pending);
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            removed += delete(pending);
+        }
+        if (removed > 0) {
+            log.warn("Eliminados {} documentos con {} duplicado en {}", removed, field, stagingCollection);
+        }
+        return removed;
+    }
+
+    private long delete(List<Object> ids) {
+        long deleted = mongoTemplate.remove(Query.query(Criteria.where("_id").in(List.copyOf(ids))), stagingCollection).getDeletedCount();
+        ids.clear();
+        return deleted;
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.Project_SpringBatch.partition;
+
+import com.project.Project_SpringBatch.reader.MappedCsvFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partitioner que divide un archivo CSV en rangos de bytes alineados a inicio de registro
+ * Genera un ExecutionContext por rango con las claves 'startOffset', 'endOffset' y 'columns'
+ * (cabecera del archivo), que luego lee MappedCsvCustomerItemReader
+ *
+ * Los límites se buscan en una sola pasada secuencial sobre el archivo mapeado, llevando
+ * el estado de las comillas desde el principio: así un salto de línea dentro de un campo
+ * entrecomillado nunca se toma como corte de partición.
+ */
+@Slf4j
+public class CsvByteRangePartitioner implements Partitioner {
+
+    public static final String START_OFFSET_KEY = "startOffset";
+    public static final String END_OFFSET_KEY = "endOffset";
+    public static final String COLUMNS_KEY = "columns";
+
+    private final Path file;
+
+    public CsvByteRangePartitioner(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Divide el cuerpo del archivo (sin la cabecera) en gridSize rangos de tamaño similar
+     * @param gridSize número de particiones solicitadas
+     * @return Map con el nombre de cada partición y su ExecutionContext
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        try (MappedCsvFile csv = MappedCsvFile.open(file)) {
+            List<String> header = new ArrayList<>();
+            long dataStart = csv.readRecord(0, csv.size(), header);
+            String columns = String.join(",", header);
+
+            Map<String, ExecutionContext> partitions = new HashMap<>();
+            long dataLength = csv.size() - dataStart;
+
+            //Archivo sin registros: una única partición vacía para que el step termine limpio
+            if (dataLength <= 0) {
+                log.warn("El archivo {} no tiene registros, se genera una partición sin datos", file);
+                partitions.put("partition0", createContext(dataStart, dataStart, columns));
+                return partitions;
+            }
+
+            int partitionCount = Math.max(1, gridSize);
+            long rangeSize = (dataLength + partitionCount - 1) / partitionCount;
+
+            long start = dataStart;
+            int number = 0;
+            while (start < csv.size()) {
+                long end = number == partitionCount - 1
+                        ? csv.size()
+                        : csv.nextRecordBoundary(start, Math.min(start + rangeSize, csv.size()) - 1);
+                partitions.put("partition" + number, createContext(start, end, columns));
+                log.debug("Partición {}: bytes {} a {}", number, start, end);
+                start = end;
+                number++;
+            }
+
+            log.info("Archivo {} ({} bytes) dividido en {} particiones de ~{} bytes",
+                    file, csv.size(), partitions.size(), rangeSize);
+            return partitions;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to partition CSV file " + file, e);
+        }
+    }
+
+    private ExecutionContext createContext(long startOffset, long endOffset, String columns) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(START_OFFSET_KEY, startOffset);
+        context.putLong(END_OFFSET_KEY, endOffset);
+        context.putString(COLUMNS_KEY, columns);
+        return context;
+    }
+}
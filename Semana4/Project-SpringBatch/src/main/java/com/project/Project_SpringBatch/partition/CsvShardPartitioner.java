@@ -0,0 +1,104 @@
+package com.project.Project_SpringBatch.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Partitioner que genera una partición por archivo de un export dividido en shards
+ * (por ejemplo customers_001.csv.gz, customers_002.csv.gz...)
+ *
+ * El origen puede ser un directorio (se toman sus .csv y .csv.gz) o un glob sobre el
+ * nombre de archivo, como /data/exports/customers_*.csv.gz. Cada ExecutionContext
+ * lleva las claves 'fileName' y 'fileSize' que lee CsvShardItemReader.
+ */
+@Slf4j
+public class CsvShardPartitioner implements Partitioner {
+
+    public static final String FILE_NAME_KEY = "fileName";
+    public static final String FILE_SIZE_KEY = "fileSize";
+
+    private static final String DEFAULT_DIRECTORY_GLOB = "*.{csv,csv.gz}";
+
+    private final String source;
+
+    public CsvShardPartitioner(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Crea una partición por archivo; gridSize no se usa porque el número de
+     * particiones lo determina el número de shards
+     * @param gridSize ignorado
+     * @return Map con el nombre de cada partición y su ExecutionContext
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        List<Path> files = resolve(source);
+        if (files.isEmpty()) {
+            throw new IllegalStateException("No CSV files match " + source);
+        }
+
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            ExecutionContext context = new ExecutionContext();
+            context.putString(FILE_NAME_KEY, file.toString());
+            context.putLong(FILE_SIZE_KEY, size(file));
+            partitions.put("partition" + i, context);
+        }
+
+        log.info("Origen {} dividido en {} particiones (una por archivo)", source, partitions.size());
+        return partitions;
+    }
+
+    /**
+     * Resuelve el origen a la lista ordenada de archivos que lo forman
+     * @param source directorio o glob sobre el nombre de archivo
+     * @return archivos regulares ordenados por nombre (vacía si no hay coincidencias)
+     */
+    public static List<Path> resolve(String source) {
+        Path path = Path.of(source).toAbsolutePath().normalize();
+        Path directory;
+        String glob;
+        if (Files.isDirectory(path)) {
+            directory = path;
+            glob = DEFAULT_DIRECTORY_GLOB;
+        } else {
+            directory = path.getParent();
+            glob = path.getFileName().toString();
+        }
+        if (directory == null || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> matcher.matches(file.getFileName()))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list CSV files in " + directory, e);
+        }
+    }
+
+    private long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read size of " + file, e);
+        }
+    }
+}
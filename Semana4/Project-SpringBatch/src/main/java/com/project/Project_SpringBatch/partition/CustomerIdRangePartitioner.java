@@ -0,0 +1,95 @@
+package com.project.Project_SpringBatch.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Partitioner que divide la tabla 'customers' en rangos de ID
+ * Consulta MIN(id) y MAX(id) y genera un ExecutionContext por rango con las claves
+ * 'minId' y 'maxId', que luego leen los readers con scope de step
+ */
+@Component
+@Slf4j
+public class CustomerIdRangePartitioner implements Partitioner {
+
+    public static final String MIN_ID_KEY = "minId";
+    public static final String MAX_ID_KEY = "maxId";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerIdRangePartitioner(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Divide el rango [MIN(id), MAX(id)] en gridSize particiones contiguas
+     * @param gridSize número de particiones solicitadas
+     * @return Map con el nombre de cada partición y su ExecutionContext
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, Long> bounds = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM customers",
+                (rs, rowNum) -> {
+                    Map<String, Long> result = new HashMap<>();
+                    result.put(MIN_ID_KEY, rs.getObject("min_id") != null ? rs.getLong("min_id") : null);
+                    result.put(MAX_ID_KEY, rs.getObject("max_id") != null ? rs.getLong("max_id") : null);
+                    return result;
+                });
+
+        Long minId = bounds != null ? bounds.get(MIN_ID_KEY) : null;
+        Long maxId = bounds != null ? bounds.get(MAX_ID_KEY) : null;
+
+        return partition(minId, maxId, gridSize);
+    }
+
+    /**
+     * Genera las particiones para un rango de IDs conocido
+     * @param minId ID mínimo (null si la tabla está vacía)
+     * @param maxId ID máximo (null si la tabla está vacía)
+     * @param gridSize número de particiones solicitadas
+     * @return Map con el nombre de cada partición y su ExecutionContext
+     */
+    public Map<String, ExecutionContext> partition(Long minId, Long maxId, int gridSize) {
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+
+        //Tabla vacía: una única partición con rango vacío para que el step termine limpio
+        if (minId == null || maxId == null) {
+            log.warn("La tabla customers está vacía, se genera una partición sin datos");
+            partitions.put("partition0", createContext(1L, 0L));
+            return partitions;
+        }
+
+        int partitionCount = Math.max(1, gridSize);
+        long totalIds = maxId - minId + 1;
+        long rangeSize = (totalIds + partitionCount - 1) / partitionCount;
+
+        long start = minId;
+        int number = 0;
+        while (start <= maxId) {
+            long end = Math.min(start + rangeSize - 1, maxId);
+            partitions.put("partition" + number, createContext(start, end));
+            log.debug("Partición {}: id entre {} y {}", number, start, end);
+            start = end + 1;
+            number++;
+        }
+
+        log.info("Tabla customers dividida en {} particiones (id {} - {}, {} ids por partición)",
+                partitions.size(), minId, maxId, rangeSize);
+        return partitions;
+    }
+
+    private ExecutionContext createContext(long minId, long maxId) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(MIN_ID_KEY, minId);
+        context.putLong(MAX_ID_KEY, maxId);
+        return context;
+    }
+}
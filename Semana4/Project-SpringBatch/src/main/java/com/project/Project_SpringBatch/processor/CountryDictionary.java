@@ -0,0 +1,124 @@
+package com.project.Project_SpringBatch.processor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de países cargado desde countries.csv
+ *
+ * Cada variante conocida ("usa", "U.S.A", "Estados Unidos") se resuelve a una única instancia
+ * de Country con el nombre canónico internado y su código ISO-3166 alfa-2, de modo que todos
+ * los CustomerDocument de un mismo país comparten el mismo String.
+ * Los valores crudos ya resueltos se memorizan para no normalizar el texto en cada registro.
+ */
+@Component
+@Slf4j
+public class CountryDictionary {
+
+    /**
+     * País canónico
+     * @param isoCode código ISO-3166 alfa-2
+     * @param name nombre canónico (instancia compartida)
+     */
+    public record Country(String isoCode, String name) {
+    }
+
+    /**
+     * Límite de valores crudos memorizados, para que valores basura no hagan crecer el mapa sin control
+     */
+    private static final int MAX_RESOLVED_VALUES = 10_000;
+
+    private static final Country UNKNOWN = new Country(null, null);
+
+    private final Map<String, Country> countriesByKey;
+    private final Map<String, Country> resolved = new ConcurrentHashMap<>();
+
+    public CountryDictionary(@Value("${batch.countries.resource:countries.csv}") String resourcePath) {
+        this.countriesByKey = load(new ClassPathResource(resourcePath));
+    }
+
+    /**
+     * Resuelve un país crudo de MySQL a su forma canónica
+     * @param rawCountry valor de customers.country
+     * @return Country canónico, vacío si el país no está en el diccionario
+     */
+    public Optional<Country> resolve(String rawCountry) {
+        if (rawCountry == null) {
+            return Optional.empty();
+        }
+
+        Country country = resolved.get(rawCountry);
+        if (country == null) {
+            country = countriesByKey.getOrDefault(toKey(rawCountry), UNKNOWN);
+            if (resolved.size() < MAX_RESOLVED_VALUES) {
+                resolved.put(rawCountry, country);
+            }
+        }
+        return country == UNKNOWN ? Optional.empty() : Optional.of(country);
+    }
+
+    /**
+     * Número de variantes cargadas
+     * @return variantes reconocidas por el diccionario
+     */
+    public int size() {
+        return countriesByKey.size();
+    }
+
+    private Map<String, Country> load(Resource resource) {
+        Map<String, Country> countries = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(";");
+                if (columns.length < 2) {
+                    log.warn("Línea inválida en el diccionario de países: {}", line);
+                    continue;
+                }
+
+                Country country = new Country(columns[0].trim().intern(), columns[1].trim().intern());
+                countries.put(toKey(country.name()), country);
+                countries.put(toKey(country.isoCode()), country);
+                if (columns.length > 2) {
+                    for (String variant : columns[2].split("\\|")) {
+                        countries.put(toKey(variant), country);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load country dictionary from " + resource.getDescription(), e);
+        }
+
+        log.info("Diccionario de países cargado: {} variantes", countries.size());
+        return countries;
+    }
+
+    /**
+     * Clave de búsqueda: minúsculas, sin acentos, sin puntos y con espacios simples
+     * "U.S.A" -> "u s a", "España" -> "espana"
+     */
+    static String toKey(String value) {
+        String withoutAccents = Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.toLowerCase(Locale.ROOT)
+                .replace('.', ' ')
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+}
@@ -4,11 +4,16 @@ package com.project.Project_SpringBatch.processor;
 import com.project.Project_SpringBatch.Repository.CustomerDocumentRepository;
 import com.project.Project_SpringBatch.domain.Customer;
 import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.logging.HotPathLogGovernor;
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 /**
  * Procesador que convierte Customer (MySQL) a CustomerDocument (MongoDB)
  * El ItemProcessor es responsable de:
@@ -24,6 +29,17 @@ import org.springframework.stereotype.Component;
 public class CustomerItemProcessor implements ItemProcessor<Customer, CustomerDocument> {
 
     private final CustomerDocumentRepository customerDocumentRepository;
+    private final CustomerMembershipIndex customerMembershipIndex;
+    private final CustomerNameNormalizer customerNameNormalizer;
+    private final CountryDictionary countryDictionary;
+    private final HotPathLogGovernor hotPathLogGovernor;
+
+    /**
+     * Verificación de email duplicado contra MongoDB
+     * Con el writer 'bulk-upsert' se puede desactivar: el índice único de email cumple esa función
+     */
+    @Value("${batch.processor.email-precheck:true}")
+    private boolean emailPrecheckEnabled = true;
 
     /**
      * Procesa cada Customer leído desde MySQL y lo convierte a CustomerDocument
@@ -35,6 +51,19 @@ public class CustomerItemProcessor implements ItemProcessor<Customer, CustomerDo
      */
     @Override
     public CustomerDocument process(Customer customer) throws Exception{
+        return process(customer, emailPrecheckEnabled);
+    }
+
+    /**
+     * Processor para la carga completa en staging: no consulta la colección viva,
+     * ya que va a ser sustituida; los duplicados se resuelven al final de la carga
+     * @return ItemProcessor sin verificación de email duplicado
+     */
+    public ItemProcessor<Customer, CustomerDocument> withoutEmailPrecheck(){
+        return customer -> process(customer, false);
+    }
+
+    private CustomerDocument process(Customer customer, boolean emailPrecheck){
 
         //Log del customer que se está procesando
         log.debug("Procesando customer con ID: {} y email: {}",
@@ -42,19 +71,28 @@ public class CustomerItemProcessor implements ItemProcessor<Customer, CustomerDo
 
         //Validación 1: Verificar que el customer no sea null
         if (customer == null){
-            log.warn("Customer null encontrado, omitiendo....");
+            hotPathLogGovernor.recordFiltered(HotPathLogGovernor.FilterReason.NULL_CUSTOMER);
+            if (hotPathLogGovernor.sampleItem()) {
+                log.warn("Customer null encontrado, omitiendo....");
+            }
             return null; //null significa que este item será omitido
         }
 
         //Validación 2: Verificar que tenga email válido
         if (customer.getEmail() == null || customer.getEmail().trim().isEmpty()){
-            log.warn("Customer con ID {} no tiene email válido, omitiendo....", customer.getId());
+            hotPathLogGovernor.recordFiltered(HotPathLogGovernor.FilterReason.INVALID_EMAIL);
+            if (hotPathLogGovernor.sampleItem()) {
+                log.warn("Customer con ID {} no tiene email válido, omitiendo....", customer.getId());
+            }
             return null;
         }
 
         //Validación 3: Verificar email duplicado por email
-        if (customerDocumentRepository.existsByEmail(customer.getEmail())){
-            log.warn("Customer con email {} ya existe en MongoDB, omitiendo...", customer.getEmail());
+        if (emailPrecheck && isEmailAlreadyMigrated(customer.getEmail())){
+            hotPathLogGovernor.recordFiltered(HotPathLogGovernor.FilterReason.DUPLICATE_EMAIL);
+            if (hotPathLogGovernor.sampleItem()) {
+                log.warn("Customer con email {} ya existe en MongoDB, omitiendo...", customer.getEmail());
+            }
             return null;
         }
 
@@ -70,43 +108,53 @@ public class CustomerItemProcessor implements ItemProcessor<Customer, CustomerDo
         customerDocument.setRegisteredAt(customer.getRegisteredAt());
 
         //Transformación 1: Normalizar email a minúsculas
-        customerDocument.setEmail(customer.getEmail().toLowerCase().trim());
+        customerDocument.setEmail(customerNameNormalizer.normalizeEmail(customer.getEmail()));
 
         //Transformación 2: Capitalizar nombre y apellido
         customerDocument.setName(capitalizeFirstLetter(customer.getName()));
         customerDocument.setLastName(capitalizeFirstLetter(customer.getLastName()));
 
-        //Transformación 3: Normalizar país
-        customerDocument.setCountry(capitalizeFirstLetter(customer.getCountry()));
+        //Transformación 3: Normalizar país al nombre canónico y código ISO del diccionario
+        //Si el país no está en el diccionario se mantiene el valor capitalizado y sin código
+        Optional<CountryDictionary.Country> country = countryDictionary.resolve(customer.getCountry());
+        if (country.isPresent()) {
+            customerDocument.setCountry(country.get().name());
+            customerDocument.setCountryCode(country.get().isoCode());
+        } else {
+            customerDocument.setCountry(capitalizeFirstLetter(customer.getCountry()));
+        }
 
-        log.info("Customer procesado exitosamente - MySQL ID: {}, Email: {}",
-                customer.getId(), customer.getEmail());
+        //Una línea por chunk en lugar de una por customer; el detalle por item se muestrea
+        hotPathLogGovernor.recordProcessed();
+        if (hotPathLogGovernor.sampleItem()) {
+            log.info("Customer procesado exitosamente (muestra) - MySQL ID: {}, Email: {}",
+                    customer.getId(), customer.getEmail());
+        }
 
         return customerDocument;
 
     }
 
+    /**
+     * Verifica si el email ya existe en MongoDB
+     * Consulta primero el índice de membresía: solo un positivo del filtro de Bloom va a MongoDB
+     * @param email Email a verificar
+     * @return true si el email ya fue migrado
+     */
+    private boolean isEmailAlreadyMigrated(String email){
+        if (customerMembershipIndex.isActive() && !customerMembershipIndex.mightContainEmail(email)){
+            return false;
+        }
+        return customerDocumentRepository.existsByEmail(email);
+    }
+
     /**
      * Capitaliza la primera letra de cada palabra
+     * Delegado en CustomerNameNormalizer (recorrido único y memo de valores frecuentes)
      * @param text Texto a capitalizar
      * @return Texto con primera letra de cada palabra en mayúscula
      */
-    private String capitalizeFirstLetter(String text){
-        if (text == null || text.trim().isEmpty()){
-            return text;
-        }
-        String[] words = text.trim().toLowerCase().split("\\s+");
-        StringBuilder result = new StringBuilder();
-
-        for (int i = 0; i < words.length; i++) {
-            if (i > 0){
-                result.append(" ");
-            }
-            if (words[i].length() > 0){
-                result.append(Character.toUpperCase(words[i].charAt(0)))
-                        .append(words[i].substring(1));
-            }
-        }
-        return result.toString();
+    String capitalizeFirstLetter(String text){
+        return customerNameNormalizer.capitalize(text);
     }
 }
@@ -0,0 +1,163 @@
+package com.project.Project_SpringBatch.processor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalización de nombres, apellidos, países y emails del processor
+ *
+ * Produce exactamente el mismo resultado que la implementación original
+ * (trim().toLowerCase().split("\\s+") + capitalizar cada palabra), pero:
+ * - Recorre el texto una sola vez, sin expresiones regulares ni arreglos temporales
+ * - Memoriza los valores cortos más frecuentes (nombres comunes, países)
+ *
+ * El recorrido rápido solo se usa con texto Latin-1 y con un Locale por defecto sin reglas
+ * especiales de minúsculas (tr, az, lt); en otro caso se usa el algoritmo original.
+ */
+@Component
+public class CustomerNameNormalizer {
+
+    /**
+     * Idiomas cuyo String.toLowerCase() no equivale a Character.toLowerCase() carácter a carácter
+     */
+    private static final Set<String> SPECIAL_CASING_LANGUAGES = Set.of("tr", "az", "lt");
+
+    /**
+     * Solo se memorizan valores cortos: son los que más se repiten y acotan la memoria usada
+     */
+    private static final int MAX_MEMO_LENGTH = 32;
+
+    private final Cache<String, String> memo;
+
+    public CustomerNameNormalizer(@Value("${batch.normalizer.memo-size:4096}") long memoSize) {
+        this.memo = Caffeine.newBuilder()
+                .maximumSize(memoSize)
+                .build();
+    }
+
+    /**
+     * Capitaliza la primera letra de cada palabra y deja el resto en minúsculas
+     * Las palabras quedan separadas por un único espacio
+     * @param text texto a capitalizar
+     * @return texto capitalizado; null o texto en blanco se devuelven sin cambios
+     */
+    public String capitalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (text.length() > MAX_MEMO_LENGTH) {
+            return capitalizeUncached(text);
+        }
+
+        String cached = memo.getIfPresent(text);
+        if (cached != null) {
+            return cached;
+        }
+        String result = capitalizeUncached(text);
+        memo.put(text, result);
+        return result;
+    }
+
+    /**
+     * Normaliza un email: minúsculas y sin espacios al inicio o final
+     * Si el email ya está normalizado se devuelve la misma instancia
+     * @param email email a normalizar
+     * @return email normalizado
+     */
+    public String normalizeEmail(String email) {
+        if (!isFastPathLocale()) {
+            return email.toLowerCase().trim();
+        }
+
+        int length = email.length();
+        boolean needsChange = length > 0 && (email.charAt(0) <= ' ' || email.charAt(length - 1) <= ' ');
+        for (int i = 0; i < length && !needsChange; i++) {
+            char c = email.charAt(i);
+            needsChange = c > 0xFF || Character.toLowerCase(c) != c;
+        }
+        return needsChange ? email.toLowerCase().trim() : email;
+    }
+
+    /**
+     * Capitalización sin memo: recorrido único o algoritmo original según el texto
+     */
+    String capitalizeUncached(String text) {
+        if (!isFastPathLocale()) {
+            return capitalizeLegacy(text);
+        }
+
+        int length = text.length();
+        int start = 0;
+        int end = length;
+        //Mismo criterio que String.trim(): caracteres <= ' '
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return text;
+        }
+
+        char[] result = new char[end - start];
+        int size = 0;
+        boolean wordStart = true;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c > 0xFF) {
+                //Fuera de Latin-1 toLowerCase puede cambiar la longitud del texto
+                return capitalizeLegacy(text);
+            }
+            if (isRegexWhitespace(c)) {
+                if (!wordStart) {
+                    result[size++] = ' ';
+                    wordStart = true;
+                }
+                continue;
+            }
+            char lower = Character.toLowerCase(c);
+            result[size++] = wordStart ? Character.toUpperCase(lower) : lower;
+            wordStart = false;
+        }
+        return new String(result, 0, size);
+    }
+
+    /**
+     * Algoritmo original de CustomerItemProcessor, usado cuando el recorrido rápido no aplica
+     */
+    static String capitalizeLegacy(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return text;
+        }
+        String[] words = text.trim().toLowerCase().split("\\s+");
+        StringBuilder result = new StringBuilder();
+
+        for (int i = 0; i < words.length; i++) {
+            if (i > 0) {
+                result.append(" ");
+            }
+            if (words[i].length() > 0) {
+                result.append(Character.toUpperCase(words[i].charAt(0)))
+                        .append(words[i].substring(1));
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Caracteres que coinciden con \s en una expresión regular de Java
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isFastPathLocale() {
+        return !SPECIAL_CASING_LANGUAGES.contains(Locale.getDefault().getLanguage());
+    }
+}
@@ -0,0 +1,96 @@
+package com.project.Project_SpringBatch.progress;
+
+import com.project.Project_SpringBatch.dto.BatchResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro de los clientes SSE suscritos al progreso de cada ejecución
+ * Envía los eventos a todos los emisores de la ejecución y descarta los que se desconectan
+ */
+@Component
+@Slf4j
+public class MigrationProgressPublisher {
+
+    public static final String PROGRESS_EVENT = "progress";
+    public static final String COMPLETED_EVENT = "completed";
+
+    @Value("${batch.progress.emitter-timeout-ms:3600000}")
+    private long emitterTimeoutMillis = 3_600_000L;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    /**
+     * Registra un nuevo cliente para el progreso de una ejecución
+     * @param jobExecutionId ID de la ejecución
+     * @return SseEmitter que recibirá los eventos
+     */
+    public SseEmitter subscribe(Long jobExecutionId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        List<SseEmitter> jobEmitters = emitters.computeIfAbsent(jobExecutionId, id -> new CopyOnWriteArrayList<>());
+        jobEmitters.add(emitter);
+
+        Runnable remove = () -> jobEmitters.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        log.debug("Cliente suscrito al progreso del job execution {} ({} clientes)", jobExecutionId, jobEmitters.size());
+        return emitter;
+    }
+
+    /**
+     * Indica si hay clientes escuchando una ejecución
+     * Permite al listener omitir el cálculo del evento si nadie lo va a recibir
+     * @param jobExecutionId ID de la ejecución
+     * @return true si hay al menos un cliente
+     */
+    public boolean hasSubscribers(Long jobExecutionId) {
+        List<SseEmitter> jobEmitters = emitters.get(jobExecutionId);
+        return jobEmitters != null && !jobEmitters.isEmpty();
+    }
+
+    /**
+     * Envía un evento de progreso a los clientes de la ejecución
+     * @param event evento a enviar
+     */
+    public void publish(BatchResponseDto.ProgressEvent event) {
+        send(event, PROGRESS_EVENT);
+    }
+
+    /**
+     * Envía el evento final y cierra las conexiones de la ejecución
+     * @param event evento final con el estado de la ejecución
+     */
+    public void complete(BatchResponseDto.ProgressEvent event) {
+        send(event, COMPLETED_EVENT);
+        List<SseEmitter> jobEmitters = emitters.remove(event.getJobExecutionId());
+        if (jobEmitters != null) {
+            jobEmitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void send(BatchResponseDto.ProgressEvent event, String eventName) {
+        List<SseEmitter> jobEmitters = emitters.get(event.getJobExecutionId());
+        if (jobEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : jobEmitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(event));
+            } catch (IOException | IllegalStateException e) {
+                //Cliente desconectado: se descarta sin afectar al job
+                log.debug("No se pudo enviar el progreso al cliente: {}", e.getMessage());
+                jobEmitters.remove(emitter);
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.project.Project_SpringBatch.reader;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LineMapper específico para el layout CSV de customers
+ *
+ * Sustituye a DelimitedLineTokenizer + FieldSetMapper:
+ * - Tokeniza sobre un buffer de caracteres reutilizable y solo guarda los límites de cada campo,
+ *   sin crear un String por token ni un FieldSet por línea
+ * - Crea únicamente los String que necesita Customer (ya recortados)
+ * - registered_at con formato yyyy-MM-dd HH:mm:ss se lee dígito a dígito; cualquier otro
+ *   formato pasa por un DateTimeFormatter estático
+ * - Customer se rellena con sus setters, sin BeanWrapper ni reflexión
+ *
+ * Las columnas se localizan por nombre (setNames o setHeader con la cabecera); registered_at
+ * es opcional e id también, salvo con setIdRequired (exports de MySQL, donde id es el
+ * original_mysql_id). Mantiene estado entre líneas, por lo que cada reader debe tener su
+ * propia instancia.
+ */
+public class CustomerCsvLineMapper implements LineMapper<Customer> {
+
+    public static final String[] DEFAULT_COLUMNS = {"name", "lastName", "email", "country", "registered_at"};
+
+    private static final DateTimeFormatter REGISTERED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int NONE = -1;
+
+    private char[] buffer = new char[256];
+    private int[] fieldStart = new int[8];
+    private int[] fieldEnd = new int[8];
+
+    private boolean idRequired;
+    private int columnCount;
+    private int idIndex;
+    private int nameIndex;
+    private int lastNameIndex;
+    private int emailIndex;
+    private int countryIndex;
+    private int registeredAtIndex;
+
+    public CustomerCsvLineMapper() {
+        setNames(DEFAULT_COLUMNS);
+    }
+
+    /**
+     * Exige la columna id en las siguientes llamadas a setNames o setHeader
+     * @param idRequired true si el archivo debe tener columna id
+     */
+    public void setIdRequired(boolean idRequired) {
+        this.idRequired = idRequired;
+    }
+
+    /**
+     * Define las columnas a partir de la línea de cabecera del archivo
+     * @param header cabecera separada por comas
+     */
+    public void setHeader(String header) {
+        setNames(Arrays.stream(header.split(",")).map(String::trim).toArray(String[]::new));
+    }
+
+    /**
+     * Define el orden de las columnas
+     * @param names nombres de columna; name, lastName, email y country son obligatorios
+     */
+    public void setNames(String... names) {
+        List<String> columns = Arrays.asList(names);
+        columnCount = columns.size();
+        idIndex = idRequired ? requiredIndexOf(columns, "id") : columns.indexOf("id");
+        nameIndex = requiredIndexOf(columns, "name");
+        lastNameIndex = requiredIndexOf(columns, "lastName");
+        emailIndex = requiredIndexOf(columns, "email");
+        countryIndex = requiredIndexOf(columns, "country");
+        registeredAtIndex = columns.indexOf("registered_at");
+    }
+
+    @Override
+    public Customer mapLine(String line, int lineNumber) throws Exception {
+        int fields = tokenize(line);
+        if (fields < columnCount) {
+            throw new FlatFileParseException("Expected " + columnCount + " fields but found " + fields
+                    + " at line " + lineNumber, line, lineNumber);
+        }
+
+        Customer customer = new Customer();
+        if (idIndex != NONE && !isBlank(idIndex)) {
+            customer.setId(parseLong(idIndex));
+        }
+        customer.setName(string(nameIndex));
+        customer.setLastName(string(lastNameIndex));
+        customer.setEmail(string(emailIndex));
+        customer.setCountry(string(countryIndex));
+        if (registeredAtIndex != NONE && !isBlank(registeredAtIndex)) {
+            customer.setRegisteredAt(parseDateTime(registeredAtIndex));
+        }
+        return customer;
+    }
+
+    /**
+     * Copia la línea al buffer quitando las comillas (RFC 4180: "" es una comilla literal)
+     * y registra el inicio y fin de cada campo, ya recortados
+     * @param line línea a tokenizar
+     * @return número de campos de la línea
+     */
+    private int tokenize(String line) {
+        int length = line.length();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        }
+
+        int write = 0;
+        int field = 0;
+        int start = 0;
+        boolean quoted = false;
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    buffer[write++] = c;
+                } else if (i + 1 < length && line.charAt(i + 1) == '"') {
+                    buffer[write++] = '"';
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                endField(field++, start, write);
+                start = write;
+            } else {
+                buffer[write++] = c;
+            }
+        }
+        endField(field, start, write);
+        return field + 1;
+    }
+
+    private void endField(int field, int start, int end) {
+        if (field == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, field * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, field * 2);
+        }
+        while (start < end && buffer[start] <= ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] <= ' ') {
+            end--;
+        }
+        fieldStart[field] = start;
+        fieldEnd[field] = end;
+    }
+
+    private boolean isBlank(int field) {
+        return fieldStart[field] == fieldEnd[field];
+    }
+
+    private String string(int field) {
+        return new String(buffer, fieldStart[field], fieldEnd[field] - fieldStart[field]);
+    }
+
+    private long parseLong(int field) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        if (end - start > 18) {
+            return Long.parseLong(string(field)); //Posible desbordamiento: que lo valide Long
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(string(field)); //Signo o carácter no válido
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Lee registered_at sin crear un String cuando tiene el formato yyyy-MM-dd HH:mm:ss
+     */
+    private LocalDateTime parseDateTime(int field) {
+        int s = fieldStart[field];
+        if (fieldEnd[field] - s == 19
+                && buffer[s + 4] == '-' && buffer[s + 7] == '-' && buffer[s + 10] == ' '
+                && buffer[s + 13] == ':' && buffer[s + 16] == ':') {
+            int year = digits(s, 4);
+            int month = digits(s + 5, 2);
+            int day = digits(s + 8, 2);
+            int hour = digits(s + 11, 2);
+            int minute = digits(s + 14, 2);
+            int second = digits(s + 17, 2);
+            if ((year | month | day | hour | minute | second) >= 0) {
+                return LocalDateTime.of(year, month, day, hour, minute, second);
+            }
+        }
+        return LocalDateTime.parse(string(field), REGISTERED_AT_FORMAT);
+    }
+
+    /**
+     * @return valor de count dígitos desde offset, o -1 si alguno no es un dígito
+     */
+    private int digits(int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int requiredIndexOf(List<String> names, String name) {
+        int index = names.indexOf(name);
+        if (index == NONE) {
+            throw new IllegalArgumentException("CSV layout has no '" + name + "' column: " + names);
+        }
+        return index;
+    }
+}
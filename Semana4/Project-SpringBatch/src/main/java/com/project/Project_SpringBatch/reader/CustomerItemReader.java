@@ -2,27 +2,52 @@ package com.project.Project_SpringBatch.reader;
 
 
 import com.project.Project_SpringBatch.domain.Customer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
 import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import javax.sql.DataSource;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.Map;
 
 /**
  * Comfiguración del ItemReader para leer customers desde MySQL
- * Utiliza JpaPaginItemReader para leer de forma paginada y eficiemte
+ * Ofrece un cursor simple, un cursor en streaming, un reader paginado por keyset
+ * y un reader por rango de IDs para la migración particionada
  */
 @Configuration
-@RequiredArgsConstructor
 @Slf4j //Lombok: Genera logger estático
 public class CustomerItemReader {
 
     private final DataSource dataSource;
 
+    /**
+     * DataSource con useCursorFetch=true, solo para los cursores que usan fetch size
+     */
+    private final DataSource cursorFetchDataSource;
+
+    private final CustomerRowMapper customerRowMapper = new CustomerRowMapper();
+
+    /**
+     * Filas por página (keyset) o por viaje al servidor (streaming)
+     * En modo streaming, un valor <= 0 activa el streaming fila a fila de Connector/J
+     */
+    @Value("${batch.reader.fetch-size:1000}")
+    private int fetchSize;
+
+    public CustomerItemReader(DataSource dataSource,
+                              @Qualifier("cursorFetchDataSource") DataSource cursorFetchDataSource) {
+        this.dataSource = dataSource;
+        this.cursorFetchDataSource = cursorFetchDataSource;
+    }
+
     /**
      * Configura y retorna un JdbCursorItemReader para leer customers desde MySQL
      * El cursor permite leer los datos de forma streaming sin cargar todo en memoria
@@ -35,7 +60,112 @@ public class CustomerItemReader {
                 .name("customerItemReader") //Nombre único para el reader
                 .dataSource(dataSource) //DataSource de MySQL configurado en properties
                 .sql(buildSqlQuery()) //Query SQL para obtener los customers
-                .rowMapper(this::mapRowToCustomer) //Mapper para convertir ResultSet a Customer
+                .rowMapper(customerRowMapper) //Mapper por posición de columna
+                .build();
+    }
+
+    /**
+     * Configura un reader con scope de step que lee solo el rango de IDs de su partición
+     * Los límites llegan en el ExecutionContext generado por CustomerIdRangePartitioner
+     * @param minId ID mínimo (inclusive) de la partición
+     * @param maxId ID máximo (inclusive) de la partición
+     * @return JdbcCursorItemReader limitado al rango de la partición
+     */
+    @Bean
+    @StepScope
+    public JdbcCursorItemReader<Customer> partitionedCustomerReader(
+            @Value("#{stepExecutionContext['minId']}") Long minId,
+            @Value("#{stepExecutionContext['maxId']}") Long maxId) {
+        log.info("Configurando JdbcItemReader para la partición de id {} a {}", minId, maxId);
+
+        return new JdbcCursorItemReaderBuilder<Customer>()
+                .name("partitionedCustomerItemReader")
+                .dataSource(cursorFetchDataSource)
+                .sql(buildRangeSqlQuery())
+                .fetchSize(fetchSize > 0 ? fetchSize : Integer.MIN_VALUE) //Streaming dentro del rango
+                .preparedStatementSetter(ps -> {
+                    ps.setLong(1, minId);
+                    ps.setLong(2, maxId);
+                })
+                .rowMapper(customerRowMapper)
+                .build();
+    }
+
+    /**
+     * Configura un reader paginado por keyset: WHERE id > :lastId ORDER BY id LIMIT n
+     * Cada página es una consulta corta sobre la clave primaria, por lo que la memoria
+     * usada no depende del tamaño de la tabla. El último id leído se guarda en el
+     * ExecutionContext, lo que permite reanudar exactamente tras el último chunk confirmado
+     * @return JdbcPagingItemReader ordenado por id
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<Customer> keysetCustomerReader(){
+        log.info("Configurando JdbcPagingItemReader por keyset con páginas de {} filas", fetchSize);
+
+        int pageSize = Math.max(fetchSize, 1);
+        return new JdbcPagingItemReaderBuilder<Customer>()
+                .name("keysetCustomerItemReader")
+                .dataSource(dataSource)
+                .selectClause(CustomerRowMapper.SELECT_COLUMNS)
+                .fromClause("customers")
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .pageSize(pageSize)
+                .fetchSize(pageSize)
+                .rowMapper(customerRowMapper)
+                .build();
+    }
+
+    /**
+     * Configura el reader de la migración incremental: keyset a partir de la marca de agua
+     * Solo lee las filas con id mayor al último migrado, por lo que el coste depende
+     * de las filas nuevas y no del tamaño de la tabla
+     * El id autoincremental es la única marca: toda fila insertada después de la última
+     * ejecución tiene un id mayor, tenga la fecha de registro que tenga
+     * @param lastId último id migrado (job parameter watermark.lastId)
+     * @return JdbcPagingItemReader que empieza después de la marca de agua
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<Customer> incrementalCustomerReader(
+            @Value("#{jobParameters['watermark.lastId']}") Long lastId){
+        long fromId = lastId != null ? lastId : 0L;
+        log.info("Configurando reader incremental a partir del id {}", fromId);
+
+        int pageSize = Math.max(fetchSize, 1);
+        return new JdbcPagingItemReaderBuilder<Customer>()
+                .name("incrementalCustomerItemReader")
+                .dataSource(dataSource)
+                .selectClause(CustomerRowMapper.SELECT_COLUMNS)
+                .fromClause("customers")
+                .whereClause("id > :lastId")
+                .parameterValues(Map.of("lastId", fromId))
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .pageSize(pageSize)
+                .fetchSize(pageSize)
+                .rowMapper(customerRowMapper)
+                .build();
+    }
+
+    /**
+     * Configura un cursor con streaming real del lado del servidor
+     * - fetch-size > 0: el driver trae bloques de ese tamaño (cursorFetchDataSource usa useCursorFetch=true)
+     * - fetch-size <= 0: se usa Integer.MIN_VALUE, el streaming fila a fila de Connector/J
+     * En ambos casos Connector/J deja de cargar el ResultSet completo en el heap
+     * @return JdbcCursorItemReader en modo streaming
+     */
+    @Bean
+    @StepScope
+    public JdbcCursorItemReader<Customer> streamingCustomerReader(){
+        int streamingFetchSize = fetchSize > 0 ? fetchSize : Integer.MIN_VALUE;
+        log.info("Configurando JdbcCursorItemReader en streaming (fetchSize={})", streamingFetchSize);
+
+        return new JdbcCursorItemReaderBuilder<Customer>()
+                .name("streamingCustomerItemReader")
+                .dataSource(cursorFetchDataSource)
+                .sql(buildSqlQuery())
+                .fetchSize(streamingFetchSize)
+                .rowMapper(customerRowMapper)
                 .build();
     }
 
@@ -49,32 +179,32 @@ public class CustomerItemReader {
                 SELECT
                     id, 
                     name, 
-                    last_name,
+                    lastName,
                     email,
                     country,
-                    registeredAt
+                    registered_at
                 FROM customers
                 ORDER BY id ASC
                 """;
     }
 
-    private Customer mapRowToCustomer(ResultSet rs, int rowNumber) throws SQLException{
-        log.debug("Mapeando fila {} del Resultado a objeto Customer", rowNumber);
-
-        Customer customer = new Customer();
-
-        //Mapeo de campos básicos
-        customer.setId(rs.getLong("id"));
-        customer.setName(rs.getString("name"));
-        customer.setLastName(rs.getString("last_name"));
-        customer.setEmail(rs.getString("email"));
-        customer.setCountry(rs.getString("country"));
-
-
-        //Mapeo del campo fecha- Se convierte Timestamp a LocalDateTime
-        if (rs.getTimestamp("registered_at") != null){
-            customer.setRegisteredAt(rs.getTimestamp("registered_at").toLocalDateTime());
-        }
-        return customer;
+    /**
+     * Construye la consulta SQL para obtener los customers de un rango de IDs
+     * Usa la clave primaria, por lo que cada partición recorre solo su parte del índice
+     * @return String con la consulta SQL parametrizada
+     */
+    private String buildRangeSqlQuery(){
+        return """
+                SELECT
+                    id,
+                    name,
+                    lastName,
+                    email,
+                    country,
+                    registered_at
+                FROM customers
+                WHERE id BETWEEN ? AND ?
+                ORDER BY id ASC
+                """;
     }
 }
@@ -0,0 +1,46 @@
+package com.project.Project_SpringBatch.reader;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * RowMapper de customers que accede a las columnas por posición
+ * Evita la búsqueda por nombre de columna en cada fila y lee registered_at una sola vez
+ *
+ * Requiere que la consulta seleccione las columnas en este orden:
+ * id, name, lastName, email, country, registered_at
+ */
+public class CustomerRowMapper implements RowMapper<Customer> {
+
+    public static final String SELECT_COLUMNS = "id, name, lastName, email, country, registered_at";
+
+    private static final int ID = 1;
+    private static final int NAME = 2;
+    private static final int LAST_NAME = 3;
+    private static final int EMAIL = 4;
+    private static final int COUNTRY = 5;
+    private static final int REGISTERED_AT = 6;
+
+    @Override
+    public Customer mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Customer customer = new Customer();
+
+        //Mapeo de campos básicos
+        customer.setId(rs.getLong(ID));
+        customer.setName(rs.getString(NAME));
+        customer.setLastName(rs.getString(LAST_NAME));
+        customer.setEmail(rs.getString(EMAIL));
+        customer.setCountry(rs.getString(COUNTRY));
+
+        //Mapeo del campo fecha - Se convierte Timestamp a LocalDateTime
+        Timestamp registeredAt = rs.getTimestamp(REGISTERED_AT);
+        if (registeredAt != null) {
+            customer.setRegisteredAt(registeredAt.toLocalDateTime());
+        }
+        return customer;
+    }
+}
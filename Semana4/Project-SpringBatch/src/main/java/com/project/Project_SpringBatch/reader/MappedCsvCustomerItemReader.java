@@ -0,0 +1,149 @@
+package com.project.Project_SpringBatch.reader;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ItemReader que lee customers de un rango de bytes de un archivo CSV mapeado en memoria
+ * Cada partición generada por CsvByteRangePartitioner recibe su propio reader
+ *
+ * - Las columnas se localizan por nombre según la cabecera del archivo
+ * - La columna id es obligatoria: es el original_mysql_id que identifica al customer en MongoDB
+ * - El offset del siguiente registro se guarda en el ExecutionContext en cada chunk,
+ *   por lo que al reiniciar la partición se continúa exactamente tras el último chunk confirmado
+ */
+@Slf4j
+public class MappedCsvCustomerItemReader implements ItemStreamReader<Customer> {
+
+    /**
+     * Clave del ExecutionContext con el offset del siguiente registro a leer
+     */
+    public static final String OFFSET_KEY = "mappedCsvCustomerReader.offset";
+
+    private static final DateTimeFormatter REGISTERED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path file;
+    private final long startOffset;
+    private final long endOffset;
+    private final List<String> columns;
+
+    private final List<String> fields = new ArrayList<>();
+    private MappedCsvFile csv;
+    private long position;
+
+    private int idIndex;
+    private int nameIndex;
+    private int lastNameIndex;
+    private int emailIndex;
+    private int countryIndex;
+    private int registeredAtIndex;
+
+    /**
+     * @param file archivo CSV
+     * @param startOffset inicio del rango (inicio de un registro)
+     * @param endOffset fin del rango (exclusivo, inicio del registro siguiente)
+     * @param columns nombres de columna de la cabecera separados por comas
+     */
+    public MappedCsvCustomerItemReader(Path file, long startOffset, long endOffset, String columns) {
+        this.file = file;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.columns = Arrays.stream(columns.split(",")).map(String::trim).toList();
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        idIndex = requiredColumn("id");
+        nameIndex = requiredColumn("name");
+        lastNameIndex = requiredColumn("lastName");
+        emailIndex = requiredColumn("email");
+        countryIndex = requiredColumn("country");
+        registeredAtIndex = columns.indexOf("registered_at");
+
+        position = executionContext.containsKey(OFFSET_KEY) ? executionContext.getLong(OFFSET_KEY) : startOffset;
+        if (position < startOffset || position > endOffset) {
+            throw new ItemStreamException("Saved offset " + position + " outside range [" + startOffset + ", " + endOffset + "]");
+        }
+
+        try {
+            csv = MappedCsvFile.open(file);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open CSV file " + file, e);
+        }
+        log.info("Leyendo {} desde el byte {} hasta el {}{}", file, position, endOffset,
+                position > startOffset ? " (reanudado)" : "");
+    }
+
+    @Override
+    public Customer read() throws Exception {
+        while (position < endOffset) {
+            long recordStart = position;
+            position = csv.readRecord(position, endOffset, fields);
+            if (fields.isEmpty()) {
+                continue; //Línea vacía
+            }
+            return mapCustomer(recordStart);
+        }
+        return null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(OFFSET_KEY, position);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (csv == null) {
+            return;
+        }
+        try {
+            csv.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close CSV file " + file, e);
+        } finally {
+            csv = null;
+        }
+    }
+
+    private Customer mapCustomer(long recordStart) {
+        if (fields.size() < columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " fields but found "
+                    + fields.size() + " in record at byte " + recordStart + " of " + file);
+        }
+
+        Customer customer = new Customer();
+        customer.setId(Long.parseLong(field(idIndex)));
+        customer.setName(field(nameIndex));
+        customer.setLastName(field(lastNameIndex));
+        customer.setEmail(field(emailIndex));
+        customer.setCountry(field(countryIndex));
+        if (registeredAtIndex >= 0 && !field(registeredAtIndex).isEmpty()) {
+            customer.setRegisteredAt(LocalDateTime.parse(field(registeredAtIndex), REGISTERED_AT_FORMAT));
+        }
+        return customer;
+    }
+
+    private String field(int index) {
+        return fields.get(index).trim();
+    }
+
+    private int requiredColumn(String name) {
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            throw new ItemStreamException("CSV header of " + file + " has no '" + name + "' column: " + columns);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,181 @@
+package com.project.Project_SpringBatch.reader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Acceso por posición a un archivo CSV mapeado en memoria
+ *
+ * Un MappedByteBuffer solo direcciona 2 GB, por lo que el archivo se recorre
+ * con una ventana deslizante de tamaño fijo que se vuelve a mapear al salir de ella.
+ * Los límites de registro se calculan respetando las comillas: un salto de línea
+ * dentro de un campo entrecomillado no cierra el registro.
+ */
+public class MappedCsvFile implements AutoCloseable {
+
+    /**
+     * Tamaño por defecto de la ventana mapeada (64 MB)
+     */
+    public static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+
+    private byte[] fieldBuffer = new byte[256];
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+
+    private MappedCsvFile(FileChannel channel, long windowSize) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Abre el archivo en modo lectura con la ventana por defecto
+     * @param path ruta del archivo CSV
+     * @return archivo listo para leer
+     * @throws IOException si el archivo no se puede abrir
+     */
+    public static MappedCsvFile open(Path path) throws IOException {
+        return open(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Abre el archivo en modo lectura
+     * @param path ruta del archivo CSV
+     * @param windowSize bytes mapeados a la vez
+     * @return archivo listo para leer
+     * @throws IOException si el archivo no se puede abrir
+     */
+    public static MappedCsvFile open(Path path, long windowSize) throws IOException {
+        if (windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window size must be between 1 and " + Integer.MAX_VALUE);
+        }
+        return new MappedCsvFile(FileChannel.open(path, StandardOpenOption.READ), windowSize);
+    }
+
+    /**
+     * @return tamaño del archivo en bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Devuelve el byte de una posición, mapeando la ventana que la contiene si es necesario
+     * @param position posición absoluta dentro del archivo
+     * @return byte en esa posición
+     * @throws IOException si falla el mapeo
+     */
+    public byte byteAt(long position) throws IOException {
+        if (position < windowStart || position >= windowEnd) {
+            remap(position);
+        }
+        return window.get((int) (position - windowStart));
+    }
+
+
+    /**
+     * Busca el primer final de registro situado en target o después, recorriendo desde un
+     * inicio de registro conocido para saber en todo momento si se está dentro de comillas
+     * @param recordStart posición de inicio de un registro (fuera de comillas)
+     * @param target posición mínima del límite buscado
+     * @return posición siguiente al salto de línea que cierra el registro, o el tamaño del archivo
+     * @throws IOException si falla el mapeo
+     */
+    public long nextRecordBoundary(long recordStart, long target) throws IOException {
+        boolean quoted = false;
+        for (long position = recordStart; position < size; position++) {
+            byte b = byteAt(position);
+            if (b == '"') {
+                //Una comilla escapada ("") cambia el estado dos veces y lo deja igual
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted && position >= target) {
+                return position + 1;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Lee los campos del registro que empieza en una posición
+     * Formato RFC 4180: los campos pueden ir entre comillas dobles, "" representa una comilla
+     * y los saltos de línea entrecomillados forman parte del campo. Los \r fuera de comillas se ignoran.
+     * @param from posición de inicio del registro
+     * @param limit posición que el registro no puede superar
+     * @param fields lista donde se añaden los campos (se vacía antes de leer)
+     * @return posición siguiente al registro leído
+     * @throws IOException si falla el mapeo
+     */
+    public long readRecord(long from, long limit, List<String> fields) throws IOException {
+        fields.clear();
+        int length = 0;
+        boolean quoted = false;
+        long position = from;
+        long end = Math.min(limit, size);
+
+        while (position < end) {
+            byte b = byteAt(position++);
+            if (quoted) {
+                if (b != '"') {
+                    length = append(length, b);
+                } else if (position < end && byteAt(position) == '"') {
+                    length = append(length, b);
+                    position++;
+                } else {
+                    quoted = false;
+                }
+            } else if (b == '"') {
+                quoted = true;
+            } else if (b == ',') {
+                fields.add(new String(fieldBuffer, 0, length, StandardCharsets.UTF_8));
+                length = 0;
+            } else if (b == '\n') {
+                break;
+            } else if (b != '\r') {
+                length = append(length, b);
+            }
+        }
+
+        //Una línea vacía no tiene campos
+        if (length > 0 || !fields.isEmpty()) {
+            fields.add(new String(fieldBuffer, 0, length, StandardCharsets.UTF_8));
+        }
+        return position;
+    }
+
+    private int append(int length, byte b) {
+        if (length == fieldBuffer.length) {
+            fieldBuffer = Arrays.copyOf(fieldBuffer, length * 2);
+        }
+        fieldBuffer[length] = b;
+        return length + 1;
+    }
+
+    private void remap(long position) throws IOException {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " outside file of " + size + " bytes");
+        }
+        windowStart = position;
+        windowEnd = Math.min(size, position + windowSize);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        windowStart = 0;
+        windowEnd = 0;
+        channel.close();
+    }
+}
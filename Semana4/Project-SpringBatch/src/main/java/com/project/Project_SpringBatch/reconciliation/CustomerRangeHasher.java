@@ -0,0 +1,75 @@
+package com.project.Project_SpringBatch.reconciliation;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cálculo de huellas de customers por rango de IDs en un extremo de la migración
+ *
+ * Ambos extremos hashean la misma representación normalizada de cada fila con CRC32:
+ * id|email|name|lastName|registered_at, donde
+ * - email, name y lastName: sin espacios ni caracteres de control y en minúsculas (ver normalize).
+ *   El processor solo cambia mayúsculas y espacios, así que el valor de MySQL y el guardado en
+ *   MongoDB dan el mismo resultado
+ * - registered_at: yyyy-MM-dd HH:mm:ss
+ * - los valores nulos se representan como cadena vacía
+ * country no forma parte de la huella porque el processor lo traduce con el diccionario de países.
+ *
+ * La huella de un rango es la suma de los CRC32 de sus filas, por lo que no depende del orden.
+ */
+public interface CustomerRangeHasher {
+
+    /**
+     * @return nombre del extremo para los logs
+     */
+    String name();
+
+    /**
+     * @return rango [MIN(id), MAX(id)] o vacío si no hay customers
+     */
+    Optional<IdRange> idBounds();
+
+    /**
+     * @param range rango de IDs
+     * @return número de filas y suma de sus CRC32
+     */
+    RangeDigest digest(IdRange range);
+
+    /**
+     * Huella de cada fila; solo se usa en rangos pequeños cuyas huellas difieren
+     * @param range rango de IDs
+     * @return CRC32 por id
+     */
+    Map<Long, Long> rowHashes(IdRange range);
+
+    /**
+     * Normalización de email, name y lastName en la huella; MySQL la reproduce en SQL y MongoDB en JavaScript
+     * - Se eliminan U+0000-U+0020 (espacio, tabuladores, saltos de línea) y U+007F-U+009F, es decir,
+     *   todo lo que el processor puede recortar o colapsar
+     * - Se pasa a minúsculas con las reglas Unicode (también las letras acentuadas)
+     * @param value valor de la columna o del campo
+     * @return valor normalizado; cadena vacía si es null
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c > ' ' && (c < '\u007F' || c > '\u009F')) {
+                result.append(c);
+            }
+        }
+        return result.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Número de filas y suma de los CRC32 de un rango
+     */
+    record RangeDigest(long count, long hash) {
+
+        public static final RangeDigest EMPTY = new RangeDigest(0, 0);
+    }
+}
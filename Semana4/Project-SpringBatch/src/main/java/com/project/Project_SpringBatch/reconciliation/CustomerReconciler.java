@@ -0,0 +1,215 @@
+package com.project.Project_SpringBatch.reconciliation;
+
+import com.project.Project_SpringBatch.reconciliation.CustomerRangeHasher.RangeDigest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reconciliación por rangos de IDs entre MySQL y MongoDB
+ *
+ * - El espacio de IDs se divide en rangos y cada extremo calcula en paralelo el número de filas
+ *   y la suma de CRC32 de cada rango (en SQL y con una agregación, sin traer filas)
+ * - Solo los rangos cuyas huellas difieren se subdividen en batch.reconciliation.fanout partes,
+ *   nivel a nivel, hasta llegar a batch.reconciliation.leaf-size IDs
+ * - En esos rangos hoja se comparan las huellas por fila para identificar los IDs que faltan,
+ *   sobran o difieren
+ * Con los datos coherentes el coste es una agregación por rango y extremo.
+ */
+@Component
+@Slf4j
+public class CustomerReconciler {
+
+    private final CustomerRangeHasher mysqlHasher;
+    private final CustomerRangeHasher mongoHasher;
+
+    /**
+     * Rangos del primer nivel si el job no indica otro valor
+     */
+    @Value("${batch.reconciliation.ranges:256}")
+    private int defaultRanges = 256;
+
+    /**
+     * Consultas simultáneas (sumando ambos extremos)
+     */
+    @Value("${batch.reconciliation.parallelism:8}")
+    private int parallelism = 8;
+
+    /**
+     * Partes en las que se divide un rango con diferencias
+     */
+    @Value("${batch.reconciliation.fanout:16}")
+    private int fanout = 16;
+
+    /**
+     * Tamaño máximo (en IDs) de un rango que se compara fila a fila
+     */
+    @Value("${batch.reconciliation.leaf-size:1000}")
+    private long leafSize = 1000;
+
+    /**
+     * IDs de ejemplo guardados por tipo de diferencia
+     */
+    @Value("${batch.reconciliation.sample-size:100}")
+    private int sampleSize = 100;
+
+    public CustomerReconciler(@Qualifier("mySqlCustomerRangeHasher") CustomerRangeHasher mysqlHasher,
+                              @Qualifier("mongoCustomerRangeHasher") CustomerRangeHasher mongoHasher) {
+        this.mysqlHasher = mysqlHasher;
+        this.mongoHasher = mongoHasher;
+    }
+
+    /**
+     * Compara MySQL y MongoDB
+     * @param rangeCount rangos del primer nivel (<= 0 usa batch.reconciliation.ranges)
+     * @return informe con las diferencias encontradas
+     */
+    public ReconciliationReport reconcile(int rangeCount) {
+        long start = System.currentTimeMillis();
+        ReconciliationReport report = new ReconciliationReport(sampleSize);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                runnable -> new Thread(runnable, "reconciliation-" + threadNumber.incrementAndGet()));
+        try {
+            Optional<IdRange> bounds = bounds(executor);
+            if (bounds.isEmpty()) {
+                log.info("No hay customers en MySQL ni en MongoDB; nada que reconciliar");
+                return report;
+            }
+
+            List<IdRange> level = bounds.get().split(rangeCount > 0 ? rangeCount : defaultRanges);
+            List<IdRange> leaves = new ArrayList<>();
+            boolean firstLevel = true;
+            while (!level.isEmpty()) {
+                List<RangeComparison> comparisons = compareDigests(level, executor);
+                if (firstLevel) {
+                    report.setTotals(comparisons.stream().mapToLong(c -> c.mysql().count()).sum(),
+                            comparisons.stream().mapToLong(c -> c.mongo().count()).sum());
+                    firstLevel = false;
+                }
+
+                List<IdRange> next = new ArrayList<>();
+                long differing = 0;
+                for (RangeComparison comparison : comparisons) {
+                    if (comparison.matches()) {
+                        continue;
+                    }
+                    differing++;
+                    if (comparison.range().size() <= leafSize) {
+                        leaves.add(comparison.range());
+                    } else {
+                        next.addAll(comparison.range().split(fanout));
+                    }
+                }
+                report.addRangesCompared(level.size(), differing);
+                log.info("Reconciliación: {} rangos comparados, {} con diferencias", level.size(), differing);
+                level = next;
+            }
+
+            compareRows(leaves, executor, report);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        report.setDurationMillis(System.currentTimeMillis() - start);
+        log.info("Reconciliación terminada: {}", report);
+        return report;
+    }
+
+    /**
+     * Rango que cubre los IDs de ambos extremos
+     */
+    private Optional<IdRange> bounds(ExecutorService executor) {
+        CompletableFuture<Optional<IdRange>> mysql = async(mysqlHasher::idBounds, executor);
+        CompletableFuture<Optional<IdRange>> mongo = async(mongoHasher::idBounds, executor);
+        Optional<IdRange> mysqlBounds = join(mysql, "id bounds");
+        Optional<IdRange> mongoBounds = join(mongo, "id bounds");
+
+        if (mysqlBounds.isEmpty() || mongoBounds.isEmpty()) {
+            return mysqlBounds.isPresent() ? mysqlBounds : mongoBounds;
+        }
+        return Optional.of(new IdRange(Math.min(mysqlBounds.get().from(), mongoBounds.get().from()),
+                Math.max(mysqlBounds.get().to(), mongoBounds.get().to())));
+    }
+
+    private List<RangeComparison> compareDigests(List<IdRange> ranges, ExecutorService executor) {
+        List<CompletableFuture<RangeDigest>> mysql = new ArrayList<>(ranges.size());
+        List<CompletableFuture<RangeDigest>> mongo = new ArrayList<>(ranges.size());
+        for (IdRange range : ranges) {
+            mysql.add(async(() -> mysqlHasher.digest(range), executor));
+            mongo.add(async(() -> mongoHasher.digest(range), executor));
+        }
+
+        List<RangeComparison> comparisons = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            comparisons.add(new RangeComparison(ranges.get(i),
+                    join(mysql.get(i), "range " + ranges.get(i)),
+                    join(mongo.get(i), "range " + ranges.get(i))));
+        }
+        return comparisons;
+    }
+
+    /**
+     * Compara fila a fila los rangos hoja con diferencias
+     */
+    private void compareRows(List<IdRange> leaves, ExecutorService executor, ReconciliationReport report) {
+        List<CompletableFuture<Map<Long, Long>>> mysql = new ArrayList<>(leaves.size());
+        List<CompletableFuture<Map<Long, Long>>> mongo = new ArrayList<>(leaves.size());
+        for (IdRange leaf : leaves) {
+            mysql.add(async(() -> new TreeMap<>(mysqlHasher.rowHashes(leaf)), executor));
+            mongo.add(async(() -> new TreeMap<>(mongoHasher.rowHashes(leaf)), executor));
+        }
+
+        for (int i = 0; i < leaves.size(); i++) {
+            Map<Long, Long> mysqlRows = join(mysql.get(i), "rows of " + leaves.get(i));
+            Map<Long, Long> mongoRows = join(mongo.get(i), "rows of " + leaves.get(i));
+            report.addLeafRange();
+
+            for (Map.Entry<Long, Long> row : mysqlRows.entrySet()) {
+                Long mongoHash = mongoRows.remove(row.getKey());
+                if (mongoHash == null) {
+                    report.addMissingInMongo(row.getKey());
+                } else if (!mongoHash.equals(row.getValue())) {
+                    report.addMismatched(row.getKey());
+                }
+            }
+            mongoRows.keySet().forEach(report::addExtraInMongo);
+        }
+    }
+
+    private static <T> CompletableFuture<T> async(Supplier<T> supplier, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future, String description) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Reconciliation query failed for " + description, e.getCause());
+        }
+    }
+
+    /**
+     * Huellas de un rango en ambos extremos
+     */
+    private record RangeComparison(IdRange range, RangeDigest mysql, RangeDigest mongo) {
+
+        private boolean matches() {
+            return mysql.equals(mongo);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.Project_SpringBatch.reconciliation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tasklet del job de verificación: ejecuta CustomerReconciler y publica el informe
+ *
+ * Los totales y las muestras de IDs se guardan en el ExecutionContext del step. Si hay diferencias
+ * el step (y por tanto el job) termina con el exit code DIFFERENCES_FOUND y el informe como descripción.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerReconciliationTasklet implements Tasklet {
+
+    public static final String RANGES_PARAMETER = "reconciliation.ranges";
+    public static final String DIFFERENCES_FOUND = "DIFFERENCES_FOUND";
+
+    private final CustomerReconciler customerReconciler;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        Long ranges = stepExecution.getJobParameters().getLong(RANGES_PARAMETER);
+
+        ReconciliationReport report = customerReconciler.reconcile(ranges != null ? ranges.intValue() : 0);
+
+        ExecutionContext context = stepExecution.getExecutionContext();
+        context.putLong("reconciliation.mysqlRows", report.getMysqlRows());
+        context.putLong("reconciliation.mongoRows", report.getMongoRows());
+        context.putLong("reconciliation.rangesCompared", report.getRangesCompared());
+        context.putLong("reconciliation.rangesDiffering", report.getRangesDiffering());
+        context.putLong("reconciliation.missingInMongo", report.getMissingInMongo());
+        context.putLong("reconciliation.extraInMongo", report.getExtraInMongo());
+        context.putLong("reconciliation.mismatched", report.getMismatched());
+        context.putString("reconciliation.missingInMongoSample", report.getMissingInMongoSample().toString());
+        context.putString("reconciliation.extraInMongoSample", report.getExtraInMongoSample().toString());
+        context.putString("reconciliation.mismatchedSample", report.getMismatchedSample().toString());
+
+        if (report.hasDifferences()) {
+            log.warn("**** RECONCILIACIÓN CON DIFERENCIAS: {} ****", report);
+            contribution.setExitStatus(new ExitStatus(DIFFERENCES_FOUND, report.toString()));
+        } else {
+            log.info("**** RECONCILIACIÓN SIN DIFERENCIAS: {} customers en {} ms ****",
+                    report.getMysqlRows(), report.getDurationMillis());
+        }
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.Project_SpringBatch.reconciliation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rango cerrado [from, to] de IDs de MySQL (original_mysql_id en MongoDB)
+ */
+public record IdRange(long from, long to) {
+
+    /**
+     * @return número de IDs del rango
+     */
+    public long size() {
+        return to - from + 1;
+    }
+
+    /**
+     * Divide el rango en como máximo parts rangos contiguos de tamaño similar
+     * @param parts número de rangos solicitados
+     * @return rangos que cubren [from, to] sin solaparse
+     */
+    public List<IdRange> split(int parts) {
+        long rangeSize = Math.max(1, (size() + Math.max(1, parts) - 1) / Math.max(1, parts));
+        List<IdRange> ranges = new ArrayList<>();
+        for (long start = from; start <= to; start += rangeSize) {
+            long end = Math.min(start + rangeSize - 1, to);
+            ranges.add(new IdRange(start, end));
+            if (end == to) {
+                break; //Evita desbordar start cuando to es Long.MAX_VALUE
+            }
+        }
+        return ranges;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + from + ", " + to + "]";
+    }
+}
@@ -0,0 +1,155 @@
+package com.project.Project_SpringBatch.reconciliation;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Huellas de la colección de customers de MongoDB
+ *
+ * Se calculan con una agregación sobre el índice de original_mysql_id. MongoDB no tiene CRC32,
+ * por lo que se usa $function con una implementación en JavaScript sobre los bytes UTF-8
+ * (mismo resultado que CRC32() de MySQL); requiere MongoDB 4.4+ con JavaScript de servidor habilitado.
+ * La normalización de los campos también se hace en JavaScript: $toLower solo convierte ASCII y no
+ * coincidiría con LOWER() de MySQL en las letras acentuadas.
+ *
+ * registered_at se guarda como Date convertida desde LocalDateTime con la zona de la JVM,
+ * así que se formatea en esa misma zona para obtener el valor original.
+ */
+@Component
+public class MongoCustomerRangeHasher implements CustomerRangeHasher {
+
+    static final String ROW_HASH_FUNCTION = """
+            function(id, email, name, lastName, registeredAt) {
+              var normalize = function(v) {
+                return (v == null ? '' : v).replace(/[\\x00-\\x20\\x7f-\\x9f]/g, '').toLowerCase();
+              };
+              var s = id + '|' + normalize(email) + '|' + normalize(name) + '|' + normalize(lastName)
+                  + '|' + registeredAt;
+              var bytes = unescape(encodeURIComponent(s));
+              var crc = 0xFFFFFFFF;
+              for (var i = 0; i < bytes.length; i++) {
+                var c = (crc ^ bytes.charCodeAt(i)) & 0xFF;
+                for (var k = 0; k < 8; k++) {
+                  c = (c & 1) ? (0xEDB88320 ^ (c >>> 1)) : (c >>> 1);
+                }
+                crc = (crc >>> 8) ^ c;
+              }
+              return (crc ^ 0xFFFFFFFF) >>> 0;
+            }""";
+
+    private static final String ID_FIELD = "original_mysql_id";
+
+    private final MongoTemplate mongoTemplate;
+    private final Document rowHash;
+
+    public MongoCustomerRangeHasher(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.rowHash = rowHashExpression(ZoneId.systemDefault());
+    }
+
+    @Override
+    public String name() {
+        return "MongoDB";
+    }
+
+    @Override
+    public Optional<IdRange> idBounds() {
+        Document first = boundary(Sorts.ascending(ID_FIELD));
+        if (first == null) {
+            return Optional.empty();
+        }
+        Document last = boundary(Sorts.descending(ID_FIELD));
+        return Optional.of(new IdRange(first.get(ID_FIELD, Number.class).longValue(),
+                last.get(ID_FIELD, Number.class).longValue()));
+    }
+
+    @Override
+    public RangeDigest digest(IdRange range) {
+        Document result = collection().aggregate(List.of(
+                        match(range),
+                        new Document("$group", new Document("_id", null)
+                                .append("count", new Document("$sum", 1L))
+                                .append("hash", new Document("$sum", rowHash)))))
+                .allowDiskUse(true)
+                .first();
+        if (result == null) {
+            return RangeDigest.EMPTY;
+        }
+        return new RangeDigest(result.get("count", Number.class).longValue(), result.get("hash", Number.class).longValue());
+    }
+
+    /**
+     * Un original_mysql_id repetido se marca con -1 para que siempre cuente como diferencia
+     */
+    @Override
+    public Map<Long, Long> rowHashes(IdRange range) {
+        Map<Long, Long> hashes = new HashMap<>();
+        collection().aggregate(List.of(
+                        match(range),
+                        new Document("$project", new Document("_id", 0)
+                                .append("id", "$" + ID_FIELD)
+                                .append("hash", rowHash))))
+                .allowDiskUse(true)
+                .forEach(row -> hashes.merge(row.get("id", Number.class).longValue(),
+                        row.get("hash", Number.class).longValue(), (a, b) -> -1L));
+        return hashes;
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(CustomerDocument.class));
+    }
+
+    private Document boundary(Bson sort) {
+        return collection().find(Filters.ne(ID_FIELD, null))
+                .sort(sort)
+                .projection(Projections.include(ID_FIELD))
+                .limit(1)
+                .first();
+    }
+
+    private static Document match(IdRange range) {
+        return new Document("$match", new Document(ID_FIELD,
+                new Document("$gte", range.from()).append("$lte", range.to())));
+    }
+
+    /**
+     * CRC32 (como Long) de id|email|name|lastName|registered_at normalizados
+     * @param zone zona con la que se convirtió registered_at al guardarlo
+     */
+    static Document rowHashExpression(ZoneId zone) {
+        String timezone = zone instanceof ZoneOffset offset
+                ? (offset.getTotalSeconds() == 0 ? "+00:00" : offset.getId())
+                : zone.getId();
+
+        List<Object> args = List.of(
+                new Document("$toString", "$" + ID_FIELD),
+                ifNull("$email"),
+                ifNull("$name"),
+                ifNull("$lastName"),
+                ifNull(new Document("$dateToString", new Document("date", "$registered_at")
+                        .append("format", "%Y-%m-%d %H:%M:%S")
+                        .append("timezone", timezone))));
+
+        return new Document("$toLong", new Document("$function", new Document("body", ROW_HASH_FUNCTION)
+                .append("args", args)
+                .append("lang", "js")));
+    }
+
+    private static Document ifNull(Object expression) {
+        return new Document("$ifNull", List.of(expression, ""));
+    }
+}
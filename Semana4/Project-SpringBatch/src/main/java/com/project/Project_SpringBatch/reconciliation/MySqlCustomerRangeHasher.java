@@ -0,0 +1,78 @@
+package com.project.Project_SpringBatch.reconciliation;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Huellas de la tabla customers de MySQL
+ * Todo el cálculo se hace en SQL: por cada rango solo viajan el número de filas y la suma
+ * Requiere MySQL 8.0.4+ (REGEXP_REPLACE)
+ */
+@Component
+public class MySqlCustomerRangeHasher implements CustomerRangeHasher {
+
+    /**
+     * Filas que el processor migra: las que no tienen email se descartan
+     */
+    private static final String MIGRATED_ROWS = "email IS NOT NULL AND TRIM(email) <> ''";
+
+    /**
+     * CRC32 de la representación normalizada (ver CustomerRangeHasher)
+     */
+    private static final String ROW_HASH = "CRC32(CONCAT_WS('|', id, " + normalized("email") + ", "
+            + normalized("name") + ", " + normalized("lastName") + ","
+            + " COALESCE(DATE_FORMAT(registered_at, '%Y-%m-%d %H:%i:%s'), '')))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MySqlCustomerRangeHasher(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public String name() {
+        return "MySQL";
+    }
+
+    @Override
+    public Optional<IdRange> idBounds() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM customers",
+                (rs, rowNum) -> rs.getObject("min_id") != null
+                        ? new IdRange(rs.getLong("min_id"), rs.getLong("max_id"))
+                        : null));
+    }
+
+    @Override
+    public RangeDigest digest(IdRange range) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) AS row_count, COALESCE(SUM(" + ROW_HASH + "), 0) AS hash_sum"
+                        + " FROM customers WHERE id BETWEEN ? AND ? AND " + MIGRATED_ROWS,
+                (rs, rowNum) -> new RangeDigest(rs.getLong("row_count"), rs.getLong("hash_sum")),
+                range.from(), range.to());
+    }
+
+    @Override
+    public Map<Long, Long> rowHashes(IdRange range) {
+        Map<Long, Long> hashes = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, " + ROW_HASH + " AS row_hash FROM customers WHERE id BETWEEN ? AND ? AND " + MIGRATED_ROWS,
+                rs -> {
+                    hashes.put(rs.getLong("id"), rs.getLong("row_hash"));
+                },
+                range.from(), range.to());
+        return hashes;
+    }
+
+    /**
+     * CustomerRangeHasher.normalize en SQL: [:cntrl:] son U+0000-U+001F y U+007F-U+009F
+     */
+    private static String normalized(String column) {
+        return "LOWER(REGEXP_REPLACE(COALESCE(" + column + ", ''), '[[:cntrl:] ]', ''))";
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.Project_SpringBatch.reconciliation;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una reconciliación MySQL - MongoDB
+ * Los contadores cubren todas las diferencias; las listas de IDs solo guardan una muestra
+ */
+@Getter
+public class ReconciliationReport {
+
+    private final int sampleSize;
+
+    private long mysqlRows;
+    private long mongoRows;
+    private long rangesCompared;
+    private long rangesDiffering;
+    private long leafRanges;
+    private long missingInMongo;
+    private long extraInMongo;
+    private long mismatched;
+    private long durationMillis;
+
+    private final List<Long> missingInMongoSample = new ArrayList<>();
+    private final List<Long> extraInMongoSample = new ArrayList<>();
+    private final List<Long> mismatchedSample = new ArrayList<>();
+
+    public ReconciliationReport(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * @return true si algún rango tiene huellas distintas
+     */
+    public boolean hasDifferences() {
+        return rangesDiffering > 0;
+    }
+
+    void setTotals(long mysqlRows, long mongoRows) {
+        this.mysqlRows = mysqlRows;
+        this.mongoRows = mongoRows;
+    }
+
+    void addRangesCompared(long ranges, long differing) {
+        rangesCompared += ranges;
+        rangesDiffering += differing;
+    }
+
+    void addLeafRange() {
+        leafRanges++;
+    }
+
+    void addMissingInMongo(long id) {
+        missingInMongo++;
+        sample(missingInMongoSample, id);
+    }
+
+    void addExtraInMongo(long id) {
+        extraInMongo++;
+        sample(extraInMongoSample, id);
+    }
+
+    void addMismatched(long id) {
+        mismatched++;
+        sample(mismatchedSample, id);
+    }
+
+    void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    private void sample(List<Long> ids, long id) {
+        if (ids.size() < sampleSize) {
+            ids.add(id);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MySQL rows: " + mysqlRows + ", MongoDB rows: " + mongoRows
+                + ", ranges compared: " + rangesCompared + ", ranges differing: " + rangesDiffering
+                + ", missing in MongoDB: " + missingInMongo + " " + missingInMongoSample
+                + ", extra in MongoDB: " + extraInMongo + " " + extraInMongoSample
+                + ", mismatched: " + mismatched + " " + mismatchedSample
+                + ", duration: " + durationMillis + " ms";
+    }
+}
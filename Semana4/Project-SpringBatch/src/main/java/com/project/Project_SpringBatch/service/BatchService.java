@@ -1,19 +1,33 @@
 package com.project.Project_SpringBatch.service;
 
+import com.project.Project_SpringBatch.Repository.MigrationWatermarkRepository;
+import com.project.Project_SpringBatch.domain.MigrationWatermark;
+import com.project.Project_SpringBatch.dto.BatchResponseDto;
+import com.project.Project_SpringBatch.listener.MigrationWatermarkListener;
+import com.project.Project_SpringBatch.partition.CsvShardPartitioner;
+import com.project.Project_SpringBatch.progress.MigrationProgressPublisher;
+import com.project.Project_SpringBatch.reconciliation.CustomerReconciliationTasklet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.*;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Servicio que maneja la ejecución de jobs de Spring Batch
@@ -24,8 +38,47 @@ import java.util.Map;
 @Slf4j //Lombok: Genera logger estático
 public class BatchService {
     private final JobLauncher jobLauncher;
+    private final JobLauncher asyncJobLauncher;
     private final Job customerMigrationJob;
+    private final Job customerPartitionedMigrationJob;
+    private final Job customerCsvPartitionedMigrationJob;
+    private final Job customerCsvShardMigrationJob;
+    private final Job customerSpillExtractJob;
+    private final Job customerSpillLoadJob;
+    private final Job customerStagingLoadJob;
+    private final Job customerReconciliationJob;
+    private final Job customerAsyncPipelineMigrationJob;
+    private final Job customerIncrementalMigrationJob;
+    private final Job customerResumableMigrationJob;
+    private final List<Job> jobs;
+    private final JobExplorer jobExplorer;
+    private final JobExecutionCache jobExecutionCache;
+    private final MigrationProgressPublisher migrationProgressPublisher;
+    private final MigrationWatermarkRepository migrationWatermarkRepository;
 
+    /**
+     * Archivos leídos a la vez por defecto en la migración por shards CSV
+     */
+    @Value("${batch.csv.shards.max-concurrency:4}")
+    private long csvShardMaxConcurrency;
+
+    /**
+     * Directorio de los archivos de spill; no se aceptan rutas fuera de él
+     */
+    @Value("${batch.spill.dir:${java.io.tmpdir}/customer-spill}")
+    private String spillDir;
+
+    /**
+     * Archivo de spill por defecto del modo en dos fases, relativo a batch.spill.dir
+     */
+    @Value("${batch.spill.file:customers.spill}")
+    private String defaultSpillFile;
+
+    /**
+     * Particiones de la carga desde spill cuando la petición no lo indica
+     */
+    @Value("${batch.spill.load.grid-size:4}")
+    private long spillLoadGridSize;
 
     /**
      * Ejecuta el job migración de customers de MySQL a MongoDB
@@ -36,14 +89,346 @@ public class BatchService {
     public JobExecution runCustomerMigrationJob() throws Exception {
         log.info("**** INICIANDO JOB DE MIGRACIÓN DE CUSTOMERS ****");
 
-        try {
-            //Crear parámetros únicos para el job para permitir múltiples ejecuciones
-            JobParameters jobParameters = createJobParameters();
+        //Crear parámetros únicos para el job para permitir múltiples ejecuciones
+        return launchJob(customerMigrationJob, createJobParameters());
+    }
+
+    /**
+     * Inicia el job de migración sin bloquear el hilo que lo solicita
+     * El job corre en el executor del lanzador asíncrono y la JobExecution
+     * se devuelve en cuanto queda registrada en el JobRepository
+     *
+     * @return JobExecution recién creada (normalmente en estado STARTING)
+     * @throws Exception Sí ocurre algún error al lanzar el job
+     */
+    public JobExecution startCustomerMigrationJobAsync() throws Exception {
+        log.info("**** INICIANDO JOB DE MIGRACIÓN DE CUSTOMERS EN SEGUNDO PLANO ****");
+
+        return launchJobAsync(customerMigrationJob, createJobParameters());
+    }
+
+    /**
+     * Ejecuta la variante particionada del job de migración
+     * La tabla customers se divide en rangos de ID que se procesan en paralelo
+     *
+     * @param partitionCount número de rangos de ID
+     * @param gridSize número de particiones que se ejecutan a la vez
+     * @return JobExecution con el resultado de la ejecución
+     * @throws Exception Sí ocurre algún error durante la ejecución
+     */
+    public JobExecution runPartitionedCustomerMigrationJob(long partitionCount, long gridSize) throws Exception {
+        log.info("**** INICIANDO JOB DE MIGRACIÓN PARTICIONADA DE CUSTOMERS ({} particiones, {} concurrentes) ****",
+                partitionCount, gridSize);
+
+        JobParameters jobParameters = new JobParametersBuilder(createJobParameters())
+                .addLong("partition.count", partitionCount)
+                .addLong("partition.gridSize", gridSize)
+                .toJobParameters();
+
+        return launchJob(customerPartitionedMigrationJob, jobParameters);
+    }
+
+    /**
+     * Ejecuta la migración desde un export CSV mapeado en memoria
+     * El archivo se divide en rangos de bytes alineados a registro que se parsean en paralelo
+     *
+     * @param file ruta del archivo CSV en el servidor
+     * @param gridSize número de rangos de bytes (y de particiones concurrentes)
+     * @return JobExecution con el resultado de la ejecución
+     * @throws IllegalArgumentException si el archivo no existe o no se puede leer
+     */
+    public JobExecution runCsvPartitionedCustomerMigrationJob(String file, long gridSize) {
+        Path path = Path.of(file).toAbsolutePath().normalize();
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            throw new IllegalArgumentException("CSV file not found or not readable: " + path);
+        }
+        log.info("**** INICIANDO JOB DE MIGRACIÓN DESDE CSV {} ({} particiones) ****", path, gridSize);
+
+        JobParameters jobParameters = new JobParametersBuilder(createJobParameters())
+                .addString("csv.file", path.toString())
+                .addLong("partition.gridSize", gridSize)
+                .toJobParameters();
+
+        return launchJob(customerCsvPartitionedMigrationJob, jobParameters);
+    }
+
+    /**
+     * Ejecuta la migración desde un export dividido en varios archivos CSV (planos o .gz)
+     * Cada archivo es una partición; como mucho se leen concurrency archivos a la vez
+     *
+     * @param source directorio o glob de los archivos en el servidor
+     * @param concurrency archivos que se leen a la vez (null para usar batch.csv.shards.max-concurrency)
+     * @return JobExecution con el resultado de la ejecución
+     * @throws IllegalArgumentException si el origen no contiene ningún archivo CSV
+     */
+    public JobExecution runCsvShardMigrationJob(String source, Long concurrency) {
+        List<Path> files = CsvShardPartitioner.resolve(source);
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No CSV files match " + source);
+        }
+        if (concurrency == null || concurrency < 1) {
+            concurrency = csvShardMaxConcurrency;
+        }
+        log.info("**** INICIANDO JOB DE MIGRACIÓN POR SHARDS CSV {} ({} archivos, {} concurrentes) ****",
+                source, files.size(), concurrency);
+
+        JobParameters jobParameters = new JobParametersBuilder(createJobParameters())
+                .addString("csv.source", Path.of(source).toAbsolutePath().normalize().toString())
+                .addLong("partition.gridSize", concurrency)
+                .toJobParameters();
+
+        return launchJob(customerCsvShardMigrationJob, jobParameters);
+    }
+
+    /**
+     * Fase 1 del modo en dos fases: vuelca los customers de MySQL a un archivo de spill local
+     *
+     * @param file archivo de spill dentro de batch.spill.dir (null para usar batch.spill.file)
+     * @return JobExecution con el resultado de la ejecución
+     * @throws IllegalArgumentException si el archivo queda fuera de batch.spill.dir
+     */
+    public JobExecution runSpillExtractJob(String file) {
+        Path path = resolveSpillFile(file);
+        log.info("**** INICIANDO EXTRACCIÓN DE CUSTOMERS A SPILL {} ****", path);
+
+        JobParameters jobParameters = new JobParametersBuilder(createJobParameters())
+                .addString("spill.file", path.toString())
+                .toJobParameters();
+
+        return launchJob(customerSpillExtractJob, jobParameters);
+    }
+
+    /**
+     * Fase 2 del modo en dos fases: carga en MongoDB un archivo de spill ya extraído
+     *
+     * @param file archivo de spill dentro de batch.spill.dir (null para usar batch.spill.file)
+     * @param gridSize particiones de la carga (null para usar batch.spill.load.grid-size)
+     * @return JobExecution con el resultado de la ejecución
+     * @throws IllegalArgumentException si el archivo de spill no existe o queda fuera de batch.spill.dir
+     */
+    public JobExecution runSpillLoadJob(String file, Long gridSize) {
+        Path path = resolveSpillFile(file);
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Spill file not found: " + path);
+        }
+        if (gridSize == null || gridSize < 1) {
+            gridSize = spillLoadGridSize;
+        }
+        log.info("**** INICIANDO CARGA DESDE SPILL {} ({} particiones) ****", path, gridSize);
+
+        JobParameters jobParameters = new JobParametersBuilder(createJobParameters())
+                .addString("spill.file", path.toString())
+                .addLong("partition.gridSize", gridSize)
+                .toJobParameters();
+
+        return launchJob(customerSpillLoadJob, jobParameters);
+    }
+
+    /**
+     * Carga completa en una colección de staging que sustituye a la de customers al terminar
+     *
+     * @return JobExecution con el resultado de la ejecución
+     */
+    public JobExecution runStagingLoadJob() {
+        log.info("**** INICIANDO CARGA COMPLETA DE CUSTOMERS EN STAGING ****");
+        return launchJob(customerStagingLoadJob, createJobParameters());
+    }
+
+    /**
+     * Inicia en segundo plano la verificación de la migración (reconciliación por rangos de IDs)
+     * El resultado queda en el exit code del job (COMPLETED o DIFFERENCES_FOUND) y en el
+     * ExecutionContext de su step
+     *
+     * @param ranges rangos del primer nivel (<= 0 usa batch.reconciliation.ranges)
+     * @return JobExecution recién creada
+     */
+    public JobExecution startReconciliationJobAsync(long ranges) {
+        log.info("**** INICIANDO RECONCILIACIÓN MYSQL - MONGODB ({} rangos) ****", ranges);
+
+        JobParameters jobParameters = new JobParametersBuilder(createJobParameters())
+                .addLong(CustomerReconciliationTasklet.RANGES_PARAMETER, ranges)
+                .toJobParameters();
+
+        JobExecution jobExecution = launchJob(asyncJobLauncher, customerReconciliationJob, jobParameters);
+        if (jobExecution.getStatus() == BatchStatus.FAILED) {
+            log.error("El executor de jobs rechazó la ejecución {}: {}",
+                    jobExecution.getId(), jobExecution.getExitStatus().getExitDescription());
+            throw new RuntimeException("Job executor is at capacity");
+        }
+        return jobExecution;
+    }
+
+    /**
+     * Resuelve el archivo de spill dentro de batch.spill.dir
+     * El writer crea directorios y trunca el archivo, por lo que se rechazan las rutas absolutas
+     * y los '..' que salgan del directorio
+     */
+    private Path resolveSpillFile(String file) {
+        Path dir = Path.of(spillDir).toAbsolutePath().normalize();
+        Path path = dir.resolve(file != null && !file.isBlank() ? file : defaultSpillFile).normalize();
+        if (!path.startsWith(dir) || path.equals(dir)) {
+            throw new IllegalArgumentException("Spill file must be inside " + dir + ": " + file);
+        }
+        return path;
+    }
+
+    /**
+     * Ejecuta el job de migración con processor y writer asíncronos
+     *
+     * @param concurrency número máximo de items procesados a la vez
+     * @return JobExecution con el resultado de la ejecución
+     * @throws Exception Sí ocurre algún error durante la ejecución
+     */
+    public JobExecution runAsyncPipelineCustomerMigrationJob(long concurrency) throws Exception {
+        log.info("**** INICIANDO JOB DE MIGRACIÓN CON PIPELINE ASÍNCRONO (concurrencia {}) ****", concurrency);
+
+        JobParameters jobParameters = new JobParametersBuilder(createJobParameters())
+                .addLong("async.concurrency", concurrency)
+                .toJobParameters();
+
+        return launchJob(customerAsyncPipelineMigrationJob, jobParameters);
+    }
+
+    /**
+     * Ejecuta la migración incremental (delta)
+     * Solo migra las filas con id mayor a la marca de agua guardada por la última ejecución completada
+     *
+     * @return JobExecution con el resultado de la ejecución
+     * @throws Exception Sí ocurre algún error durante la ejecución
+     */
+    public JobExecution runIncrementalCustomerMigrationJob() throws Exception {
+        long lastId = migrationWatermarkRepository.findById(MigrationWatermarkListener.MIGRATION_NAME)
+                .map(MigrationWatermark::getLastMigratedId)
+                .orElse(0L);
+        log.info("**** INICIANDO JOB DE MIGRACIÓN INCREMENTAL DE CUSTOMERS (a partir del id {}) ****", lastId);
+
+        JobParameters jobParameters = new JobParametersBuilder(createJobParameters())
+                .addLong("watermark.lastId", lastId)
+                .toJobParameters();
+
+        return launchJob(customerIncrementalMigrationJob, jobParameters);
+    }
+
+    /**
+     * Ejecuta la migración reanudable
+     * El runId identifica la instancia del job: mientras no se complete, relanzar con el mismo
+     * runId continúa tras el último chunk confirmado en lugar de empezar de cero
+     *
+     * @param runId identificador estable de la migración (se genera uno si es null)
+     * @return JobExecution con el resultado de la ejecución
+     * @throws Exception Sí ocurre algún error durante la ejecución
+     */
+    public JobExecution runResumableCustomerMigrationJob(String runId) throws Exception {
+        String effectiveRunId = runId != null && !runId.isBlank()
+                ? runId
+                : LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS"));
+        log.info("**** INICIANDO JOB DE MIGRACIÓN REANUDABLE DE CUSTOMERS (runId {}) ****", effectiveRunId);
+
+        return launchJob(customerResumableMigrationJob, createResumableJobParameters(effectiveRunId));
+    }
+
+    /**
+     * Reinicia una ejecución fallida o detenida
+     * Se relanza la misma instancia (mismos parámetros identificadores), por lo que los steps
+     * reanudan desde el último commit guardado en el JobRepository
+     * El reinicio corre en el executor de jobs, como la migración en segundo plano
+     *
+     * @param jobExecutionId ID de la ejecución a reiniciar
+     * @return JobExecution de la nueva ejecución de la instancia (normalmente en estado STARTING)
+     * @throws IllegalArgumentException si la ejecución no existe o su job no está registrado
+     * @throws IllegalStateException si la ejecución no está en estado FAILED o STOPPED,
+     *                               o la instancia ya tiene otra ejecución en curso
+     */
+    public JobExecution restartJobExecution(Long jobExecutionId) {
+        JobExecution previousExecution = jobExplorer.getJobExecution(jobExecutionId);
+        if (previousExecution == null) {
+            throw new IllegalArgumentException("Job execution not found: " + jobExecutionId);
+        }
+
+        BatchStatus status = previousExecution.getStatus();
+        if (status != BatchStatus.FAILED && status != BatchStatus.STOPPED) {
+            throw new IllegalStateException("Job execution " + jobExecutionId + " is " + status + " and cannot be restarted");
+        }
+
+        //Un reinicio anterior de la misma instancia puede seguir en curso
+        boolean instanceRunning = jobExplorer.getJobExecutions(previousExecution.getJobInstance()).stream()
+                .anyMatch(execution -> execution.getStatus().isRunning());
+        if (instanceRunning) {
+            throw new IllegalStateException("Job instance " + previousExecution.getJobInstance().getInstanceId()
+                    + " already has a running execution");
+        }
+
+        String jobName = previousExecution.getJobInstance().getJobName();
+        Job job = jobs.stream()
+                .filter(candidate -> candidate.getName().equals(jobName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Job not registered: " + jobName));
+
+        log.info("**** REINICIANDO JOB {} DESDE LA EJECUCIÓN {} ({}) ****", jobName, jobExecutionId, status);
+        return launchJobAsync(job, previousExecution.getJobParameters());
+    }
+
+    /**
+     * Parámetros de la migración reanudable
+     * Solo migration.runId es identificador; la marca de tiempo se guarda como informativa
+     * para que no cree una instancia nueva en cada lanzamiento
+     * @param runId identificador estable de la migración
+     * @return JobParameters con identidad estable
+     */
+    private JobParameters createResumableJobParameters(String runId) {
+        return new JobParametersBuilder()
+                .addString("migration.runId", runId)
+                .addString("migration.type", "mysql-to-mongodb")
+                .addString("execution.user", "batch-system", false)
+                .addLong("execution.time", System.currentTimeMillis(), false)
+                .toJobParameters();
+    }
+
+    /**
+     * Lanza un job con el JobLauncher y traduce las excepciones de Spring Batch
+     *
+     * @param job job a ejecutar
+     * @param jobParameters parámetros de la ejecución
+     * @return JobExecution con el resultado de la ejecución
+     */
+    private JobExecution launchJob(Job job, JobParameters jobParameters) {
+        return launchJob(jobLauncher, job, jobParameters);
+    }
+
+    /**
+     * Lanza un job en el executor de jobs sin esperar a que termine
+     *
+     * @param job job a ejecutar
+     * @param jobParameters parámetros de la ejecución
+     * @return JobExecution recién creada
+     * @throws RuntimeException si el executor rechaza la ejecución
+     */
+    private JobExecution launchJobAsync(Job job, JobParameters jobParameters) {
+        JobExecution jobExecution = launchJob(asyncJobLauncher, job, jobParameters);
+
+        //El launcher marca la ejecución como FAILED si el executor rechaza la tarea
+        if (jobExecution.getStatus() == BatchStatus.FAILED) {
+            log.error("El executor de jobs rechazó la ejecución {}: {}",
+                    jobExecution.getId(), jobExecution.getExitStatus().getExitDescription());
+            throw new RuntimeException("Job executor is at capacity");
+        }
+        return jobExecution;
+    }
 
+    /**
+     * Lanza un job con el JobLauncher indicado y traduce las excepciones de Spring Batch
+     *
+     * @param launcher JobLauncher a utilizar (síncrono o asíncrono)
+     * @param job job a ejecutar
+     * @param jobParameters parámetros de la ejecución
+     * @return JobExecution con el resultado de la ejecución
+     */
+    private JobExecution launchJob(JobLauncher launcher, Job job, JobParameters jobParameters) {
+        try {
             log.info("Ejcutando job con parámetros: {}", jobParameters.getParameters());
 
             //Ejecutar el job
-            JobExecution jobExecution = jobLauncher.run(customerMigrationJob, jobParameters);
+            JobExecution jobExecution = launcher.run(job, jobParameters);
 
             //Log del estado inicial
             log.info("Job iniciado exitosamente. JobExecutionId: {}, Status {}",
@@ -66,12 +451,83 @@ public class BatchService {
             log.error("Parámetros del job inválidos: {}", e.getMessage());
             throw new RuntimeException("Invalid job parameters", e);
 
+
         } catch (Exception e) {
             log.error("Error inesperado al ejecutar el job: {}", e.getMessage());
             throw new RuntimeException("Unexpected error running migration job", e);
         }
     }
 
+    /**
+     * Busca una ejecución de job en el JobRepository
+     * Las ejecuciones terminadas se sirven desde caché y las que siguen en curso
+     * se releen como mucho una vez por TTL
+     *
+     * @param jobExecutionId ID de la ejecución del job
+     * @return JobExecution si existe
+     */
+    public Optional<JobExecution> findJobExecution(Long jobExecutionId) {
+        return jobExecutionCache.find(jobExecutionId);
+    }
+
+    /**
+     * Suscribe un cliente SSE al progreso de una ejecución
+     * Si la ejecución ya terminó se envía directamente el evento final
+     *
+     * El estado se relee del JobRepository (sin caché) después de suscribir: si el job termina
+     * entre la búsqueda y la suscripción, el evento final del listener ya se emitió sin este
+     * cliente y hay que completarlo aquí
+     *
+     * @param jobExecutionId ID de la ejecución del job
+     * @return SseEmitter con los eventos de progreso, vacío si la ejecución no existe
+     */
+    public Optional<SseEmitter> subscribeToProgress(Long jobExecutionId) {
+        if (findJobExecution(jobExecutionId).isEmpty()) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = migrationProgressPublisher.subscribe(jobExecutionId);
+        JobExecution jobExecution = jobExplorer.getJobExecution(jobExecutionId);
+        //JobExecution.isRunning() es false para STARTING (aún sin startTime); se usa el BatchStatus
+        if (jobExecution != null && !jobExecution.getStatus().isRunning()) {
+            migrationProgressPublisher.complete(createFinalProgressEvent(jobExecution));
+        }
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Evento de progreso final construido con los contadores guardados de la ejecución
+     * Los steps worker de una partición se omiten porque el step manager ya los agrega
+     */
+    private BatchResponseDto.ProgressEvent createFinalProgressEvent(JobExecution jobExecution) {
+        long read = 0;
+        long written = 0;
+        long filtered = 0;
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            if (stepExecution.getStepName().contains(":")) {
+                continue;
+            }
+            read += stepExecution.getReadCount();
+            written += stepExecution.getWriteCount();
+            filtered += stepExecution.getFilterCount();
+        }
+
+        Long elapsedSeconds = jobExecution.getStartTime() != null && jobExecution.getEndTime() != null
+                ? Duration.between(jobExecution.getStartTime(), jobExecution.getEndTime()).getSeconds()
+                : null;
+
+        return BatchResponseDto.ProgressEvent.builder()
+                .jobExecutionId(jobExecution.getId())
+                .status(jobExecution.getStatus().toString())
+                .readCount(read)
+                .writeCount(written)
+                .filterCount(filtered)
+                .etaSeconds(0L)
+                .elapsedSeconds(elapsedSeconds)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     /**
      * Obtiene el estado actual de una ejecución de job
      *
@@ -83,10 +539,14 @@ public class BatchService {
 
         Map<String, Object> status = new HashMap<>();
         try {
-            //En un escenerio real, se obtendria la JobExecution desde el JobRepository
-            //Por simplicidad, retornamos información básica
-            status.put("JobExecutionId", jobExecutionId);
-            status.put("message", "Use the JobExecution returned from runCustomerMigrationJob() for detailed status");
+            Optional<JobExecution> jobExecution = findJobExecution(jobExecutionId);
+            if (jobExecution.isPresent()) {
+                status.putAll(getDetailedJobExecutionInfo(jobExecution.get()));
+                status.put("message", "Job execution found");
+            } else {
+                status.put("jobExecutionId", jobExecutionId);
+                status.put("message", "Job execution not found");
+            }
             status.put("timestamp", LocalDateTime.now());
         } catch (Exception e) {
             log.error("Error al obtener estado del job execution {}: {}", jobExecutionId, e.getMessage());
@@ -136,6 +596,7 @@ public class BatchService {
             stepInfo.put("processSkipCount", stepExecution.getProcessSkipCount());
             stepInfo.put("writeSkipCount", stepExecution.getWriteSkipCount());
             stepInfo.put("filterCount", stepExecution.getFilterCount());
+            stepInfo.put("exitDescription", stepExecution.getExitStatus().getExitDescription());
 
             stepsInfo.put(stepExecution.getStepName(), stepInfo);
 
@@ -158,15 +619,10 @@ public class BatchService {
      * @return true si hay un job en ejecución, false en caso contrario
      */
     public boolean isMigrationJobRunning(){
-        //En un escenario real, se consultaría el JobRepository para verificar
-        //jobs en estado STARTED o STARTING
         log.debug("Verificando si hay jobs de migración en ejecución");
 
-        //Por simplicidad, siempre retorna a false
-        //En una implementación real, sería
-        //return jobRepository.getLastJobExecution(jobName, jobParameters).getStatus() = BatchStatus.STARTED;
-
-        return false;
+        //Consulta las ejecuciones STARTING/STARTED/STOPPING del JobRepository (sin caché)
+        return jobExecutionCache.isAnyJobRunning();
     }
 
     /**
@@ -217,20 +673,24 @@ public class BatchService {
         int totalErrors = 0;
 
         for (StepExecution stepExecution : jobExecution.getStepExecutions()){
+            //Los workers de una partición ya están sumados en el step manager
+            if (stepExecution.getStepName().contains(":")) {
+                continue;
+            }
             totalRead += stepExecution.getReadCount();
             totalWritten += stepExecution.getWriteCount();
-            totalSkipped += stepExecution.getReadSkipCount();
-                            stepExecution.getProcessSkipCount();
-                            stepExecution.getWriteSkipCount();
+            totalSkipped += stepExecution.getReadSkipCount()
+                    + stepExecution.getProcessSkipCount()
+                    + stepExecution.getWriteSkipCount();
             totalErrors += stepExecution.getRollbackCount();
         }
 
         summary.put("statistics", Map.of(
                 "customersRead", totalRead,
-                "customerWritten", totalWritten,
+                "customersWritten", totalWritten,
                 "customersSkipped", totalSkipped,
                 "errorsEncountered", totalErrors,
-                "successRate", totalRead > 0 ? (double) totalWritten / totalRead * 100 : 0
+                "successRate", totalRead > 0 ? totalWritten * 100.0 / totalRead : 0
         ));
 
         //Información del timing
@@ -0,0 +1,42 @@
+package com.project.Project_SpringBatch.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Programador de la migración incremental
+ * Lanza el job incremental cada batch.incremental.interval-ms milisegundos
+ * Solo se activa con batch.incremental.scheduler.enabled=true
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "batch.incremental.scheduler.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class IncrementalMigrationScheduler {
+
+    private final BatchService batchService;
+
+    /**
+     * Ejecuta una migración delta si no hay otra migración en curso
+     * fixedDelay garantiza que dos ejecuciones programadas nunca se solapen
+     */
+    @Scheduled(fixedDelayString = "${batch.incremental.interval-ms:3600000}",
+            initialDelayString = "${batch.incremental.initial-delay-ms:60000}")
+    public void runIncrementalMigration() {
+        if (batchService.isMigrationJobRunning()) {
+            log.info("Migración incremental programada omitida: hay una migración en curso");
+            return;
+        }
+
+        try {
+            batchService.runIncrementalCustomerMigrationJob();
+        } catch (Exception e) {
+            log.error("Error en la migración incremental programada: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.Project_SpringBatch.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Caché de lecturas del JobExplorer para los endpoints de estado
+ *
+ * - Ejecuciones terminadas (COMPLETED, FAILED, STOPPED, ABANDONED): sus datos ya no cambian,
+ *   se guardan hasta ser desalojadas por tamaño
+ * - Resto de ejecuciones (STARTING, STARTED, STOPPING, UNKNOWN): TTL corto (batch.status-cache.running-ttl-ms)
+ * - La consulta de jobs activos no se cachea: la usa la guarda de lanzamiento y un valor
+ *   desactualizado permitiría lanzar dos migraciones a la vez
+ *
+ * Así los dashboards que consultan cada segundo no golpean las tablas de metadatos de Spring Batch.
+ */
+@Component
+@Slf4j
+public class JobExecutionCache {
+
+    /**
+     * Estados definitivos: una ejecución en ellos ya no cambia
+     */
+    private static final Set<BatchStatus> TERMINAL_STATUSES =
+            EnumSet.of(BatchStatus.COMPLETED, BatchStatus.FAILED, BatchStatus.STOPPED, BatchStatus.ABANDONED);
+
+    private final JobExplorer jobExplorer;
+    private final Cache<Long, JobExecution> finishedExecutions;
+    private final Cache<Long, JobExecution> runningExecutions;
+
+    public JobExecutionCache(JobExplorer jobExplorer,
+                             @Value("${batch.status-cache.running-ttl-ms:1000}") long runningTtlMillis,
+                             @Value("${batch.status-cache.finished-max-size:1000}") long finishedMaxSize) {
+        this.jobExplorer = jobExplorer;
+        this.finishedExecutions = Caffeine.newBuilder()
+                .maximumSize(finishedMaxSize)
+                .build();
+        this.runningExecutions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(runningTtlMillis))
+                .maximumSize(finishedMaxSize)
+                .build();
+    }
+
+    /**
+     * Busca una ejecución de job usando la caché correspondiente a su estado
+     * @param jobExecutionId ID de la ejecución
+     * @return JobExecution si existe
+     */
+    public Optional<JobExecution> find(Long jobExecutionId) {
+        JobExecution finished = finishedExecutions.getIfPresent(jobExecutionId);
+        if (finished != null) {
+            return Optional.of(finished);
+        }
+
+        //Las ejecuciones inexistentes no se guardan (Caffeine no almacena null)
+        JobExecution execution = runningExecutions.get(jobExecutionId, jobExplorer::getJobExecution);
+        //JobExecution.isRunning() no sirve: una ejecución STARTING aún no tiene startTime
+        if (execution != null && TERMINAL_STATUSES.contains(execution.getStatus())) {
+            //Terminó: pasa a la caché sin expiración
+            finishedExecutions.put(jobExecutionId, execution);
+            runningExecutions.invalidate(jobExecutionId);
+            log.debug("JobExecution {} terminada en {}, se guarda en caché", jobExecutionId, execution.getStatus());
+        }
+        return Optional.ofNullable(execution);
+    }
+
+    /**
+     * Indica si algún job registrado en el JobRepository tiene una ejecución en curso
+     * Siempre consulta el JobRepository (sin caché)
+     * @return true si hay al menos una ejecución STARTING, STARTED o STOPPING
+     */
+    public boolean isAnyJobRunning() {
+        return jobExplorer.getJobNames().stream()
+                .anyMatch(jobName -> !jobExplorer.findRunningJobExecutions(jobName).isEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+package com.project.Project_SpringBatch.spill;
+
+import com.project.Project_SpringBatch.domain.Customer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Formato binario del archivo de spill de customers
+ *
+ * Cabecera (8 bytes): magic "CSPL", versión (short) y flags (short, bit 0 = bloques comprimidos)
+ * A continuación una secuencia de bloques, uno por chunk escrito:
+ * - storedLength (int): bytes del bloque en disco
+ * - rawLength (int): bytes del bloque sin comprimir
+ * - recordCount (int): registros del bloque
+ * - datos: registros consecutivos, cada uno con su longitud (int) delante
+ *
+ * Cada registro guarda un byte de presencia (id, campos de texto y registered_at pueden ser null)
+ * seguido de los valores presentes; registered_at se guarda como segundos UTC + nanos.
+ */
+public final class CustomerSpillFormat {
+
+    public static final int MAGIC = 0x4353504C; //"CSPL"
+    public static final short VERSION = 1;
+    public static final short FLAG_COMPRESSED = 1;
+
+    public static final int FILE_HEADER_SIZE = 8;
+    public static final int BLOCK_HEADER_SIZE = 12;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_LAST_NAME = 1 << 2;
+    private static final int HAS_EMAIL = 1 << 3;
+    private static final int HAS_COUNTRY = 1 << 4;
+    private static final int HAS_REGISTERED_AT = 1 << 5;
+
+    private CustomerSpillFormat() {
+    }
+
+    /**
+     * @param compressed si los bloques van comprimidos
+     * @return cabecera del archivo
+     */
+    public static ByteBuffer fileHeader(boolean compressed) {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putShort(compressed ? FLAG_COMPRESSED : 0);
+        return header.flip();
+    }
+
+    /**
+     * Valida la cabecera del archivo
+     * @param header los FILE_HEADER_SIZE primeros bytes del archivo
+     * @return true si los bloques van comprimidos
+     */
+    public static boolean readFileHeader(ByteBuffer header) {
+        if (header.remaining() < FILE_HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a customer spill file");
+        }
+        short version = header.getShort();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported spill file version " + version);
+        }
+        return (header.getShort() & FLAG_COMPRESSED) != 0;
+    }
+
+    /**
+     * Escribe un customer (sin el prefijo de longitud)
+     */
+    public static void write(Customer customer, DataOutput out) throws IOException {
+        int flags = (customer.getId() != null ? HAS_ID : 0)
+                | (customer.getName() != null ? HAS_NAME : 0)
+                | (customer.getLastName() != null ? HAS_LAST_NAME : 0)
+                | (customer.getEmail() != null ? HAS_EMAIL : 0)
+                | (customer.getCountry() != null ? HAS_COUNTRY : 0)
+                | (customer.getRegisteredAt() != null ? HAS_REGISTERED_AT : 0);
+        out.writeByte(flags);
+        if (customer.getId() != null) {
+            out.writeLong(customer.getId());
+        }
+        writeString(customer.getName(), out);
+        writeString(customer.getLastName(), out);
+        writeString(customer.getEmail(), out);
+        writeString(customer.getCountry(), out);
+        if (customer.getRegisteredAt() != null) {
+            out.writeLong(customer.getRegisteredAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(customer.getRegisteredAt().getNano());
+        }
+    }
+
+    /**
+     * Lee un customer escrito con write
+     */
+    public static Customer read(DataInput in) throws IOException {
+        int flags = in.readUnsignedByte();
+        Customer customer = new Customer();
+        if ((flags & HAS_ID) != 0) {
+            customer.setId(in.readLong());
+        }
+        customer.setName((flags & HAS_NAME) != 0 ? in.readUTF() : null);
+        customer.setLastName((flags & HAS_LAST_NAME) != 0 ? in.readUTF() : null);
+        customer.setEmail((flags & HAS_EMAIL) != 0 ? in.readUTF() : null);
+        customer.setCountry((flags & HAS_COUNTRY) != 0 ? in.readUTF() : null);
+        if ((flags & HAS_REGISTERED_AT) != 0) {
+            long epochSecond = in.readLong();
+            int nano = in.readInt();
+            customer.setRegisteredAt(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        }
+        return customer;
+    }
+
+    /**
+     * Lee del canal hasta llenar el buffer a partir de una posición
+     * @throws EOFException si el archivo termina antes
+     */
+    public static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Spill file ends at " + position);
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Escribe el buffer completo en el canal a partir de una posición
+     */
+    public static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void writeString(String value, DataOutput out) throws IOException {
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+}
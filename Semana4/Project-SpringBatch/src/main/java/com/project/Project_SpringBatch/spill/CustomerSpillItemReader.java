@@ -0,0 +1,171 @@
+package com.project.Project_SpringBatch.spill;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * ItemReader de la fase de carga: lee los bloques del archivo de spill dentro del rango
+ * [startOffset, endOffset) asignado por CustomerSpillPartitioner
+ *
+ * Guarda en el ExecutionContext el bloque en curso y los registros ya leídos de ese bloque,
+ * por lo que al reiniciar una partición se continúa tras el último chunk confirmado aunque
+ * los chunks de carga no coincidan con los bloques de la extracción.
+ */
+@Slf4j
+public class CustomerSpillItemReader implements ItemStreamReader<Customer> {
+
+    public static final String BLOCK_KEY = "customerSpillReader.block";
+    public static final String INDEX_KEY = "customerSpillReader.index";
+
+    private final Path file;
+    private final long startOffset;
+    private final long endOffset;
+
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(CustomerSpillFormat.BLOCK_HEADER_SIZE);
+    private byte[] stored = new byte[64 * 1024];
+    private byte[] raw = new byte[64 * 1024];
+    private Inflater inflater;
+
+    private FileChannel channel;
+    private boolean compressed;
+    private DataInputStream blockIn;
+    private long blockOffset = -1;
+    private long nextBlockOffset;
+    private int recordCount;
+    private int recordIndex;
+
+    /**
+     * @param file archivo de spill
+     * @param startOffset posición del primer bloque de la partición
+     * @param endOffset posición siguiente al último bloque de la partición
+     */
+    public CustomerSpillItemReader(Path file, long startOffset, long endOffset) {
+        this.file = file;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            ByteBuffer header = ByteBuffer.allocate(CustomerSpillFormat.FILE_HEADER_SIZE);
+            CustomerSpillFormat.readFully(channel, header, 0);
+            compressed = CustomerSpillFormat.readFileHeader(header);
+            if (compressed) {
+                inflater = new Inflater();
+            }
+
+            nextBlockOffset = startOffset;
+            if (executionContext.containsKey(BLOCK_KEY)) {
+                int skip = executionContext.getInt(INDEX_KEY);
+                loadBlock(executionContext.getLong(BLOCK_KEY));
+                for (int i = 0; i < skip; i++) {
+                    blockIn.skipNBytes(blockIn.readInt());
+                }
+                recordIndex = skip;
+                log.info("Lectura del spill {} reanudada en el bloque {} (registro {})", file, blockOffset, skip);
+            }
+        } catch (IOException | DataFormatException e) {
+            throw new ItemStreamException("Failed to open spill file " + file, e);
+        }
+    }
+
+    @Override
+    public Customer read() throws Exception {
+        while (blockIn == null || recordIndex == recordCount) {
+            if (nextBlockOffset >= endOffset) {
+                return null;
+            }
+            loadBlock(nextBlockOffset);
+        }
+        blockIn.readInt(); //Longitud del registro: solo se usa para saltar registros al reanudar
+        recordIndex++;
+        return CustomerSpillFormat.read(blockIn);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (blockOffset >= 0) {
+            executionContext.putLong(BLOCK_KEY, blockOffset);
+            executionContext.putInt(INDEX_KEY, recordIndex);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+        blockIn = null;
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close spill file " + file, e);
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * Lee (y descomprime si es necesario) el bloque que empieza en offset
+     */
+    private void loadBlock(long offset) throws IOException, DataFormatException {
+        blockHeader.clear();
+        CustomerSpillFormat.readFully(channel, blockHeader, offset);
+        int storedLength = blockHeader.getInt();
+        int rawLength = blockHeader.getInt();
+        int count = blockHeader.getInt();
+
+        if (stored.length < storedLength) {
+            stored = new byte[storedLength];
+        }
+        CustomerSpillFormat.readFully(channel, ByteBuffer.wrap(stored, 0, storedLength),
+                offset + CustomerSpillFormat.BLOCK_HEADER_SIZE);
+
+        byte[] data = stored;
+        if (compressed) {
+            if (raw.length < rawLength) {
+                raw = new byte[rawLength];
+            }
+            inflater.reset();
+            inflater.setInput(stored, 0, storedLength);
+            int inflated = 0;
+            while (inflated < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, inflated, rawLength - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != rawLength) {
+                throw new IOException("Corrupt spill block at " + offset + ": expected " + rawLength
+                        + " bytes but inflated " + inflated);
+            }
+            data = raw;
+        }
+
+        blockIn = new DataInputStream(new ByteArrayInputStream(data, 0, rawLength));
+        blockOffset = offset;
+        nextBlockOffset = offset + CustomerSpillFormat.BLOCK_HEADER_SIZE + storedLength;
+        recordCount = count;
+        recordIndex = 0;
+    }
+}
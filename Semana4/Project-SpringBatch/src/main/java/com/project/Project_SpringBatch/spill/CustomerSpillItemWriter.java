@@ -0,0 +1,183 @@
+package com.project.Project_SpringBatch.spill;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * ItemWriter de la fase de extracción: escribe cada chunk como un bloque del archivo de spill
+ * (formato en CustomerSpillFormat), opcionalmente comprimido con Deflater
+ *
+ * El bloque se escribe y se sincroniza con disco antes del commit del chunk, y la posición
+ * final se guarda en el ExecutionContext. Al reiniciar, el archivo se trunca a la última
+ * posición confirmada, descartando un posible bloque escrito por un chunk que no llegó a confirmarse.
+ */
+@Slf4j
+public class CustomerSpillItemWriter implements ItemStreamWriter<Customer> {
+
+    public static final String POSITION_KEY = "customerSpillWriter.position";
+    public static final String RECORDS_KEY = "customerSpillWriter.records";
+
+    private final Path file;
+    private final boolean compress;
+
+    private final BlockBuffer block = new BlockBuffer();
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private final BlockBuffer record = new BlockBuffer();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(CustomerSpillFormat.BLOCK_HEADER_SIZE);
+
+    private byte[] compressed = new byte[64 * 1024];
+    private Deflater deflater;
+    private FileChannel channel;
+    private long position;
+    private long records;
+
+    /**
+     * @param file archivo de spill
+     * @param compress si los bloques se comprimen
+     */
+    public CustomerSpillItemWriter(Path file, boolean compress) {
+        this.file = file;
+        this.compress = compress;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            if (executionContext.containsKey(POSITION_KEY)) {
+                position = executionContext.getLong(POSITION_KEY);
+                records = executionContext.getLong(RECORDS_KEY, 0L);
+                if (channel.size() < position) {
+                    throw new ItemStreamException("Spill file " + file + " is shorter than the committed position " + position);
+                }
+                ByteBuffer header = ByteBuffer.allocate(CustomerSpillFormat.FILE_HEADER_SIZE);
+                CustomerSpillFormat.readFully(channel, header, 0);
+                if (CustomerSpillFormat.readFileHeader(header) != compress) {
+                    throw new ItemStreamException("Spill file " + file + " was written with a different compression setting");
+                }
+                channel.truncate(position);
+                log.info("Spill {} reanudado en el byte {} ({} registros ya extraídos)", file, position, records);
+            } else {
+                channel.truncate(0);
+                CustomerSpillFormat.writeFully(channel, CustomerSpillFormat.fileHeader(compress), 0);
+                position = CustomerSpillFormat.FILE_HEADER_SIZE;
+                records = 0;
+                log.info("Spill {} creado (compresión: {})", file, compress);
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open spill file " + file, e);
+        }
+
+        if (compress) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends Customer> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        block.reset();
+        for (Customer customer : chunk) {
+            record.reset();
+            CustomerSpillFormat.write(customer, recordOut);
+            blockOut.writeInt(record.size());
+            blockOut.write(record.buffer(), 0, record.size());
+        }
+
+        byte[] data = block.buffer();
+        int storedLength = block.size();
+        if (compress) {
+            storedLength = deflate(block.buffer(), block.size());
+            data = compressed;
+        }
+
+        blockHeader.clear();
+        blockHeader.putInt(storedLength).putInt(block.size()).putInt(chunk.size()).flip();
+        CustomerSpillFormat.writeFully(channel, blockHeader, position);
+        CustomerSpillFormat.writeFully(channel, ByteBuffer.wrap(data, 0, storedLength),
+                position + CustomerSpillFormat.BLOCK_HEADER_SIZE);
+        channel.force(false); //El bloque queda en disco antes de confirmar el chunk
+
+        position += CustomerSpillFormat.BLOCK_HEADER_SIZE + storedLength;
+        records += chunk.size();
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(POSITION_KEY, position);
+        executionContext.putLong(RECORDS_KEY, records);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (deflater != null) {
+            deflater.end();
+            deflater = null;
+        }
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close spill file " + file, e);
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * Comprime el bloque en el buffer compressed
+     * @return bytes comprimidos
+     */
+    private int deflate(byte[] input, int length) {
+        deflater.reset();
+        deflater.setInput(input, 0, length);
+        deflater.finish();
+        int total = 0;
+        while (!deflater.finished()) {
+            if (total == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            total += deflater.deflate(compressed, total, compressed.length - total);
+        }
+        return total;
+    }
+
+    /**
+     * ByteArrayOutputStream que expone su buffer para no copiarlo en cada bloque
+     */
+    private static class BlockBuffer extends ByteArrayOutputStream {
+
+        private BlockBuffer() {
+            super(64 * 1024);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+}
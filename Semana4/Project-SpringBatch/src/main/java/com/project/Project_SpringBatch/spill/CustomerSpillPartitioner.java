@@ -0,0 +1,100 @@
+package com.project.Project_SpringBatch.spill;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Partitioner de la fase de carga: reparte los bloques del archivo de spill en rangos
+ * contiguos con un número de registros similar
+ * Solo lee las cabeceras de bloque (12 bytes cada una) y salta los datos
+ * Cada ExecutionContext lleva 'startOffset', 'endOffset' y 'records'
+ */
+@Slf4j
+public class CustomerSpillPartitioner implements Partitioner {
+
+    public static final String START_OFFSET_KEY = "startOffset";
+    public static final String END_OFFSET_KEY = "endOffset";
+    public static final String RECORDS_KEY = "records";
+
+    private final Path file;
+
+    public CustomerSpillPartitioner(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(CustomerSpillFormat.FILE_HEADER_SIZE);
+            CustomerSpillFormat.readFully(channel, header, 0);
+            CustomerSpillFormat.readFileHeader(header);
+
+            long size = channel.size();
+            long totalRecords = countRecords(channel, size);
+            int partitionCount = Math.max(1, gridSize);
+            long recordsPerPartition = Math.max(1, (totalRecords + partitionCount - 1) / partitionCount);
+
+            Map<String, ExecutionContext> partitions = new HashMap<>();
+            ByteBuffer blockHeader = ByteBuffer.allocate(CustomerSpillFormat.BLOCK_HEADER_SIZE);
+            long start = CustomerSpillFormat.FILE_HEADER_SIZE;
+            long position = start;
+            long records = 0;
+            while (position < size) {
+                blockHeader.clear();
+                CustomerSpillFormat.readFully(channel, blockHeader, position);
+                int storedLength = blockHeader.getInt();
+                blockHeader.getInt();
+                records += blockHeader.getInt();
+                position += CustomerSpillFormat.BLOCK_HEADER_SIZE + storedLength;
+
+                if (records >= recordsPerPartition && partitions.size() < partitionCount - 1) {
+                    partitions.put("partition" + partitions.size(), createContext(start, position, records));
+                    start = position;
+                    records = 0;
+                }
+            }
+            if (start < size || partitions.isEmpty()) {
+                partitions.put("partition" + partitions.size(), createContext(start, size, records));
+            }
+
+            log.info("Spill {} ({} registros) dividido en {} particiones", file, totalRecords, partitions.size());
+            return partitions;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to partition spill file " + file, e);
+        }
+    }
+
+    private long countRecords(FileChannel channel, long size) throws IOException {
+        ByteBuffer blockHeader = ByteBuffer.allocate(CustomerSpillFormat.BLOCK_HEADER_SIZE);
+        long total = 0;
+        long position = CustomerSpillFormat.FILE_HEADER_SIZE;
+        while (position < size) {
+            blockHeader.clear();
+            CustomerSpillFormat.readFully(channel, blockHeader, position);
+            int storedLength = blockHeader.getInt();
+            blockHeader.getInt();
+            total += blockHeader.getInt();
+            position += CustomerSpillFormat.BLOCK_HEADER_SIZE + storedLength;
+        }
+        return total;
+    }
+
+    private ExecutionContext createContext(long startOffset, long endOffset, long records) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(START_OFFSET_KEY, startOffset);
+        context.putLong(END_OFFSET_KEY, endOffset);
+        context.putLong(RECORDS_KEY, records);
+        return context;
+    }
+}
@@ -0,0 +1,131 @@
+package com.project.Project_SpringBatch.writer;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.project.Project_SpringBatch.chunk.WriteLatencyTracker;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
+import com.project.Project_SpringBatch.metrics.MigrationMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ItemWriter idempotente que envía un único bulk write UNORDERED por chunk
+ *
+ * A diferencia de CustomerItemWriter no consulta MongoDB por cada item:
+ * - Cada documento se escribe como upsert con clave original_mysql_id
+ * - Los campos se aplican con $setOnInsert, por lo que un documento ya migrado no se modifica
+ * - Los índices únicos de original_mysql_id y email sustituyen a las verificaciones previas;
+ *   CustomerIndexBootstrapper los garantiza al arrancar
+ * - Los documentos insertados se registran en el índice de membresía para que el precheck
+ *   de email del processor siga siendo exacto durante el resto de la ejecución
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerBulkUpsertItemWriter implements ItemWriter<CustomerDocument> {
+
+    /**
+     * Código de error de MongoDB para violación de índice único
+     */
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final WriteLatencyTracker writeLatencyTracker;
+    private final MigrationMetrics migrationMetrics;
+    private final CustomerMembershipIndex customerMembershipIndex;
+
+    /**
+     * Escribe un chunk completo con una sola operación bulk
+     *
+     * @param chunk lote de CustomerDocuments a escribir
+     * @throws Exception si ocurre algún error distinto a un duplicado
+     */
+    @Override
+    public void write(Chunk<? extends CustomerDocument> chunk) throws Exception {
+        List<? extends CustomerDocument> customers = chunk.getItems();
+
+        if (customers.isEmpty()) {
+            log.warn("Chunk vacío recibido. No hay datos para escribir");
+            return;
+        }
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CustomerDocument.class);
+        for (CustomerDocument customer : customers) {
+            Query query = Query.query(Criteria.where("original_mysql_id").is(customer.getOriginalMysqlId()));
+            bulkOperations.upsert(query, toInsertOnlyUpdate(customer));
+        }
+
+        BulkWriteResult result;
+        int duplicatesCount = 0;
+        long writeStart = System.nanoTime();
+        try {
+            result = bulkOperations.execute();
+            writeLatencyTracker.record(customers.size(), System.nanoTime() - writeStart);
+
+        } catch (BulkOperationException e) {
+            //En modo UNORDERED el resto de operaciones se aplica aunque alguna falle
+            result = e.getResult();
+            writeLatencyTracker.record(customers.size(), System.nanoTime() - writeStart);
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                    duplicatesCount++;
+                } else {
+                    log.error("Error no recuperable en bulk upsert (índice {}): {}", error.getIndex(), error.getMessage());
+                    throw new RuntimeException("Failed to bulk upsert customers to MongoDB", e);
+                }
+            }
+        }
+
+        //Solo los upserts insertaron documento; los índices corresponden a la posición en el chunk
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            customerMembershipIndex.register(customers.get(upsert.getIndex()));
+        }
+
+        migrationMetrics.incrementWritten(result.getUpserts().size());
+        migrationMetrics.incrementDuplicates(result.getMatchedCount() + duplicatesCount);
+        logWriteSummary(customers.size(), result.getUpserts().size(), result.getMatchedCount(), duplicatesCount);
+    }
+
+    /**
+     * Construye un Update que solo asigna los campos cuando el upsert inserta el documento
+     * Se usa el MongoConverter para respetar los nombres de @Field del documento
+     *
+     * @param customer customer a convertir
+     * @return Update con $setOnInsert de todos los campos
+     */
+    private Update toInsertOnlyUpdate(CustomerDocument customer) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(customer, document);
+        document.remove("_id");
+
+        Update update = new Update();
+        document.forEach(update::setOnInsert);
+        return update;
+    }
+
+    /**
+     * Registra un resumen de la operación bulk
+     * @param totalReceived total de customers recibidos
+     * @param inserted documentos insertados por el upsert
+     * @param matched documentos que ya existían (no se modifican)
+     * @param duplicatesCount documentos rechazados por índice único
+     */
+    private void logWriteSummary(int totalReceived, int inserted, int matched, int duplicatesCount) {
+        log.info("*** RESUMEN DE BULK UPSERT - recibidos: {}, insertados: {}, ya existentes: {}, duplicados: {}",
+                totalReceived, inserted, matched, duplicatesCount);
+    }
+}
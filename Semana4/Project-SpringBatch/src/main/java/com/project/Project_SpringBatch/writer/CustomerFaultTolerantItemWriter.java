@@ -0,0 +1,432 @@
+package com.project.Project_SpringBatch.writer;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.MongoWriteConcernException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.project.Project_SpringBatch.chunk.WriteLatencyTracker;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
+import com.project.Project_SpringBatch.metrics.MigrationMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonSerializationException;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.policy.ExceptionClassifierRetryPolicy;
+import org.springframework.retry.policy.NeverRetryPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * ItemWriter tolerante a fallos: un documento defectuoso ya no hace fallar el chunk ni el job
+ *
+ * Mismo modelo de escritura que CustomerBulkUpsertItemWriter (upsert por original_mysql_id con
+ * $setOnInsert), con tres mecanismos adicionales:
+ * - Errores transitorios (timeouts, red, cambio de primario, write concern): el bulk write se
+ *   reintenta con backoff exponencial; si se agotan los intentos el chunk falla como antes
+ * - Errores de un documento concreto que MongoDB indica en el bulk write (validación, etc.): en modo
+ *   UNORDERED el resto del lote ya está aplicado, así que solo esos documentos se rechazan
+ * - Un documento que no se puede convertir se rechaza antes de enviar nada
+ * - Un documento que el driver no puede serializar (tamaño máximo, nombres de campo no válidos) hace
+ *   fallar el bulk write sin indicar cuál es: el lote se divide en dos mitades que se escriben por
+ *   separado hasta aislarlo (log2 del chunk niveles), en lugar de reintentar item a item como hace
+ *   el faultTolerant() de Spring Batch
+ * - Cualquier otro error (comandos rechazados por el servidor, autenticación...) no depende de un
+ *   documento concreto: el chunk falla sin dividirse ni enviar nada a la dead-letter
+ *
+ * Los rechazados se guardan en batch.writer.fault-tolerant.dead-letter-collection con el documento
+ * y el error. Un documento correcto solo se inserta una vez: los reenvíos de una mitad ya aplicada
+ * son upserts con $setOnInsert que no modifican nada. Por eso los documentos ya existentes solo
+ * cuentan como duplicados en el primer envío del chunk completo; en un reintento o en una mitad
+ * pueden ser documentos que este mismo chunk insertó en el envío fallido.
+ *
+ * Como CustomerBulkUpsertItemWriter, registra los documentos insertados en el índice de membresía.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerFaultTolerantItemWriter implements ItemWriter<CustomerDocument> {
+
+    /**
+     * Código de error de MongoDB para violación de índice único
+     */
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    /**
+     * Etiqueta que el servidor añade a los errores de escritura que se pueden reintentar
+     */
+    private static final String RETRYABLE_WRITE_ERROR_LABEL = "RetryableWriteError";
+
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+    private static final ReplaceOptions REPLACE_UPSERT = new ReplaceOptions().upsert(true);
+
+    private final MongoTemplate mongoTemplate;
+    private final WriteLatencyTracker writeLatencyTracker;
+    private final MigrationMetrics migrationMetrics;
+    private final CustomerMembershipIndex customerMembershipIndex;
+
+    /**
+     * Intentos de un bulk write ante errores transitorios (incluye el primero)
+     */
+    @Value("${batch.writer.fault-tolerant.max-attempts:4}")
+    private int maxAttempts = 4;
+
+    /**
+     * Espera antes del primer reintento; se multiplica en cada intento hasta max-backoff-ms
+     */
+    @Value("${batch.writer.fault-tolerant.initial-backoff-ms:200}")
+    private long initialBackoffMillis = 200;
+
+    @Value("${batch.writer.fault-tolerant.backoff-multiplier:2.0}")
+    private double backoffMultiplier = 2.0;
+
+    @Value("${batch.writer.fault-tolerant.max-backoff-ms:5000}")
+    private long maxBackoffMillis = 5000;
+
+    /**
+     * Rechazos permitidos por chunk; por encima el error se considera sistemático y el chunk falla
+     */
+    @Value("${batch.writer.fault-tolerant.max-rejects-per-chunk:100}")
+    private int maxRejectsPerChunk = 100;
+
+    @Value("${batch.writer.fault-tolerant.dead-letter-collection:customers_dead_letter}")
+    private String deadLetterCollection = "customers_dead_letter";
+
+    private volatile RetryTemplate retryTemplate;
+
+    /**
+     * Escribe el chunk aislando los documentos que no se pueden escribir
+     *
+     * @param chunk lote de CustomerDocuments a escribir
+     * @throws Exception si se agotan los reintentos o se superan los rechazos permitidos
+     */
+    @Override
+    public void write(Chunk<? extends CustomerDocument> chunk) throws Exception {
+        List<? extends CustomerDocument> customers = chunk.getItems();
+
+        if (customers.isEmpty()) {
+            log.warn("Chunk vacío recibido. No hay datos para escribir");
+            return;
+        }
+
+        MongoCollection<Document> collection =
+                mongoTemplate.getCollection(mongoTemplate.getCollectionName(CustomerDocument.class));
+        ChunkOutcome outcome = new ChunkOutcome();
+
+        List<PendingUpsert> pending = new ArrayList<>(customers.size());
+        for (CustomerDocument customer : customers) {
+            try {
+                pending.add(new PendingUpsert(customer, toInsertOnlyUpsert(customer)));
+            } catch (RuntimeException e) {
+                reject(customer, e.getClass().getName(), e.getMessage(), outcome);
+            }
+        }
+
+        long writeStart = System.nanoTime();
+        if (!pending.isEmpty()) {
+            writeSlice(collection, pending, false, outcome);
+        }
+        writeLatencyTracker.record(customers.size(), System.nanoTime() - writeStart);
+
+        outcome.insertedCustomers.forEach(customerMembershipIndex::register);
+
+        if (!outcome.rejects.isEmpty()) {
+            writeDeadLetters(outcome.rejects);
+            migrationMetrics.incrementDeadLetters(outcome.rejects.size());
+        }
+        migrationMetrics.incrementWritten(outcome.inserted);
+        migrationMetrics.incrementDuplicates(outcome.matched + outcome.duplicates);
+        log.info("*** RESUMEN DE BULK UPSERT TOLERANTE - recibidos: {}, bulk writes: {}, insertados: {}, ya existentes: {}, ya existentes en reenvíos: {}, duplicados: {}, rechazados: {}",
+                customers.size(), outcome.bulkWrites, outcome.inserted, outcome.matched, outcome.resentMatched,
+                outcome.duplicates, outcome.rejects.size());
+    }
+
+    /**
+     * Escribe una parte del chunk; si un documento no se puede serializar la divide en dos mitades
+     *
+     * @param collection colección de destino
+     * @param slice upserts a escribir
+     * @param half true si es una mitad de un envío que falló
+     * @param outcome totales y rechazos del chunk
+     */
+    private void writeSlice(MongoCollection<Document> collection, List<PendingUpsert> slice,
+                            boolean half, ChunkOutcome outcome) {
+        outcome.attempts = 0;
+        outcome.resending = half;
+        try {
+            List<UpdateOneModel<Document>> upserts = new ArrayList<>(slice.size());
+            for (PendingUpsert upsert : slice) {
+                upserts.add(upsert.model());
+            }
+            outcome.bulkWrites++;
+            outcome.add(retryTemplate().execute(context -> {
+                outcome.attempts = context.getRetryCount() + 1;
+                outcome.resending = half || outcome.attempts > 1;
+                return collection.bulkWrite(upserts, UNORDERED);
+            }), slice);
+
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteConcernError() != null) {
+                //Con errores de documento además del de write concern no se reintenta (ver isTransient)
+                throw new RuntimeException("Failed to write customers to MongoDB (attempts: " + outcome.attempts
+                        + ", write concern error: " + e.getWriteConcernError().getMessage() + ")", e);
+            }
+            //En modo UNORDERED el resto del lote ya está aplicado: solo se rechazan los documentos con error
+            outcome.add(e.getWriteResult(), slice);
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                    outcome.duplicates++;
+                } else {
+                    reject(slice.get(error.getIndex()).customer(), "MongoBulkWriteError:" + error.getCode(),
+                            error.getMessage(), outcome);
+                }
+            }
+
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                log.error("Bulk write de {} customers falló tras {} intentos: {}", slice.size(), outcome.attempts, e.getMessage());
+                throw new RuntimeException("Failed to write customers to MongoDB after " + outcome.attempts + " attempts", e);
+            }
+            if (!isDocumentError(e)) {
+                log.error("Bulk write de {} customers falló por un error que no depende de un documento: {}",
+                        slice.size(), e.getMessage());
+                throw new RuntimeException("Failed to write customers to MongoDB", e);
+            }
+            if (slice.size() == 1) {
+                reject(slice.get(0).customer(), e.getClass().getName(), e.getMessage(), outcome);
+                return;
+            }
+            log.warn("Bulk write de {} customers rechazado ({}); se divide en dos mitades", slice.size(), e.getMessage());
+            int middle = slice.size() / 2;
+            writeSlice(collection, slice.subList(0, middle), true, outcome);
+            writeSlice(collection, slice.subList(middle, slice.size()), true, outcome);
+        }
+    }
+
+    private void reject(CustomerDocument customer, String errorType, String message, ChunkOutcome outcome) {
+        log.warn("Customer con originalMysqlId {} rechazado: {}", customer.getOriginalMysqlId(), message);
+        outcome.rejects.add(new Reject(customer, errorType, message));
+        if (outcome.rejects.size() > maxRejectsPerChunk) {
+            throw new IllegalStateException("More than " + maxRejectsPerChunk
+                    + " customers rejected in one chunk; last error: " + message);
+        }
+    }
+
+    /**
+     * Guarda los rechazados del chunk. Se usa upsert por original_mysql_id para que reprocesar
+     * el chunk tras un reinicio no duplique entradas
+     *
+     * @param rejects documentos rechazados con su error
+     */
+    private void writeDeadLetters(List<Reject> rejects) {
+        Date failedAt = new Date();
+        List<WriteModel<Document>> models = new ArrayList<>(rejects.size());
+        for (Reject reject : rejects) {
+            Document deadLetter = new Document("original_mysql_id", reject.customer().getOriginalMysqlId())
+                    .append("email", reject.customer().getEmail())
+                    .append("document", toDocumentOrNull(reject.customer()))
+                    .append("error_type", reject.errorType())
+                    .append("error", reject.message())
+                    .append("failed_at", failedAt);
+            if (reject.customer().getOriginalMysqlId() != null) {
+                models.add(new ReplaceOneModel<>(Filters.eq("original_mysql_id", reject.customer().getOriginalMysqlId()),
+                        deadLetter, REPLACE_UPSERT));
+            } else {
+                models.add(new InsertOneModel<>(deadLetter));
+            }
+        }
+
+        try {
+            mongoTemplate.getCollection(deadLetterCollection).bulkWrite(models, UNORDERED);
+            log.warn("{} customers enviados a la colección {}", rejects.size(), deadLetterCollection);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to write rejected customers to " + deadLetterCollection, e);
+        }
+    }
+
+    /**
+     * Errores que pueden desaparecer al reintentar la misma operación
+     *
+     * @param throwable error o cualquiera de sus causas
+     * @return true si es transitorio
+     */
+    static boolean isTransient(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof MongoSocketException
+                    || t instanceof MongoTimeoutException
+                    || t instanceof MongoExecutionTimeoutException
+                    || t instanceof MongoNotPrimaryException
+                    || t instanceof MongoNodeIsRecoveringException
+                    || t instanceof MongoWriteConcernException) {
+                return true;
+            }
+            if (t instanceof MongoBulkWriteException bulk) {
+                return bulk.getWriteErrors().isEmpty() && bulk.getWriteConcernError() != null;
+            }
+            if (t instanceof MongoException mongo && (mongo.hasErrorLabel(RETRYABLE_WRITE_ERROR_LABEL)
+                    || mongo.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Errores del driver al serializar un documento concreto del bulk write; son los únicos que
+     * justifican dividir el lote para encontrarlo
+     *
+     * @param throwable error o cualquiera de sus causas
+     * @return true si lo causa un documento
+     */
+    static boolean isDocumentError(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof MongoException) {
+                return false;
+            }
+            //IllegalArgumentException: validación de nombres de campo del driver ('$' inicial, '.')
+            if (t instanceof BsonSerializationException
+                    || t instanceof CodecConfigurationException
+                    || t instanceof IllegalArgumentException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * RetryTemplate con backoff exponencial que solo reintenta errores transitorios
+     */
+    private RetryTemplate retryTemplate() {
+        RetryTemplate template = retryTemplate;
+        if (template == null) {
+            SimpleRetryPolicy transientPolicy = new SimpleRetryPolicy(Math.max(1, maxAttempts));
+            RetryPolicy neverRetry = new NeverRetryPolicy();
+            ExceptionClassifierRetryPolicy retryPolicy = new ExceptionClassifierRetryPolicy();
+            retryPolicy.setExceptionClassifier(throwable -> isTransient(throwable) ? transientPolicy : neverRetry);
+
+            ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+            backOffPolicy.setInitialInterval(initialBackoffMillis);
+            backOffPolicy.setMultiplier(backoffMultiplier);
+            backOffPolicy.setMaxInterval(maxBackoffMillis);
+
+            template = new RetryTemplate();
+            template.setRetryPolicy(retryPolicy);
+            template.setBackOffPolicy(backOffPolicy);
+            template.registerListener(new RetryListener() {
+                @Override
+                public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                             Throwable throwable) {
+                    if (isTransient(throwable)) {
+                        log.warn("Error transitorio en bulk write (intento {}): {}", context.getRetryCount(), throwable.getMessage());
+                    }
+                }
+            });
+            retryTemplate = template;
+        }
+        return template;
+    }
+
+    /**
+     * Construye el upsert de un customer: filtra por original_mysql_id y solo asigna los campos
+     * cuando se inserta. Se usa el MongoConverter para respetar los nombres de @Field del documento
+     *
+     * @param customer customer a convertir
+     * @return upsert con $setOnInsert de todos los campos
+     */
+    private UpdateOneModel<Document> toInsertOnlyUpsert(CustomerDocument customer) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(customer, document);
+        document.remove("_id");
+        return new UpdateOneModel<>(Filters.eq("original_mysql_id", customer.getOriginalMysqlId()),
+                new Document("$setOnInsert", document), UPSERT);
+    }
+
+    /**
+     * Documento convertido para la dead-letter; null si la conversión es justamente lo que falla
+     */
+    private Document toDocumentOrNull(CustomerDocument customer) {
+        try {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(customer, document);
+            return document;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Customer del chunk con su upsert ya convertido
+     */
+    private record PendingUpsert(CustomerDocument customer, UpdateOneModel<Document> model) {
+    }
+
+    /**
+     * Documento rechazado con el error que lo causó
+     */
+    private record Reject(CustomerDocument customer, String errorType, String message) {
+    }
+
+    /**
+     * Totales acumulados de las partes de un chunk
+     */
+    private static class ChunkOutcome {
+
+        private int bulkWrites;
+        private int inserted;
+        private int matched;
+        private int resentMatched;
+        private int duplicates;
+        private final List<Reject> rejects = new ArrayList<>();
+        private final List<CustomerDocument> insertedCustomers = new ArrayList<>();
+
+        /**
+         * Intentos del bulk write en curso y si reenvía documentos de un envío fallido
+         */
+        private int attempts;
+        private boolean resending;
+
+        private void add(BulkWriteResult result, List<PendingUpsert> slice) {
+            inserted += result.getUpserts().size();
+            for (BulkWriteUpsert upsert : result.getUpserts()) {
+                insertedCustomers.add(slice.get(upsert.getIndex()).customer());
+            }
+            if (resending) {
+                resentMatched += result.getMatchedCount();
+            } else {
+                matched += result.getMatchedCount();
+            }
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.project.Project_SpringBatch.writer;
 
 import com.project.Project_SpringBatch.Repository.CustomerDocumentRepository;
+import com.project.Project_SpringBatch.chunk.WriteLatencyTracker;
 import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.logging.HotPathLogGovernor;
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
+import com.project.Project_SpringBatch.metrics.MigrationMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.Chunk;
@@ -29,6 +33,10 @@ public class CustomerItemWriter implements ItemWriter<CustomerDocument> {
 
     private final MongoTemplate mongoTemplate;
     private final CustomerDocumentRepository customerDocumentRepository;
+    private final CustomerMembershipIndex customerMembershipIndex;
+    private final WriteLatencyTracker writeLatencyTracker;
+    private final MigrationMetrics migrationMetrics;
+    private final HotPathLogGovernor hotPathLogGovernor;
 
     /**
      * Escribe un chunk (lote) de CustomerDocuments en MongoDB
@@ -57,8 +65,10 @@ public class CustomerItemWriter implements ItemWriter<CustomerDocument> {
             try {
                 //Verificar si ya existe un customer con el mismo ID de MySQL
                 if (isDuplicate(customer)) {
-                    log.debug("Customer con originalMysqlId {} ya existe. Se omitirá",
-                            customer.getOriginalMysqlId());
+                    if (log.isDebugEnabled() && hotPathLogGovernor.sampleItem()) {
+                        log.debug("Customer con originalMysqlId {} ya existe. Se omitirá (muestra)",
+                                customer.getOriginalMysqlId());
+                    }
                     duplicatesCount++;
                     continue;
                 }
@@ -83,15 +93,24 @@ public class CustomerItemWriter implements ItemWriter<CustomerDocument> {
 
         if (!customersToInsert.isEmpty()) {
             try {
+                long writeStart = System.nanoTime();
                 List<CustomerDocument> savedCustomers = customerDocumentRepository.saveAll(customersToInsert);
+                writeLatencyTracker.record(savedCustomers.size(), System.nanoTime() - writeStart);
+                migrationMetrics.incrementWritten(savedCustomers.size());
                 log.info("Successfully wrote {} customers to MongoDB", savedCustomers.size());
 
-                //Log detallado de customers guardados
+                //Mantener el índice de membresía exacto para los chunks siguientes
+                savedCustomers.forEach(customerMembershipIndex::register);
+
+                //Log detallado de customers guardados (muestreado para no escribir una línea por registro)
 
                 if (log.isDebugEnabled()) {
-                    savedCustomers.forEach(customer ->
+                    for (CustomerDocument customer : savedCustomers) {
+                        if (hotPathLogGovernor.sampleItem()) {
                             log.debug("Saved customer: ID={}, OriginiMysqlId={}, Email={}",
-                                    customer.getId(), customer.getOriginalMysqlId(), customer.getEmail()));
+                                    customer.getId(), customer.getOriginalMysqlId(), customer.getEmail());
+                        }
+                    }
                 }
             } catch (Exception e) {
                 log.error("Error al guardar customers en MongoDB: {}", e.getMessage(), e);
@@ -100,6 +119,7 @@ public class CustomerItemWriter implements ItemWriter<CustomerDocument> {
         }
 
         //Log del resumen de la operación
+        migrationMetrics.incrementDuplicates(duplicatesCount);
         logWriteSummary(customers.size(), customersToInsert.size(), duplicatesCount, errorsCount);
     }
 
@@ -110,6 +130,10 @@ public class CustomerItemWriter implements ItemWriter<CustomerDocument> {
      * @return true si ya existe, falso en caso contrario
      */
     private boolean isDuplicate(CustomerDocument customer) {
+        //El bitmap del índice de membresía es exacto: no hace falta consultar MongoDB
+        if (customerMembershipIndex.isActive() && customer.getOriginalMysqlId() != null) {
+            return customerMembershipIndex.containsId(customer.getOriginalMysqlId());
+        }
         try {
             return customerDocumentRepository.existsByOriginalMysqlId(customer.getOriginalMysqlId());
         } catch (Exception e) {
@@ -127,7 +151,7 @@ public class CustomerItemWriter implements ItemWriter<CustomerDocument> {
      * @param customer customer a Validar
      * @return true si es válido, false en caso contrario
      */
-    private boolean isValidForInsertion(CustomerDocument customer) {
+    boolean isValidForInsertion(CustomerDocument customer) {
         //Validar campos requeridos
         if (customer.getOriginalMysqlId() == null || customer.getOriginalMysqlId() <= 0) {
             log.warn("Customer sin originalMysqlId válido");
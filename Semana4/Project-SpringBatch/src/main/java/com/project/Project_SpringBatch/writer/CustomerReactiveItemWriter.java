@@ -0,0 +1,199 @@
+package com.project.Project_SpringBatch.writer;
+
+import com.google.common.collect.Lists;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.project.Project_SpringBatch.chunk.WriteLatencyTracker;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
+import com.project.Project_SpringBatch.metrics.MigrationMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ItemWriter idempotente sobre el driver reactivo de MongoDB
+ *
+ * Mismo modelo de escritura que CustomerBulkUpsertItemWriter (upsert por original_mysql_id con
+ * $setOnInsert sobre los índices de CustomerIndexBootstrapper), pero el chunk se divide en lotes
+ * de batch.writer.reactive.batch-size que se envían en paralelo:
+ * - Como máximo batch.writer.reactive.max-in-flight bulk writes pendientes a la vez; el siguiente
+ *   lote no se convierte ni se envía hasta que termina uno anterior (backpressure de flatMap)
+ * - write espera a que terminen todos los lotes del chunk, por lo que cualquier error se
+ *   propaga al chunk que lo causó y el commit solo ocurre con todo el chunk confirmado
+ * - Si un lote falla, los demás se cancelan; los que ya llegaron al servidor no dejan efectos
+ *   visibles al reintentar porque los upserts son idempotentes
+ * - Los documentos insertados se registran en el índice de membresía, como en CustomerBulkUpsertItemWriter
+ *
+ * La espera al final de cada chunk es deliberada: al terminar write Spring Batch confirma el chunk
+ * junto con la posición del reader. Si los lotes siguieran pendientes en el chunk siguiente, un
+ * fallo se detectaría con la posición ya guardada y al reiniciar esos customers no se volverían a
+ * leer. Por eso el solapamiento se limita a los lotes de un mismo chunk; para ocultar más latencia
+ * de MongoDB se aumenta el tamaño del chunk (más lotes en paralelo por espera) o se usa el pipeline
+ * asíncrono, que procesa el chunk siguiente en otros hilos.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerReactiveItemWriter implements ItemWriter<CustomerDocument> {
+
+    /**
+     * Código de error de MongoDB para violación de índice único
+     */
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final WriteLatencyTracker writeLatencyTracker;
+    private final MigrationMetrics migrationMetrics;
+    private final CustomerMembershipIndex customerMembershipIndex;
+
+    /**
+     * Documentos por bulk write
+     */
+    @Value("${batch.writer.reactive.batch-size:250}")
+    private int batchSize = 250;
+
+    /**
+     * Bulk writes pendientes como máximo por chunk
+     */
+    @Value("${batch.writer.reactive.max-in-flight:4}")
+    private int maxInFlight = 4;
+
+    /**
+     * Tiempo máximo de espera de un chunk completo
+     */
+    @Value("${batch.writer.reactive.timeout-seconds:120}")
+    private long timeoutSeconds = 120;
+
+    /**
+     * Escribe el chunk con varios bulk writes concurrentes y espera a que terminen todos
+     *
+     * @param chunk lote de CustomerDocuments a escribir
+     * @throws Exception si algún lote falla por un error distinto a un duplicado
+     */
+    @Override
+    public void write(Chunk<? extends CustomerDocument> chunk) throws Exception {
+        List<? extends CustomerDocument> customers = chunk.getItems();
+
+        if (customers.isEmpty()) {
+            log.warn("Chunk vacío recibido. No hay datos para escribir");
+            return;
+        }
+
+        String collectionName = reactiveMongoTemplate.getCollectionName(CustomerDocument.class);
+        long writeStart = System.nanoTime();
+        WriteOutcome outcome = reactiveMongoTemplate.getCollection(collectionName)
+                .flatMapMany(collection -> Flux.fromIterable(Lists.partition(customers, Math.max(1, batchSize)))
+                        .flatMap(batch -> writeBatch(collection, batch), Math.max(1, maxInFlight)))
+                .reduce(WriteOutcome.EMPTY, WriteOutcome::plus)
+                .block(Duration.ofSeconds(timeoutSeconds));
+        writeLatencyTracker.record(customers.size(), System.nanoTime() - writeStart);
+
+        if (outcome == null) {
+            throw new IllegalStateException("Reactive bulk upsert completed without a result");
+        }
+        //En el hilo del step: el índice de membresía se resuelve con el StepContext del hilo
+        outcome.insertedCustomers().forEach(customerMembershipIndex::register);
+        migrationMetrics.incrementWritten(outcome.inserted());
+        migrationMetrics.incrementDuplicates(outcome.matched() + outcome.duplicates());
+        log.info("*** RESUMEN DE BULK UPSERT REACTIVO - recibidos: {}, lotes: {}, insertados: {}, ya existentes: {}, duplicados: {}",
+                customers.size(), outcome.batches(), outcome.inserted(), outcome.matched(), outcome.duplicates());
+    }
+
+    /**
+     * Envía un lote como un bulk write UNORDERED
+     * Los duplicados por índice único no son un error: el resto del lote se aplica igualmente
+     *
+     * @param collection colección de destino
+     * @param batch documentos del lote
+     * @return resultado del lote
+     */
+    private Mono<WriteOutcome> writeBatch(MongoCollection<Document> collection, List<? extends CustomerDocument> batch) {
+        List<UpdateOneModel<Document>> upserts = new ArrayList<>(batch.size());
+        for (CustomerDocument customer : batch) {
+            upserts.add(toInsertOnlyUpsert(customer));
+        }
+        return Mono.from(collection.bulkWrite(upserts, UNORDERED))
+                .map(result -> WriteOutcome.of(result, batch, 0))
+                .onErrorResume(MongoBulkWriteException.class, e -> duplicatesOnly(e, batch));
+    }
+
+    /**
+     * Acepta un lote parcialmente aplicado si todos sus errores son de clave duplicada
+     */
+    private Mono<WriteOutcome> duplicatesOnly(MongoBulkWriteException e, List<? extends CustomerDocument> batch) {
+        if (e.getWriteConcernError() != null) {
+            return Mono.error(new RuntimeException("Failed to bulk upsert customers to MongoDB", e));
+        }
+        int duplicatesCount = 0;
+        for (BulkWriteError error : e.getWriteErrors()) {
+            if (error.getCode() != DUPLICATE_KEY_ERROR_CODE) {
+                log.error("Error no recuperable en bulk upsert reactivo (índice {}): {}", error.getIndex(), error.getMessage());
+                return Mono.error(new RuntimeException("Failed to bulk upsert customers to MongoDB", e));
+            }
+            duplicatesCount++;
+        }
+        return Mono.just(WriteOutcome.of(e.getWriteResult(), batch, duplicatesCount));
+    }
+
+    /**
+     * Construye el upsert de un customer: filtra por original_mysql_id y solo asigna los campos
+     * cuando se inserta. Se usa el MongoConverter para respetar los nombres de @Field del documento
+     *
+     * @param customer customer a convertir
+     * @return upsert con $setOnInsert de todos los campos
+     */
+    private UpdateOneModel<Document> toInsertOnlyUpsert(CustomerDocument customer) {
+        Document document = new Document();
+        reactiveMongoTemplate.getConverter().write(customer, document);
+        document.remove("_id");
+        return new UpdateOneModel<>(Filters.eq("original_mysql_id", customer.getOriginalMysqlId()),
+                new Document("$setOnInsert", document), UPSERT);
+    }
+
+    /**
+     * Totales acumulados de los lotes de un chunk
+     */
+    private record WriteOutcome(int batches, int inserted, int matched, int duplicates,
+                                List<CustomerDocument> insertedCustomers) {
+
+        private static final WriteOutcome EMPTY = new WriteOutcome(0, 0, 0, 0, List.of());
+
+        private static WriteOutcome of(BulkWriteResult result, List<? extends CustomerDocument> batch, int duplicates) {
+            List<CustomerDocument> insertedCustomers = new ArrayList<>(result.getUpserts().size());
+            for (BulkWriteUpsert upsert : result.getUpserts()) {
+                insertedCustomers.add(batch.get(upsert.getIndex()));
+            }
+            return new WriteOutcome(1, insertedCustomers.size(), result.getMatchedCount(), duplicates, insertedCustomers);
+        }
+
+        private WriteOutcome plus(WriteOutcome other) {
+            List<CustomerDocument> customers = new ArrayList<>(insertedCustomers.size() + other.insertedCustomers.size());
+            customers.addAll(insertedCustomers);
+            customers.addAll(other.insertedCustomers);
+            return new WriteOutcome(batches + other.batches, inserted + other.inserted,
+                    matched + other.matched, duplicates + other.duplicates, customers);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.Project_SpringBatch.writer;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.project.Project_SpringBatch.chunk.WriteLatencyTracker;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.metrics.MigrationMetrics;
+import com.project.Project_SpringBatch.mongo.CustomerStagingCollection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ItemWriter de la carga completa: inserta cada chunk en la colección de staging
+ *
+ * Solo inserts en un bulk write UNORDERED, sin upserts ni consultas previas: la colección
+ * de staging no tiene más índice que _id. Los duplicados que deje un chunk reintentado se
+ * eliminan en CustomerStagingCollection.swap, antes de construir los índices únicos.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStagingItemWriter implements ItemWriter<CustomerDocument> {
+
+    private final MongoTemplate mongoTemplate;
+    private final CustomerStagingCollection customerStagingCollection;
+    private final WriteLatencyTracker writeLatencyTracker;
+    private final MigrationMetrics migrationMetrics;
+
+    /**
+     * Inserta el chunk en la colección de staging
+     *
+     * @param chunk lote de CustomerDocuments a escribir
+     */
+    @Override
+    public void write(Chunk<? extends CustomerDocument> chunk) {
+        List<? extends CustomerDocument> customers = chunk.getItems();
+
+        if (customers.isEmpty()) {
+            log.warn("Chunk vacío recibido. No hay datos para escribir");
+            return;
+        }
+
+        long writeStart = System.nanoTime();
+        BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                        CustomerDocument.class, customerStagingCollection.getName())
+                .insert(customers)
+                .execute();
+        writeLatencyTracker.record(customers.size(), System.nanoTime() - writeStart);
+        migrationMetrics.incrementWritten(result.getInsertedCount());
+
+        log.debug("Insertados {} customers en staging {}", result.getInsertedCount(), customerStagingCollection.getName());
+    }
+}
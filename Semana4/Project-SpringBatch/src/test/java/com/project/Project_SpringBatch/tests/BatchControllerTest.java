@@ -20,6 +20,7 @@ import org.springframework.web.context.WebApplicationContext;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -136,12 +137,13 @@ class BatchControllerTest {
     @Test
     @DisplayName("GET /api/v1/batch/status/{jobExecutionId} - Obtener estado exitosamente")
     void getJobStatus_Success() throws Exception {
-        // Given - Configurar respuesta del service
+        // Given - Ejecución completada en el JobRepository
         Map<String, Object> statusInfo = new HashMap<>();
         statusInfo.put("message", "Job status retrieved successfully");
-        statusInfo.put("timestamp", LocalDateTime.now());
 
-        when(batchService.getJobExecutionStatus(anyLong())).thenReturn(statusInfo);
+        completeJobExecution();
+        when(batchService.findJobExecution(123L)).thenReturn(Optional.of(jobExecution));
+        when(batchService.getDetailedJobExecutionInfo(jobExecution)).thenReturn(statusInfo);
 
         // When & Then - Ejecutar request y verificar respuesta
         mockMvc.perform(get("/api/v1/batch/status/123")
@@ -151,18 +153,35 @@ class BatchControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.jobExecutionId").value(123L))
                 .andExpect(jsonPath("$.status").value("COMPLETED"))
-                .andExpect(jsonPath("$.completed").value(true));
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.statistics.customersRead").value(1000))
+                .andExpect(jsonPath("$.statistics.customersWritten").value(950));
 
         // Verificar llamada al service
-        verify(batchService, times(1)).getJobExecutionStatus(123L);
+        verify(batchService, times(1)).findJobExecution(123L);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/batch/status/{jobExecutionId} - Ejecución inexistente")
+    void getJobStatus_NotFound() throws Exception {
+        // Given - La ejecución no existe
+        when(batchService.findJobExecution(999L)).thenReturn(Optional.empty());
+
+        // When & Then - Ejecutar request y verificar respuesta 404
+        mockMvc.perform(get("/api/v1/batch/status/999")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("BATCH_005"))
+                .andExpect(jsonPath("$.message").value("Job execution not found"));
     }
 
     @Test
     @DisplayName("GET /api/v1/batch/status/{jobExecutionId} - Error al obtener estado")
     void getJobStatus_Error() throws Exception {
         // Given - Simular excepción en el service
-        when(batchService.getJobExecutionStatus(anyLong()))
-                .thenThrow(new RuntimeException("Job execution not found"));
+        when(batchService.findJobExecution(anyLong()))
+                .thenThrow(new RuntimeException("Job repository unavailable"));
 
         // When & Then - Ejecutar request y verificar respuesta de error
         mockMvc.perform(get("/api/v1/batch/status/999")
@@ -174,7 +193,20 @@ class BatchControllerTest {
                 .andExpect(jsonPath("$.message").value("Failed to get job execution status"));
 
         // Verificar llamada al service
-        verify(batchService, times(1)).getJobExecutionStatus(999L);
+        verify(batchService, times(1)).findJobExecution(999L);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/batch/progress/{jobExecutionId} - Ejecución inexistente")
+    void streamJobProgress_NotFound() throws Exception {
+        // Given - La ejecución no existe
+        when(batchService.subscribeToProgress(999L)).thenReturn(Optional.empty());
+
+        // When & Then - Ejecutar request y verificar respuesta 404
+        mockMvc.perform(get("/api/v1/batch/progress/999"))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("BATCH_005"));
     }
 
     @Test
@@ -201,6 +233,10 @@ class BatchControllerTest {
     @Test
     @DisplayName("GET /api/v1/batch/summary/{jobExecutionId} - Obtener resumen ejecutivo")
     void getExecutiveSummary_Success() throws Exception {
+        // Given - Ejecución completada de 5.5 minutos
+        completeJobExecution();
+        when(batchService.findJobExecution(123L)).thenReturn(Optional.of(jobExecution));
+
         // When & Then - Ejecutar request y verificar respuesta
         mockMvc.perform(get("/api/v1/batch/summary/123")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -210,24 +246,40 @@ class BatchControllerTest {
                 .andExpect(jsonPath("$.migrationName").value("Customer Migration (MySQL → MongoDB)"))
                 .andExpect(jsonPath("$.executionId").value(123L))
                 .andExpect(jsonPath("$.finalStatus").value("COMPLETED"))
-                .andExpect(jsonPath("$.durationMinutes").value(5.5));
+                .andExpect(jsonPath("$.durationMinutes").value(5.5))
+                .andExpect(jsonPath("$.finalStatistics.customersSkipped").value(50));
 
-        // No necesitamos verificar llamadas al service, ya que usa datos hardcodeados
+        // Verificar llamada al service
+        verify(batchService, times(1)).findJobExecution(123L);
     }
 
     @Test
-    @DisplayName("GET /api/v1/batch/summary/{jobExecutionId} - Simular error en resumen")
+    @DisplayName("GET /api/v1/batch/summary/{jobExecutionId} - Ejecución inexistente")
     void getExecutiveSummary_Error() throws Exception {
-        // Para simular un error, podemos usar un ID que cause problemas
-        // Este test demuestra el manejo de errores en el endpoint
+        // Given - La ejecución no existe
+        when(batchService.findJobExecution(anyLong())).thenReturn(Optional.empty());
 
-        // When & Then - Ejecutar request con parámetro problemático
+        // When & Then - Ejecutar request y verificar respuesta 404
         mockMvc.perform(get("/api/v1/batch/summary/-1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
-                .andExpect(status().isOk()); // El endpoint actual siempre retorna OK con datos mock
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("BATCH_005"));
+    }
 
-        // En un escenario real, se podría mockear dependencias que fallen
-        // y verificar que se retorne el error apropiado
+    /**
+     * Marca la ejecución de prueba como completada con un step de 1000 leídos y 950 escritos
+     */
+    private void completeJobExecution() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 30);
+        jobExecution.setStatus(BatchStatus.COMPLETED);
+        jobExecution.setExitStatus(ExitStatus.COMPLETED);
+        jobExecution.setStartTime(start);
+        jobExecution.setEndTime(start.plusSeconds(330));
+
+        StepExecution stepExecution = jobExecution.createStepExecution("customerMigrationStep");
+        stepExecution.setReadCount(1000);
+        stepExecution.setWriteCount(950);
+        stepExecution.setProcessSkipCount(50);
     }
 }
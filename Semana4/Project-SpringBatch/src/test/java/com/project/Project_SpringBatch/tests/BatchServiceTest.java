@@ -1,6 +1,7 @@
 package com.project.Project_SpringBatch.tests;
 
 import com.project.Project_SpringBatch.service.BatchService;
+import com.project.Project_SpringBatch.service.JobExecutionCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,12 +10,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.batch.core.*;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,6 +40,12 @@ class BatchServiceTest {
     @Mock
     private Job customerMigrationJob;
 
+    @Mock
+    private JobExplorer jobExplorer;
+
+    @Mock
+    private JobExecutionCache jobExecutionCache;
+
     @InjectMocks
     private BatchService batchService;
 
@@ -158,19 +169,104 @@ class BatchServiceTest {
         verify(jobLauncher, times(1)).run(eq(customerMigrationJob), any(JobParameters.class));
     }
 
+    @Test
+    @DisplayName("restartJobExecution - Ejecución inexistente")
+    void restartJobExecution_NotFound() {
+        // Given - El JobExplorer no encuentra la ejecución
+        when(jobExplorer.getJobExecution(999L)).thenReturn(null);
+
+        // When & Then - Verificar que se lanza la excepción esperada
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> batchService.restartJobExecution(999L));
+
+        assertTrue(exception.getMessage().contains("Job execution not found"));
+        verifyNoInteractions(jobLauncher);
+    }
+
+    @Test
+    @DisplayName("restartJobExecution - Ejecución completada no se reinicia")
+    void restartJobExecution_AlreadyCompleted() {
+        // Given - La ejecución ya terminó correctamente
+        when(jobExplorer.getJobExecution(123L)).thenReturn(jobExecution);
+
+        // When & Then - Verificar que se rechaza el reinicio
+        assertThrows(IllegalStateException.class, () -> batchService.restartJobExecution(123L));
+        verifyNoInteractions(jobLauncher);
+    }
+
+    @Test
+    @DisplayName("restartJobExecution - La instancia ya tiene un reinicio en curso")
+    void restartJobExecution_InstanceAlreadyRunning() {
+        // Given - La ejecución falló y un reinicio anterior sigue en STARTING
+        jobExecution.setStatus(BatchStatus.FAILED);
+        JobExecution runningRestart = new JobExecution(jobInstance, 124L, jobExecution.getJobParameters());
+        runningRestart.setStatus(BatchStatus.STARTING);
+        when(jobExplorer.getJobExecution(123L)).thenReturn(jobExecution);
+        when(jobExplorer.getJobExecutions(jobInstance)).thenReturn(List.of(runningRestart, jobExecution));
+
+        // When & Then - Verificar que se rechaza el segundo reinicio
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> batchService.restartJobExecution(123L));
+
+        assertTrue(exception.getMessage().contains("already has a running execution"));
+        verifyNoInteractions(jobLauncher);
+    }
+
+    @Test
+    @DisplayName("restartJobExecution - El reinicio se lanza en el executor de jobs")
+    void restartJobExecution_LaunchesAsync() throws Exception {
+        // Given - Ejecución fallida y un lanzador asíncrono distinto del síncrono
+        JobLauncher asyncJobLauncher = mock(JobLauncher.class);
+        ReflectionTestUtils.setField(batchService, "asyncJobLauncher", asyncJobLauncher);
+        ReflectionTestUtils.setField(batchService, "jobs", List.of(customerMigrationJob));
+        jobExecution.setStatus(BatchStatus.FAILED);
+        JobExecution restart = new JobExecution(jobInstance, 124L, jobExecution.getJobParameters());
+        restart.setStatus(BatchStatus.STARTING);
+        when(jobExplorer.getJobExecution(123L)).thenReturn(jobExecution);
+        when(jobExplorer.getJobExecutions(jobInstance)).thenReturn(List.of(jobExecution));
+        when(customerMigrationJob.getName()).thenReturn("customerMigrationJob");
+        when(asyncJobLauncher.run(customerMigrationJob, jobExecution.getJobParameters())).thenReturn(restart);
+
+        // When
+        JobExecution result = batchService.restartJobExecution(123L);
+
+        // Then - Devuelve la nueva ejecución sin esperar a que termine
+        assertEquals(124L, result.getId());
+        verify(asyncJobLauncher).run(customerMigrationJob, jobExecution.getJobParameters());
+        verifyNoInteractions(jobLauncher);
+    }
+
     @Test
     @DisplayName("getJobExecutionStatus - Obtener estado exitosamente")
     void getJobExecutionStatus_Success() {
+        // Given - La ejecución existe en el JobRepository
+        when(jobExecutionCache.find(123L)).thenReturn(Optional.of(jobExecution));
+
         // When - Ejecutar el método
         Map<String, Object> result = batchService.getJobExecutionStatus(123L);
 
         // Then - Verificar resultados
         assertNotNull(result);
         assertEquals(123L, result.get("jobExecutionId"));
+        assertEquals("COMPLETED", result.get("status"));
         assertTrue(result.containsKey("message"));
         assertTrue(result.containsKey("timestamp"));
     }
 
+    @Test
+    @DisplayName("getJobExecutionStatus - Ejecución inexistente")
+    void getJobExecutionStatus_NotFound() {
+        // Given - La ejecución no existe
+        when(jobExecutionCache.find(999L)).thenReturn(Optional.empty());
+
+        // When - Ejecutar el método
+        Map<String, Object> result = batchService.getJobExecutionStatus(999L);
+
+        // Then - Verificar resultados
+        assertEquals(999L, result.get("jobExecutionId"));
+        assertEquals("Job execution not found", result.get("message"));
+    }
+
     @Test
     @DisplayName("getDetailedJobExecutionInfo - Información detallada")
     void getDetailedJobExecutionInfo_Success() {
@@ -209,11 +305,14 @@ class BatchServiceTest {
     @Test
     @DisplayName("isMigrationJobRunning - Verificar estado de ejecución")
     void isMigrationJobRunning_Success() {
+        // Given - Hay una ejecución en curso en el JobRepository
+        when(jobExecutionCache.isAnyJobRunning()).thenReturn(true);
+
         // When - Ejecutar el método
         boolean result = batchService.isMigrationJobRunning();
 
-        // Then - Verificar resultado (siempre "false" en la implementación actual)
-        assertFalse(result);
+        // Then - Verificar resultado
+        assertTrue(result);
     }
 
     @Test
@@ -292,4 +391,37 @@ class BatchServiceTest {
         assertEquals(3, statistics.get("errorsEncountered")); // 2 + 1
         assertEquals(95.33333333333333, statistics.get("successRate")); // (1430/1500) * 100
     }
+
+    @Test
+    @DisplayName("getExecutiveSummary - Los workers de una partición no se cuentan dos veces")
+    void getExecutiveSummary_IgnoresPartitionWorkers() {
+        // Given - Worker cuyos contadores ya están agregados en el step manager
+        StepExecution worker = new StepExecution("customerMigrationStep:partition0", jobExecution);
+        worker.setReadCount(1000);
+        worker.setWriteCount(950);
+        worker.setProcessSkipCount(50);
+        jobExecution.addStepExecutions(java.util.List.of(worker));
+
+        // When
+        Map<String, Object> result = batchService.getExecutiveSummary(jobExecution);
+
+        // Then - Solo cuenta el step manager
+        @SuppressWarnings("unchecked")
+        Map<String, Object> statistics = (Map<String, Object>) result.get("statistics");
+        assertEquals(1000, statistics.get("customersRead"));
+        assertEquals(950, statistics.get("customersWritten"));
+        assertEquals(50, statistics.get("customersSkipped"));
+    }
+
+    @Test
+    @DisplayName("runSpillExtractJob - Se rechazan los archivos de spill fuera de batch.spill.dir")
+    void runSpillExtractJob_FileOutsideSpillDir() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(batchService, "spillDir", "/var/spill");
+
+        // When & Then - Rutas absolutas y '..' que salen del directorio
+        assertThrows(IllegalArgumentException.class, () -> batchService.runSpillExtractJob("/etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> batchService.runSpillExtractJob("../etc/passwd"));
+        verify(jobLauncher, never()).run(any(), any());
+    }
 }
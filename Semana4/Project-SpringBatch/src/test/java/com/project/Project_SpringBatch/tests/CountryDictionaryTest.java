@@ -0,0 +1,57 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.processor.CountryDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test para CountryDictionary
+ * Verifica la resolución de variantes al país canónico cargado desde countries.csv
+ */
+@DisplayName("Tests para CountryDictionary")
+class CountryDictionaryTest {
+
+    private CountryDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new CountryDictionary("countries.csv");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"usa", "USA", "U.S.A", "u.s.a.", "Estados Unidos", "  united   states ", "EE.UU."})
+    @DisplayName("resolve - Variantes de Estados Unidos")
+    void resolve_UnitedStatesVariants(String rawCountry) {
+        // When - Resolver la variante
+        CountryDictionary.Country country = dictionary.resolve(rawCountry).orElseThrow();
+
+        // Then - Mismo país canónico
+        assertEquals("US", country.isoCode());
+        assertEquals("United States", country.name());
+    }
+
+    @Test
+    @DisplayName("resolve - Variantes con acentos comparten la misma instancia")
+    void resolve_SharedInstance() {
+        // When - Resolver dos variantes de España
+        CountryDictionary.Country spain = dictionary.resolve("España").orElseThrow();
+        CountryDictionary.Country spainWithoutAccent = dictionary.resolve("espana").orElseThrow();
+
+        // Then - El nombre canónico es la misma instancia
+        assertEquals("ES", spain.isoCode());
+        assertSame(spain.name(), spainWithoutAccent.name());
+    }
+
+    @Test
+    @DisplayName("resolve - País desconocido o null")
+    void resolve_Unknown() {
+        assertTrue(dictionary.resolve("Atlantis").isEmpty());
+        assertTrue(dictionary.resolve("Atlantis").isEmpty());
+        assertTrue(dictionary.resolve(null).isEmpty());
+    }
+}
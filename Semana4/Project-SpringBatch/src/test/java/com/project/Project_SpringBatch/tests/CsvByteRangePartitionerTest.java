@@ -0,0 +1,145 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import com.project.Project_SpringBatch.partition.CsvByteRangePartitioner;
+import com.project.Project_SpringBatch.reader.MappedCsvCustomerItemReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test para CsvByteRangePartitioner y MappedCsvCustomerItemReader
+ * Verifica que los rangos de bytes cubran todos los registros exactamente una vez
+ */
+@DisplayName("Tests para CsvByteRangePartitioner")
+class CsvByteRangePartitionerTest {
+
+    private static final String HEADER = "id, name, lastName, email, country, registered_at\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("partition - Cada registro se lee en una sola partición")
+    void partition_EveryRecordReadOnce() throws Exception {
+        // Given - 200 registros, algunos con saltos de línea y comas entre comillas
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 200; i++) {
+            if (i % 5 == 0) {
+                csv.append(i + 1).append(",\"Ana\nMaría, \"\"la\"\"\",Pérez,user").append(i).append("@example.com,España,2024-01-15 10:15:30\r\n");
+            } else {
+                csv.append(i + 1).append(",Bob, Johnson, user").append(i).append("@example.com,Canada,2024-02-20 09:05:00\n");
+            }
+        }
+        Path file = write(csv.toString());
+
+        // When - Dividir en 7 particiones y leer cada una con su reader
+        Map<String, ExecutionContext> partitions = new CsvByteRangePartitioner(file).partition(7);
+        List<Customer> customers = new ArrayList<>();
+        for (ExecutionContext context : partitions.values()) {
+            customers.addAll(readAll(file, context));
+        }
+
+        // Then - Todos los registros, sin duplicados y con los campos entrecomillados intactos
+        assertEquals(7, partitions.size());
+        assertEquals(200, customers.size());
+        assertEquals(200, customers.stream().map(Customer::getEmail).distinct().count());
+        Customer quoted = customers.stream().filter(c -> c.getEmail().equals("user0@example.com")).findFirst().orElseThrow();
+        assertEquals("Ana\nMaría, \"la\"", quoted.getName());
+        assertEquals("España", quoted.getCountry());
+        assertEquals(1L, quoted.getId());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 15, 30), quoted.getRegisteredAt());
+    }
+
+    @Test
+    @DisplayName("open - Un archivo sin columna id se rechaza antes de leer")
+    void open_MissingIdColumn() throws Exception {
+        // Given - Sin id no se puede rellenar original_mysql_id
+        Path file = write("name, lastName, email, country\n"
+                + "Alice, Smith, alice@example.com,USA\n");
+        ExecutionContext context = new CsvByteRangePartitioner(file).partition(1).get("partition0");
+        MappedCsvCustomerItemReader reader = createReader(file, context);
+
+        // When & Then
+        assertThrows(ItemStreamException.class, () -> reader.open(context));
+    }
+
+    @Test
+    @DisplayName("read - Al reiniciar se continúa desde el offset guardado")
+    void read_ResumesFromSavedOffset() throws Exception {
+        // Given - Una partición leída hasta el segundo registro
+        Path file = write(HEADER
+                + "1,Alice, Smith, alice@example.com,USA,2024-01-15 10:15:30\n"
+                + "2,Bob, Johnson, bob@example.com,Canada,2024-02-20 09:05:00\n"
+                + "3,Carol, White, carol@example.com,Mexico,2024-03-10 08:00:00\n");
+        ExecutionContext context = new CsvByteRangePartitioner(file).partition(1).get("partition0");
+
+        MappedCsvCustomerItemReader reader = createReader(file, context);
+        reader.open(context);
+        reader.read();
+        reader.read();
+        reader.update(context);
+        reader.close();
+
+        // When - Reabrir con el mismo ExecutionContext
+        MappedCsvCustomerItemReader restarted = createReader(file, context);
+        restarted.open(context);
+        Customer next = restarted.read();
+        Customer end = restarted.read();
+        restarted.close();
+
+        // Then - Solo queda el tercer registro
+        assertEquals("carol@example.com", next.getEmail());
+        assertNull(end);
+    }
+
+    @Test
+    @DisplayName("partition - Archivo solo con cabecera")
+    void partition_HeaderOnly() throws Exception {
+        // Given
+        Path file = write(HEADER);
+
+        // When
+        Map<String, ExecutionContext> partitions = new CsvByteRangePartitioner(file).partition(4);
+
+        // Then - Una partición vacía que no devuelve registros
+        assertEquals(1, partitions.size());
+        assertTrue(readAll(file, partitions.get("partition0")).isEmpty());
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = tempDir.resolve("customers.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private MappedCsvCustomerItemReader createReader(Path file, ExecutionContext context) {
+        return new MappedCsvCustomerItemReader(file,
+                context.getLong(CsvByteRangePartitioner.START_OFFSET_KEY),
+                context.getLong(CsvByteRangePartitioner.END_OFFSET_KEY),
+                context.getString(CsvByteRangePartitioner.COLUMNS_KEY));
+    }
+
+    private List<Customer> readAll(Path file, ExecutionContext context) throws Exception {
+        MappedCsvCustomerItemReader reader = createReader(file, context);
+        List<Customer> customers = new ArrayList<>();
+        reader.open(context);
+        for (Customer customer = reader.read(); customer != null; customer = reader.read()) {
+            customers.add(customer);
+        }
+        reader.close();
+        return customers;
+    }
+}
@@ -0,0 +1,101 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import com.project.Project_SpringBatch.partition.CsvShardPartitioner;
+import com.project.Project_SpringBatch.reader.CsvShardItemReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test para CsvShardPartitioner y CsvShardItemReader
+ * Verifica una partición por archivo y la lectura en streaming de archivos .gz
+ */
+@DisplayName("Tests para CsvShardPartitioner")
+class CsvShardPartitionerTest {
+
+    private static final String CSV = "id, name, lastName, email, country, registered_at\n"
+            + "1, Alice, Smith, alice@example.com,USA,2024-01-15 10:15:30\n"
+            + "2,\"Bob\nJr\", Johnson, bob@example.com,Canada,2024-02-20 09:05:00\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("partition - Una partición por archivo que coincide con el glob")
+    void partition_OnePartitionPerFile() throws Exception {
+        // Given - Dos shards comprimidos y un archivo que no coincide
+        gzip(tempDir.resolve("customers_001.csv.gz"));
+        gzip(tempDir.resolve("customers_002.csv.gz"));
+        Files.writeString(tempDir.resolve("orders_001.csv"), CSV);
+
+        // When
+        Map<String, ExecutionContext> partitions =
+                new CsvShardPartitioner(tempDir.resolve("customers_*.csv.gz").toString()).partition(1);
+
+        // Then
+        assertEquals(2, partitions.size());
+        assertTrue(partitions.get("partition0").getString(CsvShardPartitioner.FILE_NAME_KEY).endsWith("customers_001.csv.gz"));
+        assertTrue(partitions.get("partition1").getLong(CsvShardPartitioner.FILE_SIZE_KEY) > 0);
+    }
+
+    @Test
+    @DisplayName("resolve - Un directorio incluye sus archivos .csv y .csv.gz")
+    void resolve_Directory() throws Exception {
+        // Given
+        gzip(tempDir.resolve("a.csv.gz"));
+        Files.writeString(tempDir.resolve("b.csv"), CSV);
+        Files.writeString(tempDir.resolve("notes.txt"), "x");
+
+        // When & Then
+        assertEquals(2, CsvShardPartitioner.resolve(tempDir.toString()).size());
+        assertTrue(CsvShardPartitioner.resolve(tempDir.resolve("missing/*.csv").toString()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("read - Lee un shard .gz y guarda el progreso del archivo")
+    void read_GzipShardWithProgress() throws Exception {
+        // Given
+        Path file = tempDir.resolve("customers_001.csv.gz");
+        gzip(file);
+        CsvShardItemReader reader = new CsvShardItemReader(file, Files.size(file));
+        ExecutionContext context = new ExecutionContext();
+
+        // When
+        List<Customer> customers = new ArrayList<>();
+        reader.open(context);
+        for (Customer customer = reader.read(); customer != null; customer = reader.read()) {
+            customers.add(customer);
+        }
+        reader.update(context);
+        reader.close();
+
+        // Then - Registros completos (incluido el salto de línea entre comillas) y progreso guardado
+        assertEquals(2, customers.size());
+        assertEquals(2L, customers.get(1).getId());
+        assertEquals("Bob\nJr", customers.get(1).getName());
+        assertEquals("bob@example.com", customers.get(1).getEmail());
+        assertEquals(Files.size(file), context.getLong("csvShardItemReader.bytes.total"));
+        assertEquals(Files.size(file), context.getLong("csvShardItemReader.bytes.read"));
+        // El contador de AbstractItemCountingItemStreamItemReader incluye la lectura final que devuelve null
+        assertEquals(3, context.getInt("csvShardItemReader.read.count"));
+    }
+
+    private void gzip(Path file) throws Exception {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(CSV.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import com.project.Project_SpringBatch.reader.CustomerCsvLineMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test para CustomerCsvLineMapper
+ * Verifica el tokenizado con comillas, el recorte de valores y la lectura de registered_at
+ */
+@DisplayName("Tests para CustomerCsvLineMapper")
+class CustomerCsvLineMapperTest {
+
+    private CustomerCsvLineMapper lineMapper;
+
+    @BeforeEach
+    void setUp() {
+        lineMapper = new CustomerCsvLineMapper();
+    }
+
+    @Test
+    @DisplayName("mapLine - Línea del archivo seed")
+    void mapLine_SeedLine() throws Exception {
+        // When
+        Customer customer = lineMapper.mapLine("Alice, Smith, alice.smith@example.com,USA,2024-01-15 10:15:30", 2);
+
+        // Then - Valores recortados y fecha convertida
+        assertNull(customer.getId());
+        assertEquals("Alice", customer.getName());
+        assertEquals("Smith", customer.getLastName());
+        assertEquals("alice.smith@example.com", customer.getEmail());
+        assertEquals("USA", customer.getCountry());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 15, 30), customer.getRegisteredAt());
+    }
+
+    @Test
+    @DisplayName("mapLine - Campos entre comillas con comas y comillas escapadas")
+    void mapLine_QuotedFields() throws Exception {
+        // When
+        Customer customer = lineMapper.mapLine("\"Ana, \"\"la\"\"\",Pérez,ana@example.com,\"España\",", 3);
+
+        // Then
+        assertEquals("Ana, \"la\"", customer.getName());
+        assertEquals("España", customer.getCountry());
+        assertNull(customer.getRegisteredAt());
+    }
+
+    @Test
+    @DisplayName("mapLine - Columnas según la cabecera, con id")
+    void mapLine_HeaderWithId() throws Exception {
+        // Given
+        lineMapper.setHeader("id, email, name, lastName, country, registered_at");
+
+        // When
+        Customer customer = lineMapper.mapLine("42,bob@example.com,Bob,Johnson,Canada,2024-02-20 09:05:00", 2);
+
+        // Then
+        assertEquals(42L, customer.getId());
+        assertEquals("Bob", customer.getName());
+        assertEquals("bob@example.com", customer.getEmail());
+        assertEquals(LocalDateTime.of(2024, 2, 20, 9, 5, 0), customer.getRegisteredAt());
+    }
+
+    @Test
+    @DisplayName("mapLine - Faltan campos")
+    void mapLine_MissingFields() {
+        // When & Then
+        assertThrows(FlatFileParseException.class, () -> lineMapper.mapLine("Alice,Smith", 5));
+    }
+
+    @Test
+    @DisplayName("setHeader - Falta una columna obligatoria")
+    void setHeader_MissingRequiredColumn() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> lineMapper.setHeader("name, lastName, country"));
+    }
+
+    @Test
+    @DisplayName("setHeader - Con id obligatorio, una cabecera sin id se rechaza")
+    void setHeader_MissingRequiredId() {
+        // Given - Layout de los shards exportados de MySQL
+        lineMapper.setIdRequired(true);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> lineMapper.setHeader("name, lastName, email, country, registered_at"));
+    }
+}
@@ -0,0 +1,316 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoSocketReadTimeoutException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.project.Project_SpringBatch.chunk.WriteLatencyTracker;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
+import com.project.Project_SpringBatch.metrics.MigrationMetrics;
+import com.project.Project_SpringBatch.writer.CustomerFaultTolerantItemWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonSerializationException;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de test para CustomerFaultTolerantItemWriter
+ * Mockea el driver de MongoDB para verificar reintentos, bisección y dead-letter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para CustomerFaultTolerantItemWriter")
+class CustomerFaultTolerantItemWriterTest {
+
+    private static final long BAD_ID = 37L;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private MongoCollection<Document> deadLetterCollection;
+
+    @Mock
+    private WriteLatencyTracker writeLatencyTracker;
+
+    @Mock
+    private MigrationMetrics migrationMetrics;
+
+    @Mock
+    private CustomerMembershipIndex customerMembershipIndex;
+
+    private CustomerFaultTolerantItemWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new CustomerFaultTolerantItemWriter(mongoTemplate, writeLatencyTracker, migrationMetrics,
+                customerMembershipIndex);
+        ReflectionTestUtils.setField(writer, "maxAttempts", 3);
+        ReflectionTestUtils.setField(writer, "initialBackoffMillis", 1L);
+        ReflectionTestUtils.setField(writer, "maxBackoffMillis", 2L);
+
+        when(mongoTemplate.getCollectionName(CustomerDocument.class)).thenReturn("customers");
+        when(mongoTemplate.getCollection("customers")).thenReturn(collection);
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+    }
+
+    @Test
+    @DisplayName("write - Un error transitorio se reintenta con backoff y el chunk termina bien")
+    void write_RetriesTransientErrors() throws Exception {
+        // Given - Dos timeouts de socket seguidos de un bulk write correcto
+        AtomicInteger calls = new AtomicInteger();
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new MongoSocketReadTimeoutException("timeout", new ServerAddress(), new RuntimeException());
+            }
+            return acknowledged();
+        });
+
+        // When
+        writer.write(chunkOf(100));
+
+        // Then - Tres intentos del mismo lote y ningún rechazo
+        assertEquals(3, calls.get());
+        verify(mongoTemplate, never()).getCollection("customers_dead_letter");
+        verify(migrationMetrics, never()).incrementDeadLetters(anyInt());
+    }
+
+    @Test
+    @DisplayName("write - Agotados los reintentos el chunk falla sin enviar nada a la dead-letter")
+    void write_FailsWhenRetriesExhausted() {
+        // Given
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(new MongoSocketReadTimeoutException("timeout", new ServerAddress(), new RuntimeException()));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> writer.write(chunkOf(100)));
+        assertInstanceOf(MongoSocketReadTimeoutException.class, exception.getCause());
+        verify(collection, times(3)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        verify(mongoTemplate, never()).getCollection("customers_dead_letter");
+    }
+
+    @Test
+    @DisplayName("write - La bisección aísla el documento defectuoso y los correctos se insertan una sola vez")
+    void write_BisectsToIsolateBadRecord() throws Exception {
+        // Given - Cualquier lote que contenga BAD_ID se rechaza entero
+        when(mongoTemplate.getCollection("customers_dead_letter")).thenReturn(deadLetterCollection);
+        Map<Long, Integer> inserted = new HashMap<>();
+        AtomicInteger calls = new AtomicInteger();
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            List<Long> ids = ids(invocation.getArgument(0));
+            if (ids.contains(BAD_ID)) {
+                throw new BsonSerializationException("Document is too large");
+            }
+            ids.forEach(id -> inserted.merge(id, 1, Integer::sum));
+            return acknowledged();
+        });
+
+        // When
+        writer.write(chunkOf(100));
+
+        // Then - Un bulk write fallido por nivel (log2(100) ~ 7) más las mitades correctas
+        assertEquals(99, inserted.size());
+        assertFalse(inserted.containsKey(BAD_ID));
+        assertTrue(inserted.values().stream().allMatch(count -> count == 1));
+        assertTrue(calls.get() <= 2 * 7 + 1, "bulk writes: " + calls.get());
+
+        Document deadLetter = deadLetters().get(0);
+        assertEquals(BAD_ID, deadLetter.get("original_mysql_id"));
+        assertEquals(BsonSerializationException.class.getName(), deadLetter.get("error_type"));
+        verify(migrationMetrics).incrementDeadLetters(1);
+    }
+
+    @Test
+    @DisplayName("write - Un error de documento del bulk write se rechaza sin reenviar el resto del lote")
+    void write_RejectsWriteErrorsWithoutBisecting() throws Exception {
+        // Given - MongoDB rechaza por validación el documento en la posición 5; el resto se aplica
+        when(mongoTemplate.getCollection("customers_dead_letter")).thenReturn(deadLetterCollection);
+        BulkWriteError error = new BulkWriteError(121, "Document failed validation", new BsonDocument(), 5);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(new MongoBulkWriteException(acknowledged(), List.of(error), null, new ServerAddress(), Set.of()));
+
+        // When
+        writer.write(chunkOf(50));
+
+        // Then
+        verify(collection, times(1)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        assertEquals(6L, deadLetters().get(0).get("original_mysql_id"));
+        verify(migrationMetrics).incrementDeadLetters(1);
+    }
+
+    @Test
+    @DisplayName("write - Los ya existentes de las mitades reenviadas no cuentan como duplicados")
+    void write_ResentHalvesDoNotCountDuplicates() throws Exception {
+        // Given - El chunk completo falla y cada mitad correcta vuelve como ya existente
+        when(mongoTemplate.getCollection("customers_dead_letter")).thenReturn(deadLetterCollection);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(invocation -> {
+            List<Long> ids = ids(invocation.getArgument(0));
+            if (ids.contains(BAD_ID)) {
+                throw new BsonSerializationException("Document is too large");
+            }
+            return result(ids.size(), List.of());
+        });
+
+        // When
+        writer.write(chunkOf(100));
+
+        // Then - Pueden ser documentos que el envío fallido ya insertó
+        verify(migrationMetrics).incrementDuplicates(0);
+        verify(migrationMetrics).incrementDeadLetters(1);
+    }
+
+    @Test
+    @DisplayName("write - Un error de write concern con errores de documento falla sin reintentar")
+    void write_WriteConcernErrorWithWriteErrors() {
+        // Given
+        BulkWriteError error = new BulkWriteError(121, "Document failed validation", new BsonDocument(), 5);
+        WriteConcernError writeConcernError = new WriteConcernError(64, "WriteConcernFailed", "waiting for replication timed out", new BsonDocument());
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(new MongoBulkWriteException(acknowledged(), List.of(error), writeConcernError, new ServerAddress(), Set.of()));
+
+        // When & Then - Un solo intento, y el mensaje lo refleja
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> writer.write(chunkOf(50)));
+        assertTrue(exception.getMessage().contains("attempts: 1"), exception.getMessage());
+        verify(collection, times(1)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        verify(mongoTemplate, never()).getCollection("customers_dead_letter");
+    }
+
+    @Test
+    @DisplayName("write - Un error del servidor que no depende de un documento hace fallar el chunk sin dividirlo")
+    void write_CommandErrorFailsChunkWithoutBisecting() {
+        // Given
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(new MongoCommandException(new BsonDocument("ok", new BsonInt64(0))
+                        .append("code", new BsonInt64(13)), new ServerAddress()));
+
+        // When & Then - Un solo bulk write y nada en la dead-letter
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> writer.write(chunkOf(100)));
+        assertInstanceOf(MongoCommandException.class, exception.getCause());
+        verify(collection, times(1)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        verify(mongoTemplate, never()).getCollection("customers_dead_letter");
+    }
+
+    @Test
+    @DisplayName("write - Los customers insertados se registran en el índice de membresía")
+    void write_RegistersInsertedCustomers() throws Exception {
+        // Given - Se insertan las posiciones 0 y 2; la 1 ya existía
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(result(1, List.of(new BulkWriteUpsert(0, new BsonInt64(1)), new BulkWriteUpsert(2, new BsonInt64(3)))));
+        Chunk<CustomerDocument> chunk = chunkOf(3);
+
+        // When
+        writer.write(chunk);
+
+        // Then
+        verify(customerMembershipIndex).register(chunk.getItems().get(0));
+        verify(customerMembershipIndex).register(chunk.getItems().get(2));
+        verify(customerMembershipIndex, times(2)).register(any());
+        verify(migrationMetrics).incrementWritten(2);
+        verify(migrationMetrics).incrementDuplicates(1);
+    }
+
+    @Test
+    @DisplayName("write - Demasiados rechazos en un chunk hacen fallar el chunk")
+    void write_FailsWhenTooManyRejects() {
+        // Given - Todos los documentos son rechazados
+        ReflectionTestUtils.setField(writer, "maxRejectsPerChunk", 3);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(new BsonSerializationException("Document is too large"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> writer.write(chunkOf(16)));
+        verify(mongoTemplate, never()).getCollection("customers_dead_letter");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Document> deadLetters() {
+        ArgumentCaptor<List<WriteModel<Document>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(deadLetterCollection).bulkWrite(captor.capture(), any(BulkWriteOptions.class));
+        assertEquals(1, captor.getValue().size());
+        return captor.getValue().stream()
+                .map(model -> ((ReplaceOneModel<Document>) model).getReplacement())
+                .toList();
+    }
+
+    private static List<Long> ids(List<UpdateOneModel<Document>> upserts) {
+        List<Long> ids = new ArrayList<>(upserts.size());
+        for (UpdateOneModel<Document> upsert : upserts) {
+            Document setOnInsert = (Document) ((Document) upsert.getUpdate()).get("$setOnInsert");
+            ids.add(setOnInsert.get("original_mysql_id", Number.class).longValue());
+        }
+        return ids;
+    }
+
+    private static Chunk<CustomerDocument> chunkOf(int size) {
+        List<CustomerDocument> customers = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            CustomerDocument customer = new CustomerDocument();
+            customer.setOriginalMysqlId(i);
+            customer.setEmail("user" + i + "@example.com");
+            customers.add(customer);
+        }
+        return new Chunk<>(customers);
+    }
+
+    private static BulkWriteResult acknowledged() {
+        return result(0, List.of());
+    }
+
+    private static BulkWriteResult result(int matched, List<BulkWriteUpsert> upserts) {
+        return BulkWriteResult.acknowledged(upserts.size(), matched, 0, 0, upserts, List.of());
+    }
+
+    /**
+     * Converter con las conversiones por defecto (LocalDateTime incluido), como el de la aplicación
+     */
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.partition.CustomerIdRangePartitioner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Clase de test para CustomerIdRangePartitioner
+ * Verifica que los rangos de ID cubran toda la tabla sin solaparse
+ */
+@DisplayName("Tests para CustomerIdRangePartitioner")
+class CustomerIdRangePartitionerTest {
+
+    private CustomerIdRangePartitioner partitioner;
+
+    @BeforeEach
+    void setUp() {
+        partitioner = new CustomerIdRangePartitioner(mock(DataSource.class));
+    }
+
+    @Test
+    @DisplayName("partition - Rangos contiguos que cubren todos los IDs")
+    void partition_ContiguousRanges() {
+        // When - Dividir los IDs 1..100 en 4 particiones
+        Map<String, ExecutionContext> partitions = partitioner.partition(1L, 100L, 4);
+
+        // Then - Verificar límites de cada partición
+        assertEquals(4, partitions.size());
+        assertEquals(1L, partitions.get("partition0").getLong("minId"));
+        assertEquals(25L, partitions.get("partition0").getLong("maxId"));
+        assertEquals(26L, partitions.get("partition1").getLong("minId"));
+        assertEquals(100L, partitions.get("partition3").getLong("maxId"));
+    }
+
+    @Test
+    @DisplayName("partition - Menos IDs que particiones solicitadas")
+    void partition_FewerIdsThanGridSize() {
+        // When - Dividir 3 IDs en 8 particiones
+        Map<String, ExecutionContext> partitions = partitioner.partition(10L, 12L, 8);
+
+        // Then - Solo se crea una partición por ID
+        assertEquals(3, partitions.size());
+        assertEquals(12L, partitions.get("partition2").getLong("maxId"));
+    }
+
+    @Test
+    @DisplayName("partition - Tabla vacía")
+    void partition_EmptyTable() {
+        // When - La tabla no tiene filas
+        Map<String, ExecutionContext> partitions = partitioner.partition(null, null, 4);
+
+        // Then - Una partición con rango vacío
+        assertEquals(1, partitions.size());
+        ExecutionContext context = partitions.get("partition0");
+        assertTrue(context.getLong("minId") > context.getLong("maxId"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Clase de test para CustomerMembershipIndex
+ * Verifica que cada ejecución de job usa y libera su propio índice
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para CustomerMembershipIndex")
+class CustomerMembershipIndexTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private CustomerMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerMembershipIndex(mongoTemplate);
+
+        when(mongoTemplate.estimatedCount(CustomerDocument.class)).thenReturn(2L);
+        when(mongoTemplate.getCollectionName(CustomerDocument.class)).thenReturn("customers");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("customers")))
+                .thenAnswer(invocation -> Stream.of(
+                        new Document("original_mysql_id", 1L).append("email", "uno@example.com"),
+                        new Document("original_mysql_id", 2L).append("email", "dos@example.com")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        while (StepSynchronizationManager.getContext() != null) {
+            StepSynchronizationManager.close();
+        }
+    }
+
+    @Test
+    @DisplayName("release - Liberar el índice de un job no afecta al de otro job en curso")
+    void release_OnlyAffectsOwnJobExecution() {
+        // Given - Dos jobs con su índice cargado
+        assertTrue(index.load(1L));
+        assertTrue(index.load(2L));
+
+        // When - Termina el step del primer job
+        index.release(1L);
+
+        // Then - El segundo job sigue usando su índice
+        StepSynchronizationManager.register(stepOf(2L));
+        assertTrue(index.isActive());
+        assertTrue(index.containsId(1L));
+        assertEquals(2, index.getIdCount(2L));
+        StepSynchronizationManager.close();
+
+        StepSynchronizationManager.register(stepOf(1L));
+        assertFalse(index.isActive());
+    }
+
+    @Test
+    @DisplayName("register - Los customers insertados solo se añaden al índice de su job")
+    void register_UsesCurrentStepJobExecution() {
+        // Given
+        index.load(1L);
+        index.load(2L);
+        CustomerDocument customer = new CustomerDocument();
+        customer.setOriginalMysqlId(3L);
+        customer.setEmail("tres@example.com");
+
+        // When - El writer del job 1 registra un customer nuevo
+        StepSynchronizationManager.register(stepOf(1L));
+        index.register(customer);
+
+        // Then
+        assertTrue(index.containsId(3L));
+        assertEquals(3, index.getIdCount(1L));
+        assertEquals(2, index.getIdCount(2L));
+    }
+
+    @Test
+    @DisplayName("isActive - Fuera de un step el índice no se usa")
+    void isActive_WithoutStepContext() {
+        // Given
+        index.load(1L);
+
+        // Then
+        assertFalse(index.isActive());
+        assertFalse(index.containsId(1L));
+        assertTrue(index.mightContainEmail("otro@example.com"));
+    }
+
+    private static StepExecution stepOf(long jobExecutionId) {
+        return new StepExecution("customerMigrationStep", new JobExecution(jobExecutionId));
+    }
+}
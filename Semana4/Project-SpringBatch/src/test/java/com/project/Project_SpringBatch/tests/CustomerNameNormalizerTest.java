@@ -0,0 +1,93 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.processor.CustomerNameNormalizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test para CustomerNameNormalizer
+ * Verifica que el resultado sea idéntico a la implementación original del processor
+ */
+@DisplayName("Tests para CustomerNameNormalizer")
+class CustomerNameNormalizerTest {
+
+    private CustomerNameNormalizer normalizer;
+
+    @BeforeEach
+    void setUp() {
+        normalizer = new CustomerNameNormalizer(100);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"alice", "  BOB  ", "josé   maría", "de la\tcruz", "O'NEIL", "ñuñez", "a\u0001 b",
+            "ÿves", "µ test", "İstanbul", "Σίσυφος", "  ", "", "x\n\ry", "UNITED kingdom"})
+    @DisplayName("capitalize - Mismo resultado que la implementación original")
+    void capitalize_MatchesLegacy(String text) {
+        // When & Then - Comparar con el algoritmo original (dos veces para pasar por el memo)
+        assertEquals(legacyCapitalize(text), normalizer.capitalize(text));
+        assertEquals(legacyCapitalize(text), normalizer.capitalize(text));
+    }
+
+    @Test
+    @DisplayName("capitalize - Null se devuelve sin cambios")
+    void capitalize_Null() {
+        assertNull(normalizer.capitalize(null));
+    }
+
+    @Test
+    @DisplayName("capitalize - Locale turco usa el algoritmo original")
+    void capitalize_TurkishLocale() {
+        // Given - Locale con reglas especiales de minúsculas
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            // When & Then - La I mayúscula se convierte según el Locale
+            assertEquals(legacyCapitalize("IRMAK ILIK"), new CustomerNameNormalizer(100).capitalize("IRMAK ILIK"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"alice@example.com", " Bob.Smith@Example.COM ", "ÉLODIE@exemple.fr", ""})
+    @DisplayName("normalizeEmail - Mismo resultado que toLowerCase().trim()")
+    void normalizeEmail_MatchesLegacy(String email) {
+        assertEquals(email.toLowerCase().trim(), normalizer.normalizeEmail(email));
+    }
+
+    @Test
+    @DisplayName("normalizeEmail - Email ya normalizado no se copia")
+    void normalizeEmail_AlreadyNormalized() {
+        String email = "alice@example.com";
+        assertSame(email, normalizer.normalizeEmail(email));
+    }
+
+    /**
+     * Implementación original de CustomerItemProcessor.capitalizeFirstLetter()
+     */
+    private String legacyCapitalize(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return text;
+        }
+        String[] words = text.trim().toLowerCase().split("\\s+");
+        StringBuilder result = new StringBuilder();
+
+        for (int i = 0; i < words.length; i++) {
+            if (i > 0) {
+                result.append(" ");
+            }
+            if (words[i].length() > 0) {
+                result.append(Character.toUpperCase(words[i].charAt(0)))
+                        .append(words[i].substring(1));
+            }
+        }
+        return result.toString();
+    }
+}
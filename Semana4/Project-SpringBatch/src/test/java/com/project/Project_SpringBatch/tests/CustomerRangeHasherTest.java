@@ -0,0 +1,60 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.processor.CustomerNameNormalizer;
+import com.project.Project_SpringBatch.reconciliation.CustomerRangeHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test para la normalización de CustomerRangeHasher
+ * Verifica que el valor de MySQL y el que guarda el processor en MongoDB dan la misma huella
+ */
+@DisplayName("Tests para CustomerRangeHasher")
+class CustomerRangeHasherTest {
+
+    private CustomerNameNormalizer normalizer;
+
+    @BeforeEach
+    void setUp() {
+        normalizer = new CustomerNameNormalizer(100);
+    }
+
+    @Test
+    @DisplayName("normalize - Una mayúscula acentuada coincide antes y después del processor")
+    void normalize_AccentedCapital() {
+        // Given - Nombre en MySQL con mayúsculas acentuadas, tabulador y espacios repetidos
+        String source = "  ÁNGEL\tde  la ÑOÑO ";
+
+        // When
+        String stored = normalizer.capitalize(source);
+
+        // Then - MongoDB guarda "Ángel De La Ñoño"; la huella de ambos valores es la misma
+        assertEquals("Ángel De La Ñoño", stored);
+        assertEquals("ángeldelañoño", CustomerRangeHasher.normalize(source));
+        assertEquals(CustomerRangeHasher.normalize(source), CustomerRangeHasher.normalize(stored));
+    }
+
+    @Test
+    @DisplayName("normalize - Email con mayúsculas acentuadas y espacios")
+    void normalize_Email() {
+        // Given
+        String source = " Ángel.PÉREZ@Example.COM\n";
+
+        // When
+        String stored = normalizer.normalizeEmail(source);
+
+        // Then
+        assertEquals(CustomerRangeHasher.normalize(source), CustomerRangeHasher.normalize(stored));
+        assertEquals("ángel.pérez@example.com", CustomerRangeHasher.normalize(stored));
+    }
+
+    @Test
+    @DisplayName("normalize - Null equivale a cadena vacía")
+    void normalize_Null() {
+        // When & Then
+        assertEquals("", CustomerRangeHasher.normalize(null));
+    }
+}
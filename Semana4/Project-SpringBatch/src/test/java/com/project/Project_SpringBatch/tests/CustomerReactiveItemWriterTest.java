@@ -0,0 +1,192 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.project.Project_SpringBatch.chunk.WriteLatencyTracker;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.membership.CustomerMembershipIndex;
+import com.project.Project_SpringBatch.metrics.MigrationMetrics;
+import com.project.Project_SpringBatch.writer.CustomerReactiveItemWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de test para CustomerReactiveItemWriter
+ * Mockea el driver reactivo para verificar la concurrencia y la propagación de errores
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para CustomerReactiveItemWriter")
+class CustomerReactiveItemWriterTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private WriteLatencyTracker writeLatencyTracker;
+
+    @Mock
+    private MigrationMetrics migrationMetrics;
+
+    @Mock
+    private CustomerMembershipIndex customerMembershipIndex;
+
+    private CustomerReactiveItemWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new CustomerReactiveItemWriter(reactiveMongoTemplate, writeLatencyTracker, migrationMetrics,
+                customerMembershipIndex);
+        ReflectionTestUtils.setField(writer, "batchSize", 100);
+        ReflectionTestUtils.setField(writer, "maxInFlight", 3);
+
+        when(reactiveMongoTemplate.getCollectionName(CustomerDocument.class)).thenReturn("customers");
+        when(reactiveMongoTemplate.getCollection("customers")).thenReturn(Mono.just(collection));
+        when(reactiveMongoTemplate.getConverter()).thenReturn(converter());
+    }
+
+    @Test
+    @DisplayName("write - Nunca hay más bulk writes pendientes que max-in-flight")
+    void write_BoundedInFlight() throws Exception {
+        // Given - Cada bulk write tarda 100 ms y se cuenta cuántos hay pendientes a la vez
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            //Se descuenta antes de emitir: doFinally corre cuando flatMap ya pidió el siguiente lote
+            return Mono.defer(() -> {
+                        maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        return Mono.just(acknowledged()).delayElement(Duration.ofMillis(100))
+                                .doOnNext(result -> inFlight.decrementAndGet());
+                    });
+        });
+
+        // When - Un chunk de 1000 documentos en lotes de 100
+        writer.write(chunkOf(1000));
+
+        // Then - 10 lotes, en paralelo pero como máximo 3 a la vez y ninguno pendiente al volver de write
+        assertEquals(10, calls.get());
+        assertTrue(maxObserved.get() > 1);
+        assertTrue(maxObserved.get() <= 3);
+        assertEquals(0, inFlight.get());
+        verify(writeLatencyTracker).record(eq(1000), anyLong());
+    }
+
+    @Test
+    @DisplayName("write - Un error no recuperable se propaga al chunk")
+    void write_NonDuplicateErrorFailsChunk() {
+        // Given - Un lote rechazado por un error distinto a clave duplicada
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(Mono.error(bulkWriteException(121)));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> writer.write(chunkOf(50)));
+        assertInstanceOf(MongoBulkWriteException.class, exception.getCause());
+        verify(migrationMetrics, never()).incrementDuplicates(anyInt());
+    }
+
+    @Test
+    @DisplayName("write - Los duplicados no hacen fallar el chunk")
+    void write_DuplicatesAreCounted() throws Exception {
+        // Given - Cada lote tiene un documento rechazado por índice único
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenAnswer(invocation -> Mono.error(bulkWriteException(11000)));
+
+        // When - Dos lotes
+        writer.write(chunkOf(200));
+
+        // Then
+        verify(migrationMetrics).incrementDuplicates(2);
+    }
+
+    @Test
+    @DisplayName("write - Los customers insertados se registran en el índice de membresía")
+    void write_RegistersInsertedCustomers() throws Exception {
+        // Given - En cada lote se inserta solo el primer documento
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenAnswer(invocation -> Mono.just(result(List.of(new BulkWriteUpsert(0, new BsonInt64(0))))));
+        Chunk<CustomerDocument> chunk = chunkOf(200);
+
+        // When - Dos lotes de 100
+        writer.write(chunk);
+
+        // Then
+        verify(customerMembershipIndex).register(chunk.getItems().get(0));
+        verify(customerMembershipIndex).register(chunk.getItems().get(100));
+        verify(customerMembershipIndex, times(2)).register(any());
+        verify(migrationMetrics).incrementWritten(2);
+    }
+
+    private static Chunk<CustomerDocument> chunkOf(int size) {
+        List<CustomerDocument> customers = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            CustomerDocument customer = new CustomerDocument();
+            customer.setOriginalMysqlId(i);
+            customer.setEmail("user" + i + "@example.com");
+            customers.add(customer);
+        }
+        return new Chunk<>(customers);
+    }
+
+    private static BulkWriteResult acknowledged() {
+        return result(List.of());
+    }
+
+    private static BulkWriteResult result(List<BulkWriteUpsert> upserts) {
+        return BulkWriteResult.acknowledged(upserts.size(), 0, 0, 0, upserts, List.of());
+    }
+
+    /**
+     * Converter con las conversiones por defecto (LocalDateTime incluido), como el de la aplicación
+     */
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static MongoBulkWriteException bulkWriteException(int code) {
+        BulkWriteError error = new BulkWriteError(code, "error " + code, new BsonDocument(), 0);
+        return new MongoBulkWriteException(acknowledged(), List.of(error), null, new ServerAddress(), Set.of());
+    }
+}
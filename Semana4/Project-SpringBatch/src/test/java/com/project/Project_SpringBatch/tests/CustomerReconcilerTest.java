@@ -0,0 +1,140 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.reconciliation.CustomerRangeHasher;
+import com.project.Project_SpringBatch.reconciliation.CustomerReconciler;
+import com.project.Project_SpringBatch.reconciliation.IdRange;
+import com.project.Project_SpringBatch.reconciliation.ReconciliationReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test para CustomerReconciler
+ * Usa extremos en memoria para verificar que solo se baja al detalle de los rangos con diferencias
+ */
+@DisplayName("Tests para CustomerReconciler")
+class CustomerReconcilerTest {
+
+    private static final int ROWS = 100_000;
+
+    @Test
+    @DisplayName("reconcile - Sin diferencias solo se comparan los rangos del primer nivel")
+    void reconcile_NoDifferences() {
+        // Given
+        InMemoryHasher mysql = new InMemoryHasher(rows());
+        InMemoryHasher mongo = new InMemoryHasher(rows());
+
+        // When
+        ReconciliationReport report = createReconciler(mysql, mongo).reconcile(64);
+
+        // Then
+        assertFalse(report.hasDifferences());
+        assertEquals(ROWS, report.getMysqlRows());
+        assertEquals(ROWS, report.getMongoRows());
+        assertEquals(64, report.getRangesCompared());
+        assertEquals(0, mysql.rowHashCalls.get() + mongo.rowHashCalls.get());
+    }
+
+    @Test
+    @DisplayName("reconcile - Identifica los IDs que faltan, sobran o difieren")
+    void reconcile_FindsDifferences() {
+        // Given - Falta el 500, el 70000 tiene otro email y MongoDB tiene un id que no existe en MySQL
+        Map<Long, String> mongoRows = rows();
+        mongoRows.remove(500L);
+        mongoRows.put(70_000L, "70000|changed@example.com");
+        mongoRows.put(ROWS + 1L, (ROWS + 1) + "|extra@example.com");
+
+        InMemoryHasher mysql = new InMemoryHasher(rows());
+        InMemoryHasher mongo = new InMemoryHasher(mongoRows);
+
+        // When
+        ReconciliationReport report = createReconciler(mysql, mongo).reconcile(64);
+
+        // Then - Solo se comparan fila a fila los rangos hoja afectados
+        assertTrue(report.hasDifferences());
+        assertEquals(List.of(500L), report.getMissingInMongoSample());
+        assertEquals(List.of(70_000L), report.getMismatchedSample());
+        assertEquals(List.of(ROWS + 1L), report.getExtraInMongoSample());
+        assertEquals(3, report.getLeafRanges());
+        assertEquals(3, mysql.rowHashCalls.get());
+        assertTrue(report.getRangesCompared() < 200);
+    }
+
+    @Test
+    @DisplayName("reconcile - Ambos extremos vacíos")
+    void reconcile_Empty() {
+        // When
+        ReconciliationReport report = createReconciler(new InMemoryHasher(new HashMap<>()),
+                new InMemoryHasher(new HashMap<>())).reconcile(16);
+
+        // Then
+        assertFalse(report.hasDifferences());
+        assertEquals(0, report.getRangesCompared());
+    }
+
+    private static CustomerReconciler createReconciler(CustomerRangeHasher mysql, CustomerRangeHasher mongo) {
+        CustomerReconciler reconciler = new CustomerReconciler(mysql, mongo);
+        ReflectionTestUtils.setField(reconciler, "parallelism", 4);
+        ReflectionTestUtils.setField(reconciler, "fanout", 8);
+        ReflectionTestUtils.setField(reconciler, "leafSize", 200L);
+        return reconciler;
+    }
+
+    private static Map<Long, String> rows() {
+        Map<Long, String> rows = new HashMap<>();
+        for (long id = 1; id <= ROWS; id++) {
+            rows.put(id, id + "|user" + id + "@example.com");
+        }
+        return rows;
+    }
+
+    /**
+     * Extremo en memoria: CRC32 de la fila normalizada, como en MySQL y MongoDB
+     */
+    private static class InMemoryHasher implements CustomerRangeHasher {
+
+        private final TreeMap<Long, Long> hashes = new TreeMap<>();
+        private final AtomicLong rowHashCalls = new AtomicLong();
+
+        private InMemoryHasher(Map<Long, String> rows) {
+            rows.forEach((id, row) -> {
+                CRC32 crc = new CRC32();
+                crc.update(row.getBytes(StandardCharsets.UTF_8));
+                hashes.put(id, crc.getValue());
+            });
+        }
+
+        @Override
+        public String name() {
+            return "memory";
+        }
+
+        @Override
+        public Optional<IdRange> idBounds() {
+            return hashes.isEmpty() ? Optional.empty() : Optional.of(new IdRange(hashes.firstKey(), hashes.lastKey()));
+        }
+
+        @Override
+        public RangeDigest digest(IdRange range) {
+            Map<Long, Long> rows = hashes.subMap(range.from(), true, range.to(), true);
+            return new RangeDigest(rows.size(), rows.values().stream().mapToLong(Long::longValue).sum());
+        }
+
+        @Override
+        public Map<Long, Long> rowHashes(IdRange range) {
+            rowHashCalls.incrementAndGet();
+            return new HashMap<>(hashes.subMap(range.from(), true, range.to(), true));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.domain.Customer;
+import com.project.Project_SpringBatch.spill.CustomerSpillItemReader;
+import com.project.Project_SpringBatch.spill.CustomerSpillItemWriter;
+import com.project.Project_SpringBatch.spill.CustomerSpillPartitioner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test del archivo de spill (CustomerSpillItemWriter, CustomerSpillPartitioner y CustomerSpillItemReader)
+ * Verifica la ida y vuelta de los registros y el reinicio de cada fase
+ */
+@DisplayName("Tests para el spill de customers")
+class CustomerSpillTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Extracción reiniciada y carga particionada reiniciada leen cada registro una vez")
+    void extractAndLoad_RestartedPhases(boolean compress) throws Exception {
+        // Given - Fase 1: 4 chunks confirmados y un bloque sin confirmar antes del "fallo"
+        Path file = tempDir.resolve("spill/customers.spill");
+        ExecutionContext writerContext = new ExecutionContext();
+        CustomerSpillItemWriter writer = new CustomerSpillItemWriter(file, compress);
+        writer.open(writerContext);
+        writer.write(chunk(1, 25));
+        writer.update(writerContext);
+        writer.write(chunk(26, 50));
+        writer.update(writerContext);
+        writer.write(chunk(900, 910)); //Sin update: el chunk no llegó a confirmarse
+        writer.close();
+
+        // When - Reinicio de la fase 1 con el ExecutionContext confirmado
+        writer = new CustomerSpillItemWriter(file, compress);
+        writer.open(writerContext);
+        writer.write(chunk(51, 75));
+        writer.update(writerContext);
+        writer.write(chunk(76, 100));
+        writer.update(writerContext);
+        writer.close();
+
+        // When - Fase 2: cada partición lee 10 registros, se "reinicia" y termina
+        Map<String, ExecutionContext> partitions = new CustomerSpillPartitioner(file).partition(4);
+        List<Customer> loaded = new ArrayList<>();
+        for (ExecutionContext partition : partitions.values()) {
+            ExecutionContext readerContext = new ExecutionContext();
+            CustomerSpillItemReader reader = reader(file, partition);
+            reader.open(readerContext);
+            for (int i = 0; i < 10; i++) {
+                loaded.add(reader.read());
+            }
+            reader.update(readerContext);
+            reader.close();
+
+            reader = reader(file, partition);
+            reader.open(readerContext);
+            for (Customer customer = reader.read(); customer != null; customer = reader.read()) {
+                loaded.add(customer);
+            }
+            reader.close();
+        }
+
+        // Then - Los 100 registros confirmados, sin duplicados ni el bloque descartado
+        assertEquals(4, partitions.size());
+        assertEquals(100, loaded.size());
+        assertEquals(100, loaded.stream().map(Customer::getId).distinct().count());
+        assertTrue(loaded.stream().allMatch(c -> c.getId() <= 100));
+
+        Customer first = loaded.stream().filter(c -> c.getId() == 1L).findFirst().orElseThrow();
+        assertEquals("Name1", first.getName());
+        assertNull(first.getLastName());
+        assertEquals("customer1@example.com", first.getEmail());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 15, 30, 500), first.getRegisteredAt());
+    }
+
+    private Chunk<Customer> chunk(long fromId, long toId) {
+        List<Customer> customers = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            Customer customer = new Customer();
+            customer.setId(id);
+            customer.setName("Name" + id);
+            customer.setEmail("customer" + id + "@example.com");
+            customer.setCountry("España");
+            customer.setRegisteredAt(LocalDateTime.of(2024, 1, 15, 10, 15, 30, 500));
+            customers.add(customer);
+        }
+        return new Chunk<>(customers);
+    }
+
+    private CustomerSpillItemReader reader(Path file, ExecutionContext partition) {
+        return new CustomerSpillItemReader(file,
+                partition.getLong(CustomerSpillPartitioner.START_OFFSET_KEY),
+                partition.getLong(CustomerSpillPartitioner.END_OFFSET_KEY));
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.RenameCollectionOptions;
+import com.mongodb.client.result.DeleteResult;
+import com.project.Project_SpringBatch.domain.CustomerDocument;
+import com.project.Project_SpringBatch.mongo.CustomerIndexes;
+import com.project.Project_SpringBatch.mongo.CustomerStagingCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de test para CustomerStagingCollection
+ * Verifica la deduplicación, la construcción de índices y la sustitución de la colección viva
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para CustomerStagingCollection")
+class CustomerStagingCollectionTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private MongoDatabase database;
+
+    private CustomerStagingCollection stagingCollection;
+
+    @BeforeEach
+    void setUp() {
+        stagingCollection = new CustomerStagingCollection(mongoTemplate);
+        when(mongoTemplate.getCollectionName(CustomerDocument.class)).thenReturn("customers");
+    }
+
+    @Test
+    @DisplayName("swap - Elimina duplicados, crea índices y renombra sobre customers")
+    void swap_DeduplicatesIndexesAndRenames() {
+        // Given - Un original_mysql_id repetido tres veces y ningún email repetido
+        when(mongoTemplate.collectionExists("customers_staging")).thenReturn(true);
+        when(mongoTemplate.count(any(Query.class), eq("customers_staging"))).thenReturn(10L);
+        when(mongoTemplate.aggregateStream(any(Aggregation.class), eq("customers_staging"), eq(Document.class)))
+                .thenReturn(Stream.of(new Document("_id", 7L).append("ids", List.of("a", "b", "c"))))
+                .thenReturn(Stream.empty());
+        when(mongoTemplate.remove(any(Query.class), eq("customers_staging"))).thenReturn(DeleteResult.acknowledged(2));
+        when(mongoTemplate.indexOps("customers_staging")).thenReturn(indexOperations);
+        when(mongoTemplate.getCollection("customers_staging")).thenReturn(collection);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.getName()).thenReturn("customers");
+
+        // When
+        long removed = stagingCollection.swap();
+
+        // Then - Se conserva el primero, se crean todos los índices y staging sustituye a customers
+        assertEquals(2, removed);
+        ArgumentCaptor<Query> deleted = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(deleted.capture(), eq("customers_staging"));
+        assertEquals(List.of("b", "c"), deleted.getValue().getQueryObject().get("_id", Document.class).get("$in"));
+        verify(indexOperations, times(CustomerIndexes.definitions().size())).ensureIndex(any(Index.class));
+
+        ArgumentCaptor<RenameCollectionOptions> options = ArgumentCaptor.forClass(RenameCollectionOptions.class);
+        verify(collection).renameCollection(eq(new MongoNamespace("customers", "customers")), options.capture());
+        assertTrue(options.getValue().isDropTarget());
+    }
+
+    @Test
+    @DisplayName("swap - Una colección de staging vacía no sustituye a customers")
+    void swap_EmptyStagingRejected() {
+        // Given
+        when(mongoTemplate.collectionExists("customers_staging")).thenReturn(true);
+        when(mongoTemplate.count(any(Query.class), eq("customers_staging"))).thenReturn(0L);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> stagingCollection.swap());
+        verify(mongoTemplate, never()).getCollection(anyString());
+    }
+
+    @Test
+    @DisplayName("swap - Repetir el swap tras el rename no falla ni toca customers")
+    void swap_AlreadySwapped() {
+        // Given - El rename ya se hizo: no queda staging y customers existe
+        when(mongoTemplate.collectionExists("customers_staging")).thenReturn(false);
+        when(mongoTemplate.collectionExists("customers")).thenReturn(true);
+
+        // When
+        long removed = stagingCollection.swap();
+
+        // Then
+        assertEquals(0, removed);
+        verify(mongoTemplate, never()).getCollection(anyString());
+        verify(mongoTemplate, never()).indexOps(anyString());
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.logging.HotPathLogGovernor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test para HotPathLogGovernor
+ * Verifica el muestreo de los eventos por item
+ */
+@DisplayName("Tests para HotPathLogGovernor")
+class HotPathLogGovernorTest {
+
+    private HotPathLogGovernor governor;
+
+    @BeforeEach
+    void setUp() {
+        governor = new HotPathLogGovernor();
+    }
+
+    @Test
+    @DisplayName("sampleItem - Registra uno de cada N eventos")
+    void sampleItem_OneEveryN() {
+        // Given
+        ReflectionTestUtils.setField(governor, "itemSampleEvery", 10L);
+
+        // When
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (governor.sampleItem()) {
+                sampled++;
+            }
+        }
+
+        // Then
+        assertEquals(10, sampled);
+    }
+
+    @Test
+    @DisplayName("sampleItem - El primer evento siempre se registra")
+    void sampleItem_FirstEventLogged() {
+        // When & Then
+        assertTrue(governor.sampleItem());
+        assertFalse(governor.sampleItem());
+    }
+
+    @Test
+    @DisplayName("sampleItem - Con 0 no se registra ningún evento por item")
+    void sampleItem_Disabled() {
+        // Given
+        ReflectionTestUtils.setField(governor, "itemSampleEvery", 0L);
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertFalse(governor.sampleItem());
+        }
+    }
+}
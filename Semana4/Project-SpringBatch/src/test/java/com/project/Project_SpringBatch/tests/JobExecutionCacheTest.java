@@ -0,0 +1,97 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.service.JobExecutionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.explore.JobExplorer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de test para JobExecutionCache
+ * Verifica que solo las ejecuciones terminadas se guardan sin expiración
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para JobExecutionCache")
+class JobExecutionCacheTest {
+
+    @Mock
+    private JobExplorer jobExplorer;
+
+    private JobExecutionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        //TTL 0: las ejecuciones no terminadas se releen en cada consulta
+        cache = new JobExecutionCache(jobExplorer, 0, 100);
+    }
+
+    @Test
+    @DisplayName("find - Una ejecución STARTING sin startTime no queda fijada en caché")
+    void find_StartingExecutionIsReloaded() {
+        // Given - El launcher asíncrono registró la ejecución pero aún no empezó
+        JobExecution starting = execution(BatchStatus.STARTING);
+        JobExecution started = execution(BatchStatus.STARTED);
+        started.setStartTime(LocalDateTime.now());
+        when(jobExplorer.getJobExecution(1L)).thenReturn(starting, started);
+
+        // When
+        BatchStatus first = cache.find(1L).orElseThrow().getStatus();
+        BatchStatus second = cache.find(1L).orElseThrow().getStatus();
+
+        // Then
+        assertEquals(BatchStatus.STARTING, first);
+        assertEquals(BatchStatus.STARTED, second);
+        verify(jobExplorer, times(2)).getJobExecution(1L);
+    }
+
+    @Test
+    @DisplayName("find - Una ejecución terminada se sirve desde caché")
+    void find_FinishedExecutionIsCached() {
+        // Given
+        JobExecution completed = execution(BatchStatus.COMPLETED);
+        completed.setStartTime(LocalDateTime.now().minusMinutes(1));
+        completed.setEndTime(LocalDateTime.now());
+        when(jobExplorer.getJobExecution(1L)).thenReturn(completed);
+
+        // When
+        cache.find(1L);
+        cache.find(1L);
+
+        // Then
+        verify(jobExplorer, times(1)).getJobExecution(1L);
+    }
+
+    @Test
+    @DisplayName("isAnyJobRunning - Siempre consulta el JobRepository")
+    void isAnyJobRunning_NotCached() {
+        // Given - Primero no hay ejecuciones y después se lanza una
+        when(jobExplorer.getJobNames()).thenReturn(List.of("customerMigrationJob"));
+        when(jobExplorer.findRunningJobExecutions("customerMigrationJob"))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of(execution(BatchStatus.STARTING)));
+
+        // When & Then
+        assertFalse(cache.isAnyJobRunning());
+        assertTrue(cache.isAnyJobRunning());
+    }
+
+    private static JobExecution execution(BatchStatus status) {
+        JobExecution execution = new JobExecution(new JobInstance(1L, "customerMigrationJob"), 1L, new JobParameters());
+        execution.setStatus(status);
+        return execution;
+    }
+}
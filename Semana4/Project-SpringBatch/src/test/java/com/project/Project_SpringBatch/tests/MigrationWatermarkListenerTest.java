@@ -0,0 +1,81 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.project.Project_SpringBatch.Repository.MigrationWatermarkRepository;
+import com.project.Project_SpringBatch.domain.Customer;
+import com.project.Project_SpringBatch.domain.MigrationWatermark;
+import com.project.Project_SpringBatch.listener.MigrationWatermarkListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de test para MigrationWatermarkListener
+ * Verifica que la marca de agua solo avance cuando el step termina correctamente
+ */
+@DisplayName("Tests para MigrationWatermarkListener")
+class MigrationWatermarkListenerTest {
+
+    private MigrationWatermarkRepository repository;
+    private MigrationWatermarkListener listener;
+    private StepExecution stepExecution;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MigrationWatermarkRepository.class);
+        listener = new MigrationWatermarkListener(repository);
+
+        JobExecution jobExecution = new JobExecution(1L, new JobParametersBuilder()
+                .addLong("watermark.lastId", 100L)
+                .toJobParameters());
+        stepExecution = jobExecution.createStepExecution("customerIncrementalMigrationStep");
+    }
+
+    @Test
+    @DisplayName("afterStep - Guarda el mayor id leído")
+    void afterStep_Completed_SavesWatermark() {
+        // Given - Step que lee dos customers nuevos
+        listener.beforeStep(stepExecution);
+        listener.afterRead(customer(105L));
+        listener.afterRead(customer(102L));
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+
+        // When - Finaliza el step
+        listener.afterStep(stepExecution);
+
+        // Then - La marca avanza al mayor id
+        ArgumentCaptor<MigrationWatermark> captor = ArgumentCaptor.forClass(MigrationWatermark.class);
+        verify(repository).save(captor.capture());
+        assertEquals(105L, captor.getValue().getLastMigratedId());
+    }
+
+    @Test
+    @DisplayName("afterStep - No guarda la marca si el step falla")
+    void afterStep_Failed_DoesNotSaveWatermark() {
+        // Given - Step que falla tras leer un customer
+        listener.beforeStep(stepExecution);
+        listener.afterRead(customer(150L));
+        stepExecution.setStatus(BatchStatus.FAILED);
+
+        // When - Finaliza el step
+        listener.afterStep(stepExecution);
+
+        // Then - La marca no se modifica
+        verify(repository, never()).save(any());
+    }
+
+    private Customer customer(Long id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        return customer;
+    }
+}
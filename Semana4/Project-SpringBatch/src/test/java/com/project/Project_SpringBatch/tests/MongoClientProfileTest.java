@@ -0,0 +1,68 @@
+package com.project.Project_SpringBatch.tests;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.WriteConcern;
+import com.project.Project_SpringBatch.config.MongoClientProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de test para MongoClientProfile
+ * Verifica que cada perfil se aplique sobre la configuración del cliente
+ */
+@DisplayName("Tests para MongoClientProfile")
+class MongoClientProfileTest {
+
+    private static final String URI = "mongodb://localhost:27017/customers?maxPoolSize=5&w=majority";
+
+    @Test
+    @DisplayName("apply - bulk-load prevalece sobre la URI")
+    void apply_BulkLoadOverridesUri() {
+        // Given
+        MongoClientSettings.Builder builder = MongoClientSettings.builder().applyConnectionString(new ConnectionString(URI));
+
+        // When
+        MongoClientProfile.fromName("bulk-load").apply(builder);
+        MongoClientSettings settings = builder.build();
+
+        // Then
+        assertEquals(64, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(8, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(WriteConcern.W1.withJournal(false), settings.getWriteConcern());
+        assertEquals(300, settings.getSocketSettings().getReadTimeout(TimeUnit.SECONDS));
+        assertEquals("snappy", settings.getCompressorList().get(0).getName());
+        assertEquals("zlib", settings.getCompressorList().get(1).getName());
+    }
+
+    @Test
+    @DisplayName("apply - online usa mayoría con journal, sin compresión y sin timeout de lectura")
+    void apply_Online() {
+        // Given
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+                .compressorList(List.of(MongoCompressor.createZlibCompressor()));
+
+        // When
+        MongoClientProfile.fromName(" ONLINE ").apply(builder);
+        MongoClientSettings settings = builder.build();
+
+        // Then
+        assertEquals(WriteConcern.MAJORITY.withJournal(true), settings.getWriteConcern());
+        assertTrue(settings.getCompressorList().isEmpty());
+        assertEquals(100, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(0, settings.getSocketSettings().getReadTimeout(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("fromName - Perfil desconocido")
+    void fromName_Unknown() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> MongoClientProfile.fromName("turbo"));
+    }
+}